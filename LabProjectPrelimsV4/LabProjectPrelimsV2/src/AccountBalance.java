@@ -0,0 +1,62 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A student's account at one point in time: the fees assessed and the total
+ * paid. Immutable; a payment yields a new balance (see BalanceEngine).
+ */
+public class AccountBalance {
+
+    private final String studentID;
+    private final List<FeeSchedule.Fee> fees;
+    private final double assessed;
+    private final double paid;
+
+    public AccountBalance(String studentID, List<FeeSchedule.Fee> fees, double paid) {
+        this.studentID = studentID;
+        this.fees = Collections.unmodifiableList(fees);
+        double total = 0;
+        for (FeeSchedule.Fee fee : fees) {
+            total += fee.getAmount();
+        }
+        this.assessed = total;
+        this.paid = paid;
+    }
+
+    private AccountBalance(AccountBalance balance, double paid) {
+        this.studentID = balance.studentID;
+        this.fees = balance.fees;
+        this.assessed = balance.assessed;
+        this.paid = paid;
+    }
+
+    /**
+     * Gets the balance after one more payment
+     * @param amount The amount paid
+     * @return The new balance
+     */
+    public AccountBalance withPayment(double amount) {
+        return new AccountBalance(this, paid + amount);
+    }
+
+    public String getStudentID() { return studentID; }
+    public List<FeeSchedule.Fee> getFees() { return fees; }
+    public double getAssessed() { return assessed; }
+    public double getPaid() { return paid; }
+
+    /**
+     * Gets the amount still owed
+     * @return Assessed minus paid, or 0 once fully paid
+     */
+    public double getAmountDue() {
+        return Math.max(0, assessed - paid);
+    }
+
+    /**
+     * Gets the amount paid beyond the assessment
+     * @return Paid minus assessed, or 0 while there is an amount due
+     */
+    public double getOverpayment() {
+        return Math.max(0, paid - assessed);
+    }
+}
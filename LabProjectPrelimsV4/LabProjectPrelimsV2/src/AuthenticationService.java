@@ -0,0 +1,177 @@
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Authentication service for the Student Portal login.
+ * Credentials are checked against the in-memory CredentialStore (salted hashes,
+ * compared in constant time), and every attempt passes through token-bucket
+ * throttles per student ID and per source so that floods of attempts are
+ * rejected without touching the disk or spending any hashing cost.
+ */
+public class AuthenticationService {
+
+    /**
+     * Outcome of a login attempt
+     */
+    public enum Result {
+        SUCCESS,
+        INVALID_CREDENTIALS,
+        THROTTLED
+    }
+
+    // Source name used for attempts made from this desktop client
+    public static final String LOCAL_SOURCE = "local";
+
+    // Per-ID bucket: 5 attempts, then one more every 30 seconds
+    private static final int ID_BUCKET_CAPACITY = 5;
+    private static final long ID_REFILL_NANOS = 30_000_000_000L;
+
+    // Per-source bucket: 20 attempts, then one more every 3 seconds
+    private static final int SOURCE_BUCKET_CAPACITY = 20;
+    private static final long SOURCE_REFILL_NANOS = 3_000_000_000L;
+
+    // Bound on tracked buckets so attempts with random IDs cannot grow the maps forever
+    private static final int MAX_TRACKED_BUCKETS = 10_000;
+
+    // Full maps are swept for refilled buckets at most this often
+    private static final long PRUNE_INTERVAL_NANOS = 10_000_000_000L;
+
+    private static final AuthenticationService instance = new AuthenticationService();
+
+    private final Map<String, TokenBucket> idBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> sourceBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextIdPrune = new AtomicLong(System.nanoTime());
+    private final AtomicLong nextSourcePrune = new AtomicLong(System.nanoTime());
+
+    /**
+     * Gets the shared authentication service
+     * @return The service instance
+     */
+    public static AuthenticationService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Authenticates a login attempt, applying the per-ID and per-source throttles
+     * @param studentID The student ID entered
+     * @param password The password entered
+     * @param source Where the attempt came from (see LOCAL_SOURCE)
+     * @return The result of the attempt
+     */
+    public Result authenticate(String studentID, String password, String source) {
+        return authenticateAsync(studentID, password, source).join();
+    }
+
+    /**
+     * Authenticates a login attempt without blocking the caller. Throttling is
+     * decided immediately; the hash check runs on the CredentialStore verifier pool.
+     * @param studentID The student ID entered
+     * @param password The password entered
+     * @param source Where the attempt came from (see LOCAL_SOURCE)
+     * @return Future completing with the result of the attempt
+     */
+    public CompletableFuture<Result> authenticateAsync(String studentID, String password, String source) {
+        long now = System.nanoTime();
+        // The ID bucket is only created once the source has passed, so a throttled
+        // spray of random IDs does not fill the ID map
+        TokenBucket sourceBucket = bucketFor(sourceBuckets, nextSourcePrune, source,
+                SOURCE_BUCKET_CAPACITY, SOURCE_REFILL_NANOS, now);
+        if (sourceBucket == null || !sourceBucket.tryConsume(now)) {
+            return CompletableFuture.completedFuture(Result.THROTTLED);
+        }
+        TokenBucket idBucket = bucketFor(idBuckets, nextIdPrune, studentID, ID_BUCKET_CAPACITY, ID_REFILL_NANOS, now);
+        if (idBucket == null || !idBucket.tryConsume(now)) {
+            return CompletableFuture.completedFuture(Result.THROTTLED);
+        }
+
+        return CredentialStore.getInstance().verifyAsync(studentID, password).handle((valid, error) -> {
+            if (error != null) {
+                // Verifier pool is saturated
+                return Result.THROTTLED;
+            }
+            if (!valid) {
+                return Result.INVALID_CREDENTIALS;
+            }
+
+            // A successful login clears the failed attempts for that ID
+            idBuckets.remove(studentID);
+            return Result.SUCCESS;
+        });
+    }
+
+    /**
+     * Checks credentials without throttling
+     * @param studentID The student ID
+     * @param password The password
+     * @return true if the credentials are valid, false otherwise
+     */
+    public boolean verify(String studentID, String password) {
+        return CredentialStore.getInstance().verify(studentID, password);
+    }
+
+    /**
+     * Gets the bucket for a key, creating it if there is room. A full map is swept
+     * for refilled buckets at most once per PRUNE_INTERVAL_NANOS, so a flood of new
+     * keys costs one sweep per interval rather than one per attempt.
+     * @return The bucket, or null if the map is full and the key should be throttled
+     */
+    private static TokenBucket bucketFor(Map<String, TokenBucket> buckets, AtomicLong nextPrune, String key,
+            int capacity, long refillNanos, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_TRACKED_BUCKETS) {
+            long due = nextPrune.get();
+            if (now - due >= 0 && nextPrune.compareAndSet(due, now + PRUNE_INTERVAL_NANOS)) {
+                // Buckets that have refilled completely carry no state worth keeping
+                buckets.values().removeIf(b -> b.isFull(now));
+            }
+            if (buckets.size() >= MAX_TRACKED_BUCKETS) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillNanos, now));
+    }
+
+    /**
+     * Token bucket that refills one token every refillNanos up to its capacity
+     */
+    private static class TokenBucket {
+        private final int capacity;
+        private final long refillNanos;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, long refillNanos, long now) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        synchronized boolean tryConsume(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + (double) elapsed / refillNanos);
+                lastRefill = now;
+            }
+        }
+    }
+}
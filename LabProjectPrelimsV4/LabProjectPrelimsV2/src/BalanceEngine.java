@@ -0,0 +1,105 @@
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every student's account balance: the fees from the fee schedule
+ * minus the payments in the payment log.
+ *
+ * A student's balance is computed from the log the first time it is asked
+ * for and then kept in memory, so reading it is a map lookup. Computing a
+ * balance and committing a payment (see PaymentLedger) hold a lock of the
+ * student's own, so two payments by the same student cannot interleave and a
+ * balance summed from the log never misses a payment being committed. The disk
+ * work stays outside the map, so other students' reads and payments (which the
+ * ledger batches together) never wait on it; the committed payment is then
+ * applied to the kept balance with a short computeIfPresent.
+ */
+public class BalanceEngine {
+
+    private static final BalanceEngine instance = new BalanceEngine();
+
+    private final FeeSchedule feeSchedule;
+    private final PaymentLedger ledger;
+    private final ConcurrentHashMap<String, AccountBalance> balances = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> studentLocks = new ConcurrentHashMap<>();
+
+    private BalanceEngine() {
+        feeSchedule = FeeSchedule.load(DataManager.resolveFile(FeeSchedule.FEE_SCHEDULE_FILE));
+        // Recovers the payment log before any balance is summed from it
+        ledger = PaymentLedger.getInstance();
+    }
+
+    public static BalanceEngine getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets a student's balance
+     * @param studentID The student ID
+     * @return The balance
+     */
+    public AccountBalance getBalance(String studentID) {
+        AccountBalance balance = balances.get(studentID);
+        if (balance != null) {
+            return balance;
+        }
+        synchronized (lockFor(studentID)) {
+            balance = balances.get(studentID);
+            if (balance == null) {
+                balance = materialize(studentID);
+                balances.put(studentID, balance);
+            }
+            return balance;
+        }
+    }
+
+    /**
+     * Commits a payment and applies it to the student's balance. Submitting the
+     * same key again leaves the balance as it is.
+     * @param key The payment form's idempotency key
+     * @param studentID The student ID
+     * @param channelName The payment channel used
+     * @param amount The amount paid
+     * @return The balance after the payment
+     * @throws IOException if the payment could not be committed; the balance is unchanged
+     */
+    public AccountBalance recordPayment(String key, String studentID, String channelName, double amount)
+            throws IOException {
+        synchronized (lockFor(studentID)) {
+            boolean committed = ledger.commit(key, studentID, channelName, amount);
+            AccountBalance balance = balances.computeIfPresent(studentID,
+                    (id, kept) -> committed ? kept.withPayment(amount) : kept);
+            if (balance == null) {
+                // Not kept (or reloaded meanwhile): the log already has the payment
+                balance = materialize(studentID);
+                balances.put(studentID, balance);
+            }
+            return balance;
+        }
+    }
+
+    /**
+     * Drops a student's kept balance so the next read sums the payment log again
+     * (e.g. when the user asks for a refresh)
+     * @param studentID The student ID
+     */
+    public void reload(String studentID) {
+        balances.remove(studentID);
+    }
+
+    private Object lockFor(String studentID) {
+        return studentLocks.computeIfAbsent(studentID, id -> new Object());
+    }
+
+    /**
+     * Computes a student's balance from the fee schedule and the payment log
+     */
+    private AccountBalance materialize(String studentID) {
+        double paid = 0;
+        for (PaymentTransaction transaction : DataManager.getPaymentTransactions(studentID)) {
+            paid += transaction.getAmount();
+        }
+        return new AccountBalance(studentID,
+                feeSchedule.getAssessment(studentID, DataManager.getStudentProgram(studentID)), paid);
+    }
+}
@@ -0,0 +1,173 @@
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage backend that keeps recently read per-student rows in memory in front
+ * of another backend. Every per-student loader in DataManager goes through
+ * scan(table, studentID), so caching the raw rows there covers all of them and
+ * callers still get freshly parsed (mutable) records each time.
+ *
+ * Each table has its own LruCache bounded by students and by rows. Writes made
+ * through this backend drop the written student's entry; rows changed by other
+ * processes (e.g. the faculty portal marking attendance) are picked up once the
+ * entry's time to live runs out. Full-table scans and the credential tables
+ * are never cached.
+ *
+ * Tuning: -Dislu.cache.ttl=seconds (default 300, 0 turns the cache off; see
+ * DataManager).
+ */
+public class CachingStorage implements StorageBackend {
+
+    public static final String TTL_PROPERTY = "islu.cache.ttl";
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    private final StorageBackend backend;
+    private final Map<StorageTable, LruCache<String, List<String>>> caches = new EnumMap<>(StorageTable.class);
+    // Bumped on every write to a table so a scan that raced with a write is not cached
+    private final Map<StorageTable, AtomicLong> writeCounts = new EnumMap<>(StorageTable.class);
+
+    /**
+     * Wraps a backend using the time to live from -Dislu.cache.ttl
+     * @param backend The backend holding the data
+     */
+    public CachingStorage(StorageBackend backend) {
+        this(backend, Long.getLong(TTL_PROPERTY, DEFAULT_TTL_SECONDS) * 1000);
+    }
+
+    /**
+     * Wraps a backend
+     * @param backend The backend holding the data
+     * @param ttlMillis Time to live of a cached student in milliseconds
+     */
+    public CachingStorage(StorageBackend backend, long ttlMillis) {
+        this.backend = backend;
+        // Students read by every panel; payment and attendance logs grow the fastest
+        addCache(StorageTable.STUDENTS, 1024, 4_096, ttlMillis);
+        addCache(StorageTable.PROFILES, 1024, 4_096, ttlMillis);
+        addCache(StorageTable.PAYMENTS, 256, 100_000, ttlMillis);
+        addCache(StorageTable.ATTENDANCE, 256, 100_000, ttlMillis);
+        addCache(StorageTable.SCHEDULES, 256, 20_000, ttlMillis);
+        addCache(StorageTable.GRADES, 256, 20_000, ttlMillis);
+        for (StorageTable table : StorageTable.values()) {
+            writeCounts.put(table, new AtomicLong());
+        }
+    }
+
+    private void addCache(StorageTable table, int maxStudents, long maxRows, long ttlMillis) {
+        caches.put(table, new LruCache<>(maxStudents, maxRows, ttlMillis, List::size));
+    }
+
+    /**
+     * Gets the cache of a table (for reporting)
+     * @param table The table
+     * @return The table's cache, or null if the table is not cached
+     */
+    public LruCache<String, List<String>> getCache(StorageTable table) {
+        return caches.get(table);
+    }
+
+    /**
+     * Gets the backend behind this cache
+     * @return The wrapped backend
+     */
+    public StorageBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Formats the counters of every cached table
+     * @return One line per table
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-12s %8s %8s %8s %10s %8s %8s %8s %6s%n", "Table", "Students", "Rows",
+                "Hits", "Misses", "Evicted", "Expired", "Dropped", "Hit %"));
+        for (Map.Entry<StorageTable, LruCache<String, List<String>>> entry : caches.entrySet()) {
+            LruCache<String, List<String>> cache = entry.getValue();
+            report.append(String.format("%-12s %8d %8d %8d %10d %8d %8d %8d %6.1f%n", entry.getKey(),
+                    cache.size(), cache.getWeight(), cache.getHits(), cache.getMisses(), cache.getEvictions(),
+                    cache.getExpirations(), cache.getInvalidations(), cache.getHitRatio() * 100));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String getName() {
+        return backend.getName();
+    }
+
+    @Override
+    public boolean exists(StorageTable table) {
+        return backend.exists(table);
+    }
+
+    @Override
+    public List<String> scan(StorageTable table) throws IOException {
+        return backend.scan(table);
+    }
+
+    @Override
+    public List<String> scan(StorageTable table, String studentID) throws IOException {
+        LruCache<String, List<String>> cache = caches.get(table);
+        if (cache == null) {
+            return backend.scan(table, studentID);
+        }
+        List<String> rows = cache.get(studentID);
+        if (rows == null) {
+            long writesBefore = writeCounts.get(table).get();
+            rows = Collections.unmodifiableList(backend.scan(table, studentID));
+            synchronized (cache) {
+                if (writeCounts.get(table).get() == writesBefore) {
+                    cache.put(studentID, rows);
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public void append(StorageTable table, String row) throws IOException {
+        try {
+            backend.append(table, row);
+        } finally {
+            written(table, table.studentIdOf(row));
+        }
+    }
+
+    @Override
+    public void appendAll(StorageTable table, List<String> rows) throws IOException {
+        try {
+            backend.appendAll(table, rows);
+        } finally {
+            for (String row : rows) {
+                written(table, table.studentIdOf(row));
+            }
+        }
+    }
+
+    @Override
+    public int update(StorageTable table, String studentID, UnaryOperator<String> updater) throws IOException {
+        try {
+            return backend.update(table, studentID, updater);
+        } finally {
+            written(table, studentID);
+        }
+    }
+
+    private void written(StorageTable table, String studentID) {
+        LruCache<String, List<String>> cache = caches.get(table);
+        if (cache == null) {
+            writeCounts.get(table).incrementAndGet();
+            return;
+        }
+        synchronized (cache) {
+            writeCounts.get(table).incrementAndGet();
+            cache.invalidate(studentID);
+        }
+    }
+}
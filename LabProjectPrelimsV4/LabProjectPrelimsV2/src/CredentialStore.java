@@ -0,0 +1,351 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.*;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Credential store holding salted PBKDF2 password hashes in credentialStore.txt,
+ * one row per student ID:
+ *   StudentID,Iterations,Salt(Base64),Hash(Base64)
+ *
+ * Parsed rows are cached in memory so a login never reads the disk, and hash
+ * verification runs on a small bounded thread pool so the PBKDF2 cost never
+ * blocks the UI thread. The work factor is tunable with -Dislu.pbkdf2.iterations;
+ * rows hashed with a lower cost are re-hashed on the next successful login.
+ *
+ * Accounts created before this store existed still have plaintext passwords in
+ * Database.txt/UserPasswordID.txt; they keep working and are converted on their
+ * next login, or all at once with CredentialTool migrate.
+ */
+public class CredentialStore {
+
+    // Replaces the plaintext password column in Database.txt once an account is hashed
+    public static final String MASKED_PASSWORD = "********";
+
+    public static final String ITERATIONS_PROPERTY = "islu.pbkdf2.iterations";
+    public static final String VERIFIER_THREADS_PROPERTY = "islu.auth.verifierThreads";
+    public static final int DEFAULT_ITERATIONS = 60_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int VERIFIER_QUEUE_CAPACITY = 32;
+    private static final byte[] DUMMY_SALT = new byte[SALT_BYTES];
+
+    private static final CredentialStore instance = new CredentialStore(
+            Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS),
+            Integer.getInteger(VERIFIER_THREADS_PROPERTY, Math.min(4, Runtime.getRuntime().availableProcessors())));
+
+    private final int iterations;
+    private final ThreadPoolExecutor verifierPool;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, HashRecord> hashes = new ConcurrentHashMap<>();
+    private final Map<String, String> legacyPasswords = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Creates a store with a fixed work factor and verifier pool size
+     * @param iterations PBKDF2 iteration count for new hashes
+     * @param verifierThreads Number of threads verifying hashes
+     */
+    CredentialStore(int iterations, int verifierThreads) {
+        this.iterations = iterations;
+        this.verifierPool = new ThreadPoolExecutor(verifierThreads, verifierThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(VERIFIER_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "credential-verifier");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Gets the shared credential store
+     * @return The store instance
+     */
+    public static CredentialStore getInstance() {
+        return instance;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Verifies a password on the verifier pool
+     * @param studentID The student ID
+     * @param password The password entered
+     * @return Future completing with true if the password matches. Completes
+     *         exceptionally with RejectedExecutionException when the pool is saturated.
+     */
+    public CompletableFuture<Boolean> verifyAsync(String studentID, String password) {
+        return submit(() -> verify(studentID, password));
+    }
+
+    /**
+     * Hashes and stores a password on the verifier pool, so a password change
+     * does not spend the hashing cost on the caller's (UI) thread
+     * @param studentID The student ID
+     * @param password The new password
+     * @return Future completing with true if saved. Completes exceptionally with
+     *         RejectedExecutionException when the pool is saturated.
+     */
+    public CompletableFuture<Boolean> setPasswordAsync(String studentID, String password) {
+        return submit(() -> setPassword(studentID, password));
+    }
+
+    private CompletableFuture<Boolean> submit(java.util.function.Supplier<Boolean> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, verifierPool);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<Boolean> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    /**
+     * Verifies a password on the calling thread
+     * @param studentID The student ID
+     * @param password The password entered
+     * @return true if the password matches, false otherwise
+     */
+    public boolean verify(String studentID, String password) {
+        ensureLoaded();
+        HashRecord record = hashes.get(studentID);
+        if (record != null) {
+            boolean matches = record.matches(password);
+            if (matches && record.iterations < iterations) {
+                // Upgrade the hash to the current work factor
+                setPassword(studentID, password);
+            }
+            return matches;
+        }
+
+        String legacy = legacyPasswords.get(studentID);
+        if (legacy == null) {
+            // Spend the same hashing cost for unknown IDs so timing does not reveal which IDs exist
+            pbkdf2(password, DUMMY_SALT, iterations);
+            return false;
+        }
+        boolean matches = MessageDigest.isEqual(
+                legacy.getBytes(StandardCharsets.UTF_8),
+                password.getBytes(StandardCharsets.UTF_8));
+        if (!matches) {
+            return false;
+        }
+
+        // Convert the plaintext account on first successful login
+        setPassword(studentID, password);
+        return true;
+    }
+
+    /**
+     * Hashes and stores a password, replacing any existing hash and plaintext copy
+     * @param studentID The student ID
+     * @param password The new password
+     * @return true if successful, false otherwise
+     */
+    public boolean setPassword(String studentID, String password) {
+        ensureLoaded();
+        HashRecord record = HashRecord.create(studentID, password, iterations, random);
+        StorageBackend storage = DataManager.getStorage();
+        try {
+            synchronized (this) {
+                if (storage.update(StorageTable.PASSWORD_HASHES, studentID, line -> record.toRow()) == 0) {
+                    storage.append(StorageTable.PASSWORD_HASHES, record.toRow());
+                }
+                hashes.put(studentID, record);
+            }
+            if (legacyPasswords.remove(studentID) != null) {
+                removePlaintext(storage, studentID);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving credential: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Hashes the passwords of newly created accounts in parallel and stores them
+     * with a single append
+     * @param students New accounts (no existing credential rows)
+     * @return true if successful, false otherwise
+     */
+    public boolean addPasswords(java.util.List<StudentInfo> students) {
+        ensureLoaded();
+        java.util.List<HashRecord> records = students.parallelStream()
+                .map(student -> HashRecord.create(student.getId(), student.getPassword(), iterations, random))
+                .collect(java.util.stream.Collectors.toList());
+        java.util.List<String> rows = new java.util.ArrayList<>(records.size());
+        for (HashRecord record : records) {
+            rows.add(record.toRow());
+        }
+
+        try {
+            synchronized (this) {
+                DataManager.getStorage().appendAll(StorageTable.PASSWORD_HASHES, rows);
+                for (HashRecord record : records) {
+                    hashes.put(record.studentID, record);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving credentials: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Converts every plaintext password still in Database.txt/UserPasswordID.txt
+     * @return Number of accounts converted
+     */
+    public int migrateAll() {
+        ensureLoaded();
+        int migrated = 0;
+        for (Map.Entry<String, String> entry : new java.util.ArrayList<>(legacyPasswords.entrySet())) {
+            if (setPassword(entry.getKey(), entry.getValue())) {
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * Drops the cached rows so they are reloaded from storage on next use
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+        hashes.clear();
+        legacyPasswords.clear();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            StorageBackend storage = DataManager.getStorage();
+            try {
+                for (String line : storage.scan(StorageTable.PASSWORD_HASHES)) {
+                    HashRecord record = HashRecord.fromRow(line);
+                    if (record != null) {
+                        hashes.put(record.studentID, record);
+                    }
+                }
+
+                // Plaintext leftovers from before hashing (Database.txt wins over the log file)
+                for (String line : storage.scan(StorageTable.CREDENTIALS)) {
+                    int marker = line.indexOf("| Password: ");
+                    String id = StorageTable.CREDENTIALS.studentIdOf(line);
+                    if (marker >= 0 && !id.isEmpty() && !hashes.containsKey(id)) {
+                        legacyPasswords.put(id, line.substring(marker + "| Password: ".length()).trim());
+                    }
+                }
+                for (String line : storage.scan(StorageTable.STUDENTS)) {
+                    String[] parts = line.split("\\|")[0].split(",");
+                    if (parts.length >= 6 && !hashes.containsKey(parts[0].trim())
+                            && !MASKED_PASSWORD.equals(parts[5].trim())) {
+                        legacyPasswords.put(parts[0].trim(), parts[5].trim());
+                    }
+                }
+                loaded = true;
+            } catch (IOException e) {
+                System.err.println("Error loading credentials: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Masks the password column in Database.txt and drops the UserPasswordID.txt rows
+     */
+    private static void removePlaintext(StorageBackend storage, String studentID) throws IOException {
+        storage.update(StorageTable.STUDENTS, studentID, line -> {
+            int profileStart = line.indexOf('|');
+            String basicInfo = profileStart >= 0 ? line.substring(0, profileStart) : line;
+            String profile = profileStart >= 0 ? line.substring(profileStart) : "";
+
+            String[] parts = basicInfo.split(",");
+            if (parts.length < 6) {
+                return line;
+            }
+            parts[5] = MASKED_PASSWORD;
+            return String.join(",", parts) + profile;
+        });
+        storage.update(StorageTable.CREDENTIALS, studentID, line -> null);
+    }
+
+    /**
+     * One parsed row of credentialStore.txt
+     */
+    private static class HashRecord {
+        final String studentID;
+        final int iterations;
+        final byte[] salt;
+        final byte[] hash;
+
+        HashRecord(String studentID, int iterations, byte[] salt, byte[] hash) {
+            this.studentID = studentID;
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+
+        static HashRecord create(String studentID, String password, int iterations, SecureRandom random) {
+            byte[] salt = new byte[SALT_BYTES];
+            random.nextBytes(salt);
+            return new HashRecord(studentID, iterations, salt, pbkdf2(password, salt, iterations));
+        }
+
+        static HashRecord fromRow(String row) {
+            String[] parts = row.split(",");
+            if (parts.length < 4) {
+                return null;
+            }
+            try {
+                Base64.Decoder decoder = Base64.getDecoder();
+                return new HashRecord(parts[0].trim(), Integer.parseInt(parts[1].trim()),
+                        decoder.decode(parts[2].trim()), decoder.decode(parts[3].trim()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping malformed credential row: " + e.getMessage());
+                return null;
+            }
+        }
+
+        boolean matches(String password) {
+            return MessageDigest.isEqual(hash, pbkdf2(password, salt, iterations));
+        }
+
+        String toRow() {
+            Base64.Encoder encoder = Base64.getEncoder();
+            return studentID + "," + iterations + "," + encoder.encodeToString(salt) + "," + encoder.encodeToString(hash);
+        }
+    }
+
+    /**
+     * Computes a PBKDF2-HMAC-SHA256 hash
+     * @param password The password
+     * @param salt The salt
+     * @param iterations The iteration count
+     * @return The derived hash
+     */
+    static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
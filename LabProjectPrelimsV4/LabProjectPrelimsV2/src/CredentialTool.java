@@ -0,0 +1,75 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command line tool for the credential store.
+ *
+ *   java CredentialTool migrate
+ *       Hashes every plaintext password left in Database.txt/UserPasswordID.txt
+ *       into credentialStore.txt and masks the plaintext copies.
+ *
+ *   java CredentialTool benchmark [iterations...]
+ *       Prints logins/sec at each PBKDF2 work factor using the verifier pool size,
+ *       to pick a value for -Dislu.pbkdf2.iterations.
+ */
+public class CredentialTool {
+
+    private static final int[] DEFAULT_COSTS = {10_000, 30_000, 60_000, 120_000, 210_000};
+    private static final int LOGINS_PER_THREAD = 20;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: CredentialTool migrate | benchmark [iterations...]");
+            return;
+        }
+
+        if ("migrate".equals(args[0])) {
+            int migrated = CredentialStore.getInstance().migrateAll();
+            System.out.println("Migrated " + migrated + " account(s) to hashed credentials");
+        } else if ("benchmark".equals(args[0])) {
+            int[] costs = DEFAULT_COSTS;
+            if (args.length > 1) {
+                costs = new int[args.length - 1];
+                for (int i = 1; i < args.length; i++) {
+                    costs[i - 1] = Integer.parseInt(args[i]);
+                }
+            }
+            benchmark(costs);
+        } else {
+            System.out.println("Unknown command: " + args[0]);
+        }
+    }
+
+    private static void benchmark(int[] costs) throws Exception {
+        int threads = Integer.getInteger(CredentialStore.VERIFIER_THREADS_PROPERTY,
+                Math.min(4, Runtime.getRuntime().availableProcessors()));
+        byte[] salt = new byte[16];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            // Warm up the JIT so the first cost setting is not penalized
+            CredentialStore.pbkdf2("warmup", salt, 50_000);
+
+            System.out.println("Verifier threads: " + threads);
+            System.out.println(String.format("%12s %14s %12s", "Iterations", "ms/login", "logins/sec"));
+            for (int cost : costs) {
+                int logins = threads * LOGINS_PER_THREAD;
+                List<Future<byte[]>> results = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int i = 0; i < logins; i++) {
+                    results.add(pool.submit(() -> CredentialStore.pbkdf2("benchmark-password", salt, cost)));
+                }
+                for (Future<byte[]> result : results) {
+                    result.get();
+                }
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+                System.out.println(String.format("%12d %14.1f %12.1f",
+                        cost, seconds * 1000 * threads / logins, logins / seconds));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
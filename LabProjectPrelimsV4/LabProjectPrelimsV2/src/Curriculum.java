@@ -0,0 +1,195 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One program's curriculum: its courses in checklist order, grouped by term,
+ * and the prerequisite graph between them.
+ *
+ * Courses are numbered by their position in the checklist and prerequisites
+ * are kept as arrays of those numbers, so computing a student's progress is a
+ * walk over int arrays instead of map lookups. The graph is checked once when
+ * the curriculum is built: prerequisites naming unknown courses are dropped
+ * and a cycle is reported and broken, so every curriculum that loads is a DAG
+ * with a valid topological order.
+ */
+public class Curriculum {
+
+    private final String program;
+    private final List<Course> courses;
+    private final Map<String, Integer> indexByCode = new HashMap<>();
+    private final int[][] prerequisites;
+    private final int[] topologicalOrder;
+    private final double totalUnits;
+
+    /**
+     * Builds a curriculum and its prerequisite graph
+     * @param program Program code, e.g. "BSIT"
+     * @param courses Courses in checklist order
+     */
+    public Curriculum(String program, List<Course> courses) {
+        this.program = program;
+        this.courses = Collections.unmodifiableList(new ArrayList<>(courses));
+        double units = 0;
+        for (int i = 0; i < courses.size(); i++) {
+            indexByCode.put(courses.get(i).getCode(), i);
+            units += courses.get(i).getUnits();
+        }
+        this.totalUnits = units;
+
+        prerequisites = new int[courses.size()][];
+        for (int i = 0; i < courses.size(); i++) {
+            List<Integer> required = new ArrayList<>();
+            for (String code : courses.get(i).getPrerequisites()) {
+                Integer index = indexByCode.get(code);
+                if (index == null) {
+                    System.err.println("Error in curriculum " + program + ": " + courses.get(i).getCode()
+                            + " requires unknown course " + code);
+                } else if (index != i) {
+                    required.add(index);
+                }
+            }
+            prerequisites[i] = required.stream().mapToInt(Integer::intValue).toArray();
+        }
+        topologicalOrder = sortTopologically();
+    }
+
+    /**
+     * Orders the courses so every course comes after its prerequisites
+     * (Kahn's algorithm). Edges that close a cycle are dropped and reported.
+     */
+    private int[] sortTopologically() {
+        int count = courses.size();
+        int[] waitingOn = new int[count];
+        List<List<Integer>> unlocks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            unlocks.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; i++) {
+            for (int required : prerequisites[i]) {
+                unlocks.get(required).add(i);
+                waitingOn[i]++;
+            }
+        }
+
+        int[] order = new int[count];
+        int sorted = 0;
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            if (waitingOn[i] == 0) {
+                ready.add(i);
+            }
+        }
+        while (sorted < count) {
+            if (ready.isEmpty()) {
+                // Every course left waits on a cycle: keep only the first one's placed prerequisites
+                int stuck = 0;
+                while (waitingOn[stuck] <= 0) {
+                    stuck++;
+                }
+                System.err.println("Error in curriculum " + program + ": prerequisite cycle at "
+                        + courses.get(stuck).getCode());
+                int[] kept = Arrays.stream(prerequisites[stuck]).filter(required -> waitingOn[required] < 0).toArray();
+                prerequisites[stuck] = kept;
+                waitingOn[stuck] = 0;
+                ready.add(stuck);
+            }
+            int course = ready.poll();
+            order[sorted++] = course;
+            waitingOn[course] = -1; // Placed
+            for (int next : unlocks.get(course)) {
+                if (waitingOn[next] > 0 && --waitingOn[next] == 0) {
+                    ready.add(next);
+                }
+            }
+        }
+        return order;
+    }
+
+    public String getProgram() {
+        return program;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public int size() {
+        return courses.size();
+    }
+
+    public double getTotalUnits() {
+        return totalUnits;
+    }
+
+    /**
+     * Gets a course's position in the checklist
+     * @param code The course number
+     * @return The index, or -1 if the course is not in this curriculum
+     */
+    public int indexOf(String code) {
+        Integer index = indexByCode.get(code);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the checklist positions of a course's direct prerequisites
+     * @param index The course's index
+     * @return Indexes of the prerequisites (do not modify)
+     */
+    int[] getPrerequisites(int index) {
+        return prerequisites[index];
+    }
+
+    /**
+     * Gets the courses ordered so that each comes after all its prerequisites
+     * @return Course indexes in topological order (do not modify)
+     */
+    int[] getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    /**
+     * Groups the courses by term, keeping checklist order
+     * @return Course indexes by term name
+     */
+    public Map<String, List<Integer>> getTerms() {
+        Map<String, List<Integer>> terms = new LinkedHashMap<>();
+        for (int i = 0; i < courses.size(); i++) {
+            terms.computeIfAbsent(courses.get(i).getTerm(), key -> new ArrayList<>()).add(i);
+        }
+        return terms;
+    }
+
+    /**
+     * A course in a curriculum
+     */
+    public static class Course {
+        private final String code;
+        private final String description;
+        private final double units;
+        private final String term;
+        private final List<String> prerequisites;
+
+        public Course(String code, String description, double units, String term, List<String> prerequisites) {
+            this.code = code;
+            this.description = description;
+            this.units = units;
+            this.term = term;
+            this.prerequisites = prerequisites;
+        }
+
+        // Getters
+        public String getCode() { return code; }
+        public String getDescription() { return description; }
+        public double getUnits() { return units; }
+        public String getTerm() { return term; }
+        public List<String> getPrerequisites() { return prerequisites; }
+    }
+}
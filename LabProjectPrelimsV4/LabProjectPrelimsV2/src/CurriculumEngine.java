@@ -0,0 +1,227 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Computes curriculum checklists from the students' grades.
+ *
+ * Program curricula are read once from curricula.txt (next to Database.txt),
+ * one course per row:
+ *   Program|Term|CourseNumber|Description|Units|Prerequisites (separated by ;)
+ * A student's progress is the join of their grade records with their program's
+ * curriculum (see CurriculumProgress). Results are kept per student in an
+ * LruCache with the same time to live as the storage cache, and dropped when
+ * the student's grades change, so the checklist is only recomputed when it
+ * could differ.
+ *
+ * Tuning: -Dislu.curriculum.program=code picks the program used for every
+ * student (default BSIT; the student records do not carry a program yet).
+ */
+public class CurriculumEngine {
+
+    public static final String CURRICULA_FILE = "curricula.txt";
+    public static final String PROGRAM_PROPERTY = "islu.curriculum.program";
+    static final String DEFAULT_PROGRAM = "BSIT";
+
+    private static final int CACHED_STUDENTS = 1000;
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    private static final CurriculumEngine instance = new CurriculumEngine();
+
+    private final Map<String, Curriculum> curricula;
+    private final Map<String, Curriculum.Course> catalog = new HashMap<>();
+    private final LruCache<String, CurriculumProgress> cache;
+    // Bumped on every invalidation so a computation that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private CurriculumEngine() {
+        curricula = loadCurricula(DataManager.resolveFile(CURRICULA_FILE));
+        for (Curriculum curriculum : curricula.values()) {
+            for (Curriculum.Course course : curriculum.getCourses()) {
+                catalog.putIfAbsent(course.getCode(), course);
+            }
+        }
+        long ttlSeconds = Long.getLong(CachingStorage.TTL_PROPERTY, DEFAULT_TTL_SECONDS);
+        cache = new LruCache<>(CACHED_STUDENTS, CACHED_STUDENTS, Math.max(0, ttlSeconds) * 1000, progress -> 1);
+    }
+
+    public static CurriculumEngine getInstance() {
+        return instance;
+    }
+
+    /**
+     * Reads every program's curriculum
+     * @param file The curricula file
+     * @return Curricula by program code (empty if the file cannot be read)
+     */
+    static Map<String, Curriculum> loadCurricula(File file) {
+        Map<String, List<Curriculum.Course>> courses = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StorageTable.isHeaderLine(line)) {
+                    continue;
+                }
+                String[] parts = line.split("\\|", -1);
+                if (parts.length < 6) {
+                    continue;
+                }
+                List<String> prerequisites = new ArrayList<>();
+                for (String code : parts[5].split(";")) {
+                    if (!code.trim().isEmpty()) {
+                        prerequisites.add(code.trim());
+                    }
+                }
+                try {
+                    courses.computeIfAbsent(parts[0].trim(), key -> new ArrayList<>()).add(new Curriculum.Course(
+                            parts[2].trim(), parts[3].trim(), Double.parseDouble(parts[4].trim()), parts[1].trim(),
+                            prerequisites));
+                } catch (NumberFormatException e) {
+                    System.err.println("Error reading curriculum row: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading curricula: " + e.getMessage());
+        }
+
+        Map<String, Curriculum> curricula = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Curriculum.Course>> entry : courses.entrySet()) {
+            curricula.put(entry.getKey(), new Curriculum(entry.getKey(), entry.getValue()));
+        }
+        PortalLog.info("curricula.loaded", "programs", curricula.keySet());
+        return curricula;
+    }
+
+    /**
+     * Gets every course of every program, for looking up units by course number
+     * (a course in several programs is taken from the first one in the file)
+     * @return Courses by course number
+     */
+    public Map<String, Curriculum.Course> getCatalog() {
+        return Collections.unmodifiableMap(catalog);
+    }
+
+    /**
+     * Gets a student's curriculum
+     * @param studentID The student ID
+     * @return The curriculum, or null if no curricula could be loaded
+     */
+    public Curriculum getCurriculum(String studentID) {
+        Curriculum curriculum = curricula.get(DataManager.getStudentProgram(studentID));
+        if (curriculum == null && !curricula.isEmpty()) {
+            curriculum = curricula.values().iterator().next();
+        }
+        return curriculum;
+    }
+
+    /**
+     * Gets a student's progress, reading their grades on a cache miss
+     * @param studentID The student ID
+     * @return The progress, or null if no curricula could be loaded
+     */
+    public CurriculumProgress getProgress(String studentID) {
+        return getProgress(studentID, () -> DataManager.loadGradeRecords(studentID));
+    }
+
+    /**
+     * Gets a student's progress, taking their grades from the caller on a cache miss
+     * (e.g. the grades a PortalSession already loaded)
+     * @param studentID The student ID
+     * @param grades Supplies the student's grade records
+     * @return The progress, or null if no curricula could be loaded
+     */
+    public CurriculumProgress getProgress(String studentID, Supplier<List<GradeRecord>> grades) {
+        CurriculumProgress progress = cache.get(studentID);
+        if (progress != null) {
+            return progress;
+        }
+        Curriculum curriculum = getCurriculum(studentID);
+        if (curriculum == null) {
+            return null;
+        }
+        long invalidationsBefore = invalidations.get();
+        progress = CurriculumProgress.compute(curriculum, grades.get());
+        // Checked and stored under the cache lock, so an invalidation cannot land in between
+        synchronized (cache) {
+            if (invalidations.get() == invalidationsBefore) {
+                cache.put(studentID, progress);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Drops a student's cached progress after their grades changed
+     * @param studentID The student ID
+     */
+    public void invalidate(String studentID) {
+        invalidations.incrementAndGet();
+        cache.invalidate(studentID);
+    }
+
+    /**
+     * Checks graduation eligibility for every student with grades, in parallel.
+     * Grades are read with one scan of the grade table and the students are
+     * split into one slice per thread.
+     * @param threads Number of worker threads
+     * @return Progress by student ID, sorted by ID
+     */
+    public Map<String, CurriculumProgress> computeAll(int threads) throws InterruptedException {
+        Map<String, List<GradeRecord>> gradesByStudent = DataManager.loadAllGradeRecords();
+        List<String> studentIDs = new ArrayList<>(gradesByStudent.keySet());
+        Map<String, CurriculumProgress> results = Collections.synchronizedMap(new TreeMap<>());
+
+        int workers = Math.max(1, Math.min(threads, studentIDs.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "curriculum-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> slices = new ArrayList<>();
+            int sliceSize = (studentIDs.size() + workers - 1) / workers;
+            for (int start = 0; start < studentIDs.size(); start += sliceSize) {
+                List<String> slice = studentIDs.subList(start, Math.min(start + sliceSize, studentIDs.size()));
+                slices.add(pool.submit(() -> {
+                    for (String studentID : slice) {
+                        Curriculum curriculum = getCurriculum(studentID);
+                        if (curriculum != null) {
+                            results.put(studentID, CurriculumProgress.compute(curriculum,
+                                    gradesByStudent.get(studentID)));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } catch (ExecutionException e) {
+            System.err.println("Error computing curriculum progress: " + e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * Gets the program codes that have a curriculum
+     * @return The program codes
+     */
+    public List<String> getPrograms() {
+        return Collections.unmodifiableList(new ArrayList<>(curricula.keySet()));
+    }
+}
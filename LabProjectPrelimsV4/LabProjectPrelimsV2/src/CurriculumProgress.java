@@ -0,0 +1,166 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A student's standing against a curriculum: the status of every course and
+ * the unit totals, computed once from the student's grade records.
+ */
+public class CurriculumProgress {
+
+    // Lowest final grade that earns the course's units
+    public static final double PASSING_GRADE = 75.0;
+
+    public enum Status {
+        COMPLETED("Completed"),
+        IN_PROGRESS("In Progress"),
+        AVAILABLE("Available"),
+        LOCKED("Locked");
+
+        private final String label;
+
+        Status(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Curriculum curriculum;
+    private final Status[] statuses;
+    private final double completedUnits;
+    private final double inProgressUnits;
+    private final int remainingTerms;
+
+    private CurriculumProgress(Curriculum curriculum, Status[] statuses, double completedUnits,
+                               double inProgressUnits, int remainingTerms) {
+        this.curriculum = curriculum;
+        this.statuses = statuses;
+        this.completedUnits = completedUnits;
+        this.inProgressUnits = inProgressUnits;
+        this.remainingTerms = remainingTerms;
+    }
+
+    /**
+     * Joins a student's grade records against a curriculum in one pass over
+     * each. A course is completed once any attempt is marked Completed with a
+     * passing final grade, and in progress if it has an attempt that is not
+     * finished yet. Any other course is available when all its prerequisites
+     * are completed, and locked otherwise.
+     * @param curriculum The student's curriculum
+     * @param grades The student's grade records
+     * @return The progress
+     */
+    public static CurriculumProgress compute(Curriculum curriculum, List<GradeRecord> grades) {
+        int count = curriculum.size();
+        boolean[] passed = new boolean[count];
+        boolean[] enrolled = new boolean[count];
+        for (GradeRecord grade : grades) {
+            int index = curriculum.indexOf(grade.getSubjectCode());
+            if (index < 0) {
+                continue; // Not part of this curriculum (e.g. a cross-enrolled course)
+            }
+            if ("Completed".equals(grade.getStatus())) {
+                Double finalGrade = grade.getFinalGrade();
+                passed[index] |= finalGrade != null && finalGrade >= PASSING_GRADE;
+            } else {
+                enrolled[index] = true;
+            }
+        }
+
+        Status[] statuses = new Status[count];
+        double completedUnits = 0;
+        double inProgressUnits = 0;
+        // Terms still needed along each course's chain of unfinished prerequisites
+        int[] chain = new int[count];
+        int remainingTerms = 0;
+        for (int index : curriculum.getTopologicalOrder()) {
+            double units = curriculum.getCourses().get(index).getUnits();
+            if (passed[index]) {
+                statuses[index] = Status.COMPLETED;
+                completedUnits += units;
+                continue;
+            }
+
+            boolean unlocked = true;
+            int longest = 0;
+            for (int required : curriculum.getPrerequisites(index)) {
+                unlocked &= passed[required];
+                longest = Math.max(longest, chain[required]);
+            }
+            chain[index] = longest + 1;
+            remainingTerms = Math.max(remainingTerms, chain[index]);
+
+            if (enrolled[index]) {
+                statuses[index] = Status.IN_PROGRESS;
+                inProgressUnits += units;
+            } else {
+                statuses[index] = unlocked ? Status.AVAILABLE : Status.LOCKED;
+            }
+        }
+        return new CurriculumProgress(curriculum, statuses, completedUnits, inProgressUnits, remainingTerms);
+    }
+
+    public Curriculum getCurriculum() {
+        return curriculum;
+    }
+
+    public Status getStatus(int courseIndex) {
+        return statuses[courseIndex];
+    }
+
+    public double getCompletedUnits() {
+        return completedUnits;
+    }
+
+    public double getInProgressUnits() {
+        return inProgressUnits;
+    }
+
+    public double getRemainingUnits() {
+        return curriculum.getTotalUnits() - completedUnits - inProgressUnits;
+    }
+
+    /**
+     * Gets the length of the longest chain of unfinished courses that must be
+     * taken one after another, i.e. the fewest terms left before graduating
+     * @return Number of terms (0 when every course is completed)
+     */
+    public int getRemainingTerms() {
+        return remainingTerms;
+    }
+
+    public boolean isEligibleForGraduation() {
+        return remainingTerms == 0;
+    }
+
+    /**
+     * Gets the unfinished prerequisites holding a course back
+     * @param courseIndex The course's index
+     * @return Course numbers of prerequisites not yet completed
+     */
+    public List<String> getMissingPrerequisites(int courseIndex) {
+        List<String> missing = new ArrayList<>();
+        for (int required : curriculum.getPrerequisites(courseIndex)) {
+            if (statuses[required] != Status.COMPLETED) {
+                missing.add(curriculum.getCourses().get(required).getCode());
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Counts the courses with each status
+     * @return Number of courses by status
+     */
+    public Map<Status, Integer> countByStatus() {
+        Map<Status, Integer> counts = new HashMap<>();
+        for (Status status : statuses) {
+            counts.merge(status, 1, Integer::sum);
+        }
+        return counts;
+    }
+}
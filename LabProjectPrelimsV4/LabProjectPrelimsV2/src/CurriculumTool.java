@@ -0,0 +1,63 @@
+import java.util.Map;
+
+/**
+ * Command line tool for curriculum checklists.
+ *
+ *   java CurriculumTool eligibility [threads]
+ *       Computes every student's progress from the grade records in parallel
+ *       and prints who can graduate, with units and terms left for the rest.
+ *
+ *   java CurriculumTool check &lt;studentID&gt;
+ *       Prints one student's checklist.
+ */
+public class CurriculumTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: CurriculumTool eligibility [threads] | check <studentID>");
+            return;
+        }
+
+        if ("eligibility".equals(args[0])) {
+            int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            long start = System.nanoTime();
+            Map<String, CurriculumProgress> results = CurriculumEngine.getInstance().computeAll(threads);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            int eligible = 0;
+            System.out.println(String.format("%-10s %-9s %10s %10s %10s %6s", "Student", "Graduate", "Completed",
+                    "Enrolled", "Remaining", "Terms"));
+            for (Map.Entry<String, CurriculumProgress> entry : results.entrySet()) {
+                CurriculumProgress progress = entry.getValue();
+                if (progress.isEligibleForGraduation()) {
+                    eligible++;
+                }
+                System.out.println(String.format("%-10s %-9s %10.1f %10.1f %10.1f %6d", entry.getKey(),
+                        progress.isEligibleForGraduation() ? "yes" : "no", progress.getCompletedUnits(),
+                        progress.getInProgressUnits(), progress.getRemainingUnits(), progress.getRemainingTerms()));
+            }
+            System.out.println(eligible + " of " + results.size() + " student(s) eligible to graduate ("
+                    + millis + " ms, " + threads + " thread(s))");
+        } else if ("check".equals(args[0]) && args.length > 1) {
+            CurriculumProgress progress = CurriculumEngine.getInstance().getProgress(args[1]);
+            if (progress == null) {
+                System.out.println("No curriculum available");
+                return;
+            }
+            Curriculum curriculum = progress.getCurriculum();
+            for (Map.Entry<String, java.util.List<Integer>> term : curriculum.getTerms().entrySet()) {
+                System.out.println(term.getKey());
+                for (int index : term.getValue()) {
+                    Curriculum.Course course = curriculum.getCourses().get(index);
+                    System.out.println(String.format("  %-12s %-5s %s", course.getCode(), course.getUnits(),
+                            progress.getStatus(index).getLabel()));
+                }
+            }
+            System.out.println(String.format("Completed %.1f, in progress %.1f, remaining %.1f of %.1f units",
+                    progress.getCompletedUnits(), progress.getInProgressUnits(), progress.getRemainingUnits(),
+                    curriculum.getTotalUnits()));
+        } else {
+            System.out.println("Unknown command: " + args[0]);
+        }
+    }
+}
@@ -9,20 +9,131 @@ import java.net.URISyntaxException;
  */
 public class DataManager {
     
-    // File paths
-    private static final String DATABASE_FILE = "Database.txt";
-    private static final String USER_PASSWORD_FILE = "UserPasswordID.txt";
-    private static final String PAYMENT_LOGS_FILE = "paymentLogs.txt";
-    private static final String ATTENDANCE_RECORDS_FILE = "attendanceRecords.txt";
-    private static final String COURSE_SCHEDULES_FILE = "courseSchedules.txt";
-    private static final String GRADE_RECORDS_FILE = "gradeRecords.txt";
+    // Storage backend selection (-Dislu.storage=text|kv)
+    private static final String STORAGE_PROPERTY = "islu.storage";
+
+    private static final StorageBackend storage = createStorageBackend();
+
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+    /**
+     * Creates the storage backend selected by the islu.storage system property,
+     * behind a per-student row cache unless -Dislu.cache.ttl=0.
+     */
+    private static StorageBackend createStorageBackend() {
+        StorageBackend backend = openStorageBackend();
+        if (Long.getLong(CachingStorage.TTL_PROPERTY, 1) <= 0) {
+            return backend;
+        }
+        return new CachingStorage(backend);
+    }
+
+    /**
+     * Opens the backend selected by the islu.storage system property.
+     * Falls back to the text files if the key-value store cannot be opened.
+     */
+    private static StorageBackend openStorageBackend() {
+        String backend = System.getProperty(STORAGE_PROPERTY, "text");
+        if ("kv".equalsIgnoreCase(backend)) {
+            try {
+                return KeyValueStorage.open(resolveFile(KeyValueStorage.DEFAULT_FILE));
+            } catch (IOException e) {
+                System.err.println("Error opening key-value store, using text files: " + e.getMessage());
+            }
+        }
+        return new FlatFileStorage();
+    }
+
+    /**
+     * A storage call that may fail with an I/O error
+     */
+    private interface StorageCall<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Runs a storage call and records it in the metrics registry
+     * @param operation Name of the DataManager operation
+     * @param call The storage call
+     * @param rows Number of rows the call returned or wrote
+     * @return The call's result
+     */
+    private static <T> T timed(String operation, StorageCall<T> call, java.util.function.ToIntFunction<T> rows)
+            throws IOException {
+        MetricsRegistry.Timer timer = metrics.start(operation);
+        T result = null;
+        try {
+            result = call.run();
+            return result;
+        } finally {
+            timer.stop(result == null ? 0 : rows.applyAsInt(result));
+        }
+    }
+
+    private static List<String> scan(String operation, StorageTable table) throws IOException {
+        return timed(operation, () -> storage.scan(table), List::size);
+    }
+
+    private static List<String> scan(String operation, StorageTable table, String studentID) throws IOException {
+        return timed(operation, () -> storage.scan(table, studentID), List::size);
+    }
+
+    private static void append(String operation, StorageTable table, String row) throws IOException {
+        timed(operation, () -> {
+            storage.append(table, row);
+            return 1;
+        }, written -> written);
+    }
+
+    private static void appendAll(String operation, StorageTable table, List<String> rows) throws IOException {
+        timed(operation, () -> {
+            storage.appendAll(table, rows);
+            return rows.size();
+        }, written -> written);
+    }
+
+    private static int update(String operation, StorageTable table, String studentID,
+                              java.util.function.UnaryOperator<String> updater) throws IOException {
+        return timed(operation, () -> storage.update(table, studentID, updater), changed -> changed);
+    }
+
+    /**
+     * Gets the active storage backend
+     * @return The storage backend DataManager delegates to
+     */
+    static StorageBackend getStorage() {
+        return storage;
+    }
+    
+    /**
+     * Drops a student's cached rows so the next read goes to storage
+     * (e.g. when the user asks for a refresh)
+     * @param table The table
+     * @param studentID The student ID
+     */
+    public static void evictCached(StorageTable table, String studentID) {
+        if (storage instanceof CachingStorage) {
+            LruCache<String, List<String>> cache = ((CachingStorage) storage).getCache(table);
+            if (cache != null) {
+                cache.invalidate(studentID);
+            }
+        }
+    }
+
+    /**
+     * Gets the hit/miss/eviction counters of the storage cache
+     * @return The report, or an empty string if the cache is turned off
+     */
+    public static String getCacheReport() {
+        return storage instanceof CachingStorage ? ((CachingStorage) storage).getReport() : "";
+    }
     
     /**
      * Resolve a data file by searching from the working directory and then walking up
      * from the compiled classes location. This makes file access robust regardless
      * of where the application is launched from.
      */
-    private static File resolveFile(String filename) {
+    static File resolveFile(String filename) {
         // 1) Try working directory
         File direct = new File(filename);
         if (direct.exists()) {
@@ -49,58 +160,19 @@ public class DataManager {
         return direct.getAbsoluteFile();
     }
 
-    private static File getDatabaseFile() { return resolveFile(DATABASE_FILE); }
-    private static File getUserPasswordFile() { return resolveFile(USER_PASSWORD_FILE); }
-    private static File getPaymentLogsFile() { return resolveFile(PAYMENT_LOGS_FILE); }
-    private static File getAttendanceRecordsFile() { return resolveFile(ATTENDANCE_RECORDS_FILE); }
-    private static File getCourseSchedulesFile() { return resolveFile(COURSE_SCHEDULES_FILE); }
-    private static File getGradeRecordsFile() { return resolveFile(GRADE_RECORDS_FILE); }
-
     public static boolean databaseExists() {
-        return getDatabaseFile().exists();
+        return storage.exists(StorageTable.STUDENTS);
     }
     
     /**
-     * Authenticates user credentials against the database
+     * Authenticates user credentials against the hashed credential store
+     * (no throttling; the login screen goes through AuthenticationService.authenticateAsync)
      * @param studentID The student ID to authenticate
      * @param password The password to authenticate
      * @return true if credentials are valid, false otherwise
      */
     public static boolean authenticateUser(String studentID, String password) {
-        try {
-            File databaseFile = getDatabaseFile();
-            if (!databaseFile.exists()) {
-                return false;
-            }
-
-            try (BufferedReader reader = new BufferedReader(new FileReader(databaseFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Skip empty lines and header lines
-                    if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                        continue;
-                    }
-                    
-                    // Handle lines with profile data (containing | separator)
-                    String[] mainParts = line.split("\\|");
-                    String basicInfo = mainParts[0]; // Everything before the |
-                    
-                    String[] parts = basicInfo.split(",");
-                    if (parts.length >= 6) {
-                        String storedID = parts[0].trim();
-                        String storedPassword = parts[5].trim();
-                        
-                        if (studentID.equals(storedID) && password.equals(storedPassword)) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Error reading database: " + e.getMessage());
-        }
-        
-        return false;
+        return AuthenticationService.getInstance().verify(studentID, password);
     }
     
     /**
@@ -110,38 +182,10 @@ public class DataManager {
      */
     public static StudentInfo getStudentInfo(String studentID) {
         try {
-            File databaseFile = getDatabaseFile();
-            if (!databaseFile.exists()) {
-                return null;
-            }
-
-            try (BufferedReader reader = new BufferedReader(new FileReader(databaseFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Skip empty lines and header lines
-                    if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                        continue;
-                    }
-                    
-                    // Handle lines with profile data (containing | separator)
-                    String[] mainParts = line.split("\\|");
-                    String basicInfo = mainParts[0]; // Everything before the |
-                    
-                    String[] parts = basicInfo.split(",");
-                    if (parts.length >= 6) {
-                        String storedID = parts[0].trim();
-                        
-                        if (studentID.equals(storedID)) {
-                            return new StudentInfo(
-                                parts[0].trim(), // ID
-                                parts[1].trim(), // Last Name
-                                parts[2].trim(), // First Name
-                                parts[3].trim(), // Middle Name
-                                parts[4].trim(), // Date of Birth
-                                parts[5].trim()  // Password
-                            );
-                        }
-                    }
+            for (String line : scan("getStudentInfo", StorageTable.STUDENTS, studentID)) {
+                StudentInfo info = parseStudentRow(line);
+                if (info != null) {
+                    return info;
                 }
             }
         } catch (IOException e) {
@@ -158,31 +202,74 @@ public class DataManager {
      */
     public static boolean saveStudentAccount(StudentInfo studentInfo) {
         try {
-            // Save to Database.txt
-            File dbFile = getDatabaseFile();
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(dbFile, true))) {
-                String dbEntry = studentInfo.toDatabaseFormat();
-                writer.write(dbEntry);
-                writer.newLine();
-                writer.flush(); // Ensure data is written immediately
-            }
+            // Save to Database.txt (the password itself only goes to the credential store, hashed)
+            StudentInfo masked = new StudentInfo(studentInfo.getId(), studentInfo.getLastName(),
+                    studentInfo.getFirstName(), studentInfo.getMiddleName(), studentInfo.getDateOfBirth(),
+                    CredentialStore.MASKED_PASSWORD);
+            append("saveStudentAccount", StorageTable.STUDENTS, masked.toDatabaseFormat());
+            StudentSearchIndex.onStudentSaved(masked);
             
-            // Save to UserPasswordID.txt
-            File credsFile = getUserPasswordFile();
-            try (BufferedWriter logWriter = new BufferedWriter(new FileWriter(credsFile, true))) {
-                String credsEntry = "ID: " + studentInfo.getId() + " | Password: " + studentInfo.getPassword();
-                logWriter.write(credsEntry);
-                logWriter.newLine();
-                logWriter.flush(); // Ensure data is written immediately
+            return CredentialStore.getInstance().setPassword(studentInfo.getId(), studentInfo.getPassword());
+        } catch (IOException e) {
+            System.err.println("Error saving student account: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Saves a batch of new student accounts with one grouped append per file
+     * @param students The accounts to save (IDs already allocated)
+     * @return true if successful, false otherwise
+     */
+    public static boolean saveStudentAccounts(List<StudentInfo> students) {
+        try {
+            // The rows and the search index get the masked copies; the passwords only go to the credential store
+            List<StudentInfo> maskedStudents = new ArrayList<>(students.size());
+            List<String> rows = new ArrayList<>(students.size());
+            for (StudentInfo studentInfo : students) {
+                StudentInfo masked = new StudentInfo(studentInfo.getId(), studentInfo.getLastName(),
+                        studentInfo.getFirstName(), studentInfo.getMiddleName(), studentInfo.getDateOfBirth(),
+                        CredentialStore.MASKED_PASSWORD);
+                maskedStudents.add(masked);
+                rows.add(masked.toDatabaseFormat());
+            }
+            appendAll("saveStudentAccounts", StorageTable.STUDENTS, rows);
+            for (StudentInfo masked : maskedStudents) {
+                StudentSearchIndex.onStudentSaved(masked);
             }
             
-            return true;
+            return CredentialStore.getInstance().addPasswords(students);
         } catch (IOException e) {
-            System.err.println("Error saving student account: " + e.getMessage());
+            System.err.println("Error saving student accounts: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Allocates a block of unused student IDs with a single database scan
+     * @param count Number of IDs wanted
+     * @return Unused 7-digit IDs starting with "225" (fewer than count if the range is exhausted)
+     */
+    public static List<String> allocateStudentIDs(int count) {
+        Set<String> usedIDs = new HashSet<>();
+        try {
+            for (String line : scan("allocateStudentIDs", StorageTable.STUDENTS)) {
+                usedIDs.add(StorageTable.STUDENTS.studentIdOf(line));
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading existing IDs: " + e.getMessage());
+        }
+        
+        List<String> ids = new ArrayList<>(count);
+        for (int lastFour = 0; lastFour < 10000 && ids.size() < count; lastFour++) {
+            String candidate = "225" + String.format("%04d", lastFour);
+            if (!usedIDs.contains(candidate)) {
+                ids.add(candidate);
+            }
+        }
+        return ids;
+    }
+    
     /**
      * Generates a unique student ID
      * @return A unique 7-digit ID starting with "225"
@@ -191,17 +278,8 @@ public class DataManager {
         Set<String> usedIDs = new HashSet<>();
         
         try {
-            File file = getDatabaseFile();
-            if (file.exists()) {
-                try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        String[] parts = line.split(",");
-                        if (parts.length > 0) {
-                            usedIDs.add(parts[0]);
-                        }
-                    }
-                }
+            for (String line : scan("generateUniqueStudentID", StorageTable.STUDENTS)) {
+                usedIDs.add(StorageTable.STUDENTS.studentIdOf(line));
             }
         } catch (IOException e) {
             System.err.println("Error reading existing IDs: " + e.getMessage());
@@ -218,30 +296,62 @@ public class DataManager {
     }
     
     /**
-     * Logs a payment transaction
+     * Gets the program a student is enrolled in. Student records do not carry a
+     * program yet, so every student is in the one set by -Dislu.curriculum.program.
+     * @param studentID The student ID
+     * @return The program code
+     */
+    public static String getStudentProgram(String studentID) {
+        return System.getProperty(CurriculumEngine.PROGRAM_PROPERTY, CurriculumEngine.DEFAULT_PROGRAM);
+    }
+
+    /**
+     * Formats a payment log row
      * @param channelName The payment channel used
      * @param amount The amount paid
      * @param studentID The student ID making the payment
+     * @param referenceSuffix Text appended to the reference (e.g. the payment's idempotency key)
+     * @return The raw row
      */
-    public static void logPaymentTransaction(String channelName, double amount, String studentID) {
-        try {
-            File logFile = getPaymentLogsFile();
-            
-            java.text.SimpleDateFormat dateFormat = new java.text.SimpleDateFormat("MM/dd/yyyy hh:mm a");
-            String currentDateTime = dateFormat.format(new java.util.Date());
-            
-            String reference = "FIRST SEMESTER 2025-2026 Enrollme.";
-            String formattedAmount = String.format("P %,.2f", amount);
-            
-            String logEntry = currentDateTime + "," + channelName + "," + reference + "," + formattedAmount + "," + studentID;
-            
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(logFile, true))) {
-                writer.write(logEntry);
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            System.err.println("Error writing to payment log: " + e.getMessage());
-        }
+    static String formatPaymentRow(String channelName, double amount, String studentID, String referenceSuffix) {
+        java.text.SimpleDateFormat dateFormat = new java.text.SimpleDateFormat("MM/dd/yyyy hh:mm a");
+        String currentDateTime = dateFormat.format(new java.util.Date());
+        
+        String reference = "FIRST SEMESTER 2025-2026 Enrollme. " + referenceSuffix;
+        String formattedAmount = String.format("P %,.2f", amount);
+        
+        return currentDateTime + "," + channelName + "," + reference + "," + formattedAmount + "," + studentID;
+    }
+
+    /**
+     * Appends rows to the payment log in one write (see PaymentLedger, which makes them durable first)
+     * @param rows The raw rows
+     * @throws IOException if the rows cannot be written
+     */
+    static void appendPaymentRows(List<String> rows) throws IOException {
+        appendAll("logPaymentTransactions", StorageTable.PAYMENTS, rows);
+    }
+
+    /**
+     * Reads every row of the payment log
+     * @return List of raw rows
+     * @throws IOException if the log cannot be read
+     */
+    static List<String> scanPaymentRows() throws IOException {
+        return scan("scanPaymentRows", StorageTable.PAYMENTS);
+    }
+
+    /**
+     * Cuts a partially written last row off a table after a crash, so the next
+     * append does not run into it. Only the text files need this; the key-value
+     * store drops its torn tail when opened.
+     * @param table The table
+     * @return true if a torn row was removed
+     * @throws IOException if the file cannot be repaired
+     */
+    static boolean repairTornTail(StorageTable table) throws IOException {
+        StorageBackend backend = storage instanceof CachingStorage ? ((CachingStorage) storage).getBackend() : storage;
+        return backend instanceof FlatFileStorage && ((FlatFileStorage) backend).repairTornTail(table);
     }
     
     /**
@@ -253,36 +363,13 @@ public class DataManager {
         List<PaymentTransaction> transactions = new ArrayList<>();
         
         try {
-            File logFile = getPaymentLogsFile();
-            if (logFile.exists()) {
-                try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        // Skip empty lines and header lines
-                        if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                            continue;
-                        }
-                        String[] parts = line.split(",");
-                        if (parts.length >= 5) {
-                            String transactionStudentID = parts[4].trim();
-                            if (studentID.equals(transactionStudentID)) {
-                                // Parse amount (remove P and commas)
-                                String amountStr = parts[3].trim().replaceAll("[P, ]", "");
-                                double amount = Double.parseDouble(amountStr);
-                                
-                                transactions.add(new PaymentTransaction(
-                                    parts[0].trim(), // Date
-                                    parts[1].trim(), // paymentChannel
-                                    parts[2].trim(), // Reference
-                                    amount,          // Amount
-                                    parts[4].trim()  // studentID
-                                ));
-                            }
-                        }
-                    }
+            for (String line : scan("loadPaymentTransactions", StorageTable.PAYMENTS, studentID)) {
+                PaymentTransaction transaction = parsePaymentRow(line);
+                if (transaction != null) {
+                    transactions.add(transaction);
                 }
             }
-        } catch (IOException e) {
+        } catch (IOException | NumberFormatException e) {
             System.err.println("Error reading payment logs: " + e.getMessage());
         }
         
@@ -297,34 +384,10 @@ public class DataManager {
         List<StudentInfo> students = new ArrayList<>();
         
         try {
-            File databaseFile = getDatabaseFile();
-            if (!databaseFile.exists()) {
-                return students;
-            }
-
-            try (BufferedReader reader = new BufferedReader(new FileReader(databaseFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Skip empty lines and header lines
-                    if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                        continue;
-                    }
-                    
-                    // Handle lines with profile data (containing | separator)
-                    String[] mainParts = line.split("\\|");
-                    String basicInfo = mainParts[0]; // Everything before the |
-                    
-                    String[] parts = basicInfo.split(",");
-                    if (parts.length >= 6) {
-                        students.add(new StudentInfo(
-                            parts[0].trim(), // ID
-                            parts[1].trim(), // Last Name
-                            parts[2].trim(), // First Name
-                            parts[3].trim(), // Middle Name
-                            parts[4].trim(), // Date of Birth
-                            parts[5].trim()  // Password
-                        ));
-                    }
+            for (String line : scan("getAllStudents", StorageTable.STUDENTS)) {
+                StudentInfo info = parseStudentRow(line);
+                if (info != null) {
+                    students.add(info);
                 }
             }
         } catch (IOException e) {
@@ -335,152 +398,196 @@ public class DataManager {
     }
     
     /**
-     * Gets student profile information from Database.txt
+     * Finds students by partial name, ID, birthplace or address
+     * (see StudentSearchIndex; the index is built on the first search)
+     * @param query Words to look for
+     * @param limit Maximum number of results
+     * @return Matching students, best matches first
+     */
+    public static List<StudentInfo> searchStudents(String query, int limit) {
+        return StudentSearchIndex.getInstance().search(query, limit);
+    }
+
+    /**
+     * Reads every profile in studentProfiles.txt (the first row per student)
+     * @return Profiles by student ID
+     */
+    static Map<String, ProfileData> getAllProfiles() {
+        Map<String, ProfileData> profiles = new HashMap<>();
+        try {
+            for (String line : scan("getAllProfiles", StorageTable.PROFILES)) {
+                profiles.putIfAbsent(StorageTable.PROFILES.studentIdOf(line), ProfileData.fromRow(line));
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading profiles: " + e.getMessage());
+        }
+        return profiles;
+    }
+
+    /**
+     * Gets a student's profile from studentProfiles.txt. A profile still stored
+     * the old way (after a | on the student's Database.txt row) is moved there
+     * on first read.
      * @param studentID The student ID to get profile for
-     * @return Profile data as a formatted string
+     * @return The profile, with default values if the student has none
      */
-    public static String getStudentProfile(String studentID) {
+    public static ProfileData getStudentProfile(String studentID) {
         try {
-            File dbFile = getDatabaseFile();
-            if (dbFile.exists()) {
-                try (BufferedReader reader = new BufferedReader(new FileReader(dbFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty()) continue;
-                        
-                        System.out.println("DEBUG: Checking line: " + line);
-                        
-                        // Handle lines with profile data (containing | separator)
-                        String[] mainParts = line.split("\\|");
-                        String basicInfo = mainParts[0]; // Everything before the |
-                        
-                        String[] parts = basicInfo.split(",");
-                        if (parts.length > 0 && parts[0].equals(studentID)) {
-                            System.out.println("DEBUG: Found matching student ID: " + studentID);
-                            // Check if profile data exists (after the | separator)
-                            if (line.contains("|") && mainParts.length > 1) {
-                                System.out.println("DEBUG: Returning profile data: " + mainParts[1]);
-                                return mainParts[1]; // Return the profile data part
-                            } else {
-                                System.out.println("DEBUG: No profile data found for student " + studentID);
-                            }
-                        }
-                    }
-                }
+            List<String> rows = scan("getStudentProfile", StorageTable.PROFILES, studentID);
+            if (!rows.isEmpty()) {
+                PortalLog.debug("profile.lookup", "studentID", studentID, "found", true);
+                return ProfileData.fromRow(rows.get(0));
+            }
+            ProfileData legacy = migrateLegacyProfile(studentID);
+            if (legacy != null) {
+                return legacy;
             }
         } catch (IOException e) {
             System.err.println("Error reading student profile: " + e.getMessage());
         }
-        System.out.println("DEBUG: No profile data found for student " + studentID);
-        return null;
+        PortalLog.debug("profile.lookup", "studentID", studentID, "found", false);
+        return new ProfileData();
     }
-    
+
+    /**
+     * Gets one field of a student's profile
+     * @param studentID The student ID
+     * @param field The field
+     * @return The field value (its default if the student has no profile)
+     */
+    public static String getProfileField(String studentID, ProfileField field) {
+        return getStudentProfile(studentID).get(field);
+    }
+
+    /**
+     * Moves a profile kept after the password on a Database.txt row into
+     * studentProfiles.txt and trims it (and any older copies) off the row.
+     * Older saves appended a new profile after the previous one, so the last
+     * one on the row is the current one.
+     */
+    private static ProfileData migrateLegacyProfile(String studentID) throws IOException {
+        String legacy = null;
+        for (String line : scan("getStudentProfile.legacy", StorageTable.STUDENTS, studentID)) {
+            int bar = line.lastIndexOf('|');
+            if (bar >= 0) {
+                legacy = line.substring(bar + 1);
+            }
+        }
+        if (legacy == null) {
+            return null;
+        }
+
+        ProfileData profile = ProfileData.fromLegacy(legacy);
+        if (saveProfileRow(studentID, profile.toRow(studentID))) {
+            update("migrateLegacyProfile", StorageTable.STUDENTS, studentID, line -> {
+                int bar = line.indexOf('|');
+                return bar < 0 ? line : line.substring(0, bar);
+            });
+            PortalLog.info("profile.migrated", "studentID", studentID);
+        }
+        return profile;
+    }
+
+    /**
+     * Saves a student's whole profile, replacing the previous one
+     * @param studentID The student ID to update
+     * @param profile The profile to save
+     * @return true if successful, false otherwise
+     */
+    public static boolean updateStudentProfile(String studentID, ProfileData profile) {
+        return saveProfileRow(studentID, profile.toRow(studentID));
+    }
+
     /**
-     * Updates a student's profile information in Database.txt
+     * Updates one field of a student's profile, keeping the other slots
      * @param studentID The student ID to update
-     * @param profileData The profile data to save
+     * @param field The field to change
+     * @param value The new value
      * @return true if successful, false otherwise
      */
-    public static boolean updateStudentProfile(String studentID, String profileData) {
+    public static boolean updateProfileField(String studentID, ProfileField field, String value) {
+        return applyProfilePatch(studentID, Collections.singletonMap(field, value));
+    }
+
+    /**
+     * Writes changed profile fields in one row update; other slots keep their stored values
+     * (see ProfilePatch for staging and coalescing edits)
+     * @param studentID The student ID to update
+     * @param changes New values by field
+     * @return true if successful, false otherwise
+     */
+    public static boolean applyProfilePatch(String studentID, Map<ProfileField, String> changes) {
         try {
-            // Update Database.txt with profile information
-            File dbFile = getDatabaseFile();
-            if (dbFile.exists()) {
-                java.util.List<String> lines = new java.util.ArrayList<>();
-                try (BufferedReader reader = new BufferedReader(new FileReader(dbFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty()) continue;
-                        String[] parts = line.split(",");
-                        if (parts.length > 0 && parts[0].equals(studentID)) {
-                            // Append profile data to the existing line
-                            line = line + "|" + profileData;
-                        }
-                        lines.add(line);
-                    }
-                }
-                
-                // Write back to file
-                try (BufferedWriter writer = new BufferedWriter(new FileWriter(dbFile))) {
-                    for (String line : lines) {
-                        writer.write(line);
-                        writer.newLine();
-                    }
+            String[] patched = {null};
+            update("applyProfilePatch", StorageTable.PROFILES, studentID, line -> {
+                if (patched[0] != null) {
+                    return null;
                 }
+                patched[0] = ProfileData.patchRow(line, changes);
+                return patched[0];
+            });
+            if (patched[0] != null) {
+                StudentSearchIndex.onProfileSaved(studentID, patched[0]);
+                return true;
             }
-            
-            return true;
         } catch (IOException e) {
             System.err.println("Error updating profile: " + e.getMessage());
             return false;
         }
+
+        // No row yet: start from the stored profile (migrating an old one) or the defaults
+        ProfileData profile = new ProfileData(getStudentProfile(studentID));
+        for (Map.Entry<ProfileField, String> change : changes.entrySet()) {
+            profile.set(change.getKey(), change.getValue());
+        }
+        return updateStudentProfile(studentID, profile);
     }
-    
+
     /**
-     * Updates a student's password in both Database.txt and UserPasswordID.txt
-     * @param studentID The student ID to update
-     * @param newPassword The new password
-     * @return true if successful, false otherwise
+     * Replaces the student's profile row, or adds it if the student has none.
+     * Extra rows for the same student are removed (the first row is the one read).
      */
-    public static boolean updateStudentPassword(String studentID, String newPassword) {
+    private static boolean saveProfileRow(String studentID, String row) {
         try {
-            // Update Database.txt
-            File dbFile = getDatabaseFile();
-            if (dbFile.exists()) {
-                java.util.List<String> lines = new java.util.ArrayList<>();
-                try (BufferedReader reader = new BufferedReader(new FileReader(dbFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty()) continue;
-                        String[] parts = line.split(",");
-                        if (parts.length > 0 && parts[0].equals(studentID)) {
-                            // Update the password (last field)
-                            parts[parts.length - 1] = newPassword;
-                            line = String.join(",", parts);
-                        }
-                        lines.add(line);
-                    }
-                }
-                
-                // Write back to file
-                try (BufferedWriter writer = new BufferedWriter(new FileWriter(dbFile))) {
-                    for (String line : lines) {
-                        writer.write(line);
-                        writer.newLine();
-                    }
-                }
-            }
-            
-            // Update UserPasswordID.txt
-            File credsFile = getUserPasswordFile();
-            if (credsFile.exists()) {
-                java.util.List<String> lines = new java.util.ArrayList<>();
-                try (BufferedReader reader = new BufferedReader(new FileReader(credsFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty()) continue;
-                        if (line.contains("ID: " + studentID)) {
-                            line = "ID: " + studentID + " | Password: " + newPassword;
-                        }
-                        lines.add(line);
-                    }
-                }
-                
-                // Write back to file
-                try (BufferedWriter writer = new BufferedWriter(new FileWriter(credsFile))) {
-                    for (String line : lines) {
-                        writer.write(line);
-                        writer.newLine();
-                    }
+            boolean[] replaced = {false};
+            update("updateStudentProfile", StorageTable.PROFILES, studentID, line -> {
+                if (replaced[0]) {
+                    return null;
                 }
+                replaced[0] = true;
+                return row;
+            });
+            if (!replaced[0]) {
+                append("updateStudentProfile", StorageTable.PROFILES, row);
             }
-            
+            StudentSearchIndex.onProfileSaved(studentID, row);
             return true;
         } catch (IOException e) {
-            System.err.println("Error updating password: " + e.getMessage());
+            System.err.println("Error updating profile: " + e.getMessage());
             return false;
         }
     }
+    
+    /**
+     * Updates a student's password in the credential store (one row, hashed)
+     * @param studentID The student ID to update
+     * @param newPassword The new password
+     * @return true if successful, false otherwise
+     */
+    public static boolean updateStudentPassword(String studentID, String newPassword) {
+        return CredentialStore.getInstance().setPassword(studentID, newPassword);
+    }
+
+    /**
+     * Updates a student's password on the credential verifier pool, off the calling thread
+     * @param studentID The student ID to update
+     * @param newPassword The new password
+     * @return Future completing with true if successful; completes exceptionally if the pool is saturated
+     */
+    public static java.util.concurrent.CompletableFuture<Boolean> updateStudentPasswordAsync(String studentID,
+            String newPassword) {
+        return CredentialStore.getInstance().setPasswordAsync(studentID, newPassword);
+    }
 
     /**
      * Loads attendance records for a specific student
@@ -492,21 +599,10 @@ public class DataManager {
         List<AttendanceRecord> records = new ArrayList<>();
         
         try {
-            File attendanceFile = getAttendanceRecordsFile();
-            if (attendanceFile.exists()) {
-                try (BufferedReader reader = new BufferedReader(new FileReader(attendanceFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        // Skip empty lines and header lines
-                        if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                            continue;
-                        }
-                        
-                        AttendanceRecord record = AttendanceRecord.fromCsvFormat(line);
-                        if (record != null && studentID.equals(record.getStudentID())) {
-                            records.add(record);
-                        }
-                    }
+            for (String line : scan("loadAttendanceRecords", StorageTable.ATTENDANCE, studentID)) {
+                AttendanceRecord record = AttendanceRecord.fromCsvFormat(line);
+                if (record != null && studentID.equals(record.getStudentID())) {
+                    records.add(record);
                 }
             }
         } catch (Exception e) {
@@ -570,10 +666,9 @@ public class DataManager {
         // TODO: This function will be implemented when faculty portal code is ready
         // Faculty will mark attendance in real-time during class
         // This will immediately update the student's attendance view
-        System.out.println("PLACEHOLDER: Faculty attendance marking system");
-        System.out.println("Will integrate with faculty portal for real-time attendance updates");
-        System.out.println("Parameters: " + studentID + ", " + subjectCode + ", " + 
-                          subjectName + ", " + date + ", " + status + ", " + remarks);
+        PortalLog.log(PortalLog.Level.INFO, "attendance.update.notImplemented", "studentID", studentID,
+                "subjectCode", subjectCode, "subjectName", subjectName, "date", date, "status", status,
+                "remarks", remarks);
         return false;
     }
     
@@ -592,38 +687,17 @@ public class DataManager {
             java.time.LocalDate date, String reason) {
         try {
             // Update the attendance record with student's reason
-            File attendanceFile = getAttendanceRecordsFile();
-            if (attendanceFile.exists()) {
-                java.util.List<String> lines = new java.util.ArrayList<>();
-                try (BufferedReader reader = new BufferedReader(new FileReader(attendanceFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                            lines.add(line);
-                            continue;
-                        }
-                        
-                        AttendanceRecord record = AttendanceRecord.fromCsvFormat(line);
-                        if (record != null && 
-                            studentID.equals(record.getStudentID()) && 
-                            subjectCode.equals(record.getSubjectCode()) && 
-                            date.equals(record.getDate())) {
-                            // Update the record with student's reason
-                            record.setRemarks(reason);
-                            lines.add(record.toCsvFormat());
-                        } else {
-                            lines.add(line);
-                        }
+            if (storage.exists(StorageTable.ATTENDANCE)) {
+                update("submitAttendanceReason", StorageTable.ATTENDANCE, studentID, line -> {
+                    AttendanceRecord record = AttendanceRecord.fromCsvFormat(line);
+                    if (record != null && 
+                        subjectCode.equals(record.getSubjectCode()) && 
+                        date.equals(record.getDate())) {
+                        record.setRemarks(reason);
+                        return record.toCsvFormat();
                     }
-                }
-                
-                // Write back to file
-                try (BufferedWriter writer = new BufferedWriter(new FileWriter(attendanceFile))) {
-                    for (String line : lines) {
-                        writer.write(line);
-                        writer.newLine();
-                    }
-                }
+                    return line;
+                });
                 return true;
             }
         } catch (Exception e) {
@@ -644,21 +718,10 @@ public class DataManager {
         List<CourseSchedule> schedules = new ArrayList<>();
         
         try {
-            File scheduleFile = getCourseSchedulesFile();
-            if (scheduleFile.exists()) {
-                try (BufferedReader reader = new BufferedReader(new FileReader(scheduleFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        // Skip empty lines and header lines
-                        if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                            continue;
-                        }
-                        
-                        CourseSchedule schedule = CourseSchedule.fromCsvFormat(line);
-                        if (schedule != null && studentID.equals(schedule.getStudentID())) {
-                            schedules.add(schedule);
-                        }
-                    }
+            for (String line : scan("loadCourseSchedules", StorageTable.SCHEDULES, studentID)) {
+                CourseSchedule schedule = CourseSchedule.fromCsvFormat(line);
+                if (schedule != null && studentID.equals(schedule.getStudentID())) {
+                    schedules.add(schedule);
                 }
             }
         } catch (Exception e) {
@@ -677,7 +740,15 @@ public class DataManager {
      */
 
     public static String getCurrentSemester(String studentID) {
-        List<CourseSchedule> schedules = loadCourseSchedules(studentID);
+        return getCurrentSemester(loadCourseSchedules(studentID));
+    }
+
+    /**
+     * Gets the current semester from already loaded schedules
+     * @param schedules The student's course schedules
+     * @return Current semester string
+     */
+    public static String getCurrentSemester(List<CourseSchedule> schedules) {
         if (!schedules.isEmpty()) {
             return schedules.get(0).getSemester();
         }
@@ -696,21 +767,31 @@ public class DataManager {
         List<GradeRecord> records = new ArrayList<>();
         
         try {
-            File gradeFile = getGradeRecordsFile();
-            if (gradeFile.exists()) {
-                try (BufferedReader reader = new BufferedReader(new FileReader(gradeFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        // Skip empty lines and header lines
-                        if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                            continue;
-                        }
-                        
-                        GradeRecord record = GradeRecord.fromCsvFormat(line);
-                        if (record != null && studentID.equals(record.getStudentID())) {
-                            records.add(record);
-                        }
-                    }
+            for (String line : scan("loadGradeRecords", StorageTable.GRADES, studentID)) {
+                GradeRecord record = GradeRecord.fromCsvFormat(line);
+                if (record != null && studentID.equals(record.getStudentID())) {
+                    records.add(record);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error reading grade records: " + e.getMessage());
+        }
+        
+        return records;
+    }
+    
+    /**
+     * Loads every student's grade records with one scan of the grade table
+     * @return Grade records by student ID
+     */
+    public static Map<String, List<GradeRecord>> loadAllGradeRecords() {
+        Map<String, List<GradeRecord>> records = new HashMap<>();
+        
+        try {
+            for (String line : scan("loadAllGradeRecords", StorageTable.GRADES)) {
+                GradeRecord record = GradeRecord.fromCsvFormat(line);
+                if (record != null) {
+                    records.computeIfAbsent(record.getStudentID(), k -> new ArrayList<>()).add(record);
                 }
             }
         } catch (Exception e) {
@@ -727,9 +808,16 @@ public class DataManager {
      */
 
     public static List<GradeRecord> getCurrentSemesterGrades(String studentID) {
-        List<GradeRecord> allGrades = loadGradeRecords(studentID);
-        String currentSemester = getCurrentSemester(studentID);
-        
+        return getSemesterGrades(loadGradeRecords(studentID), getCurrentSemester(studentID));
+    }
+
+    /**
+     * Filters already loaded grade records to one semester
+     * @param allGrades The student's grade records
+     * @param currentSemester The semester to keep
+     * @return List of grade records for that semester
+     */
+    public static List<GradeRecord> getSemesterGrades(List<GradeRecord> allGrades, String currentSemester) {
         return allGrades.stream()
                 .filter(grade -> currentSemester.equals(grade.getSemester()))
                 .collect(java.util.stream.Collectors.toList());
@@ -746,32 +834,12 @@ public class DataManager {
 
     public static boolean updateGrade(String studentID, String subjectCode, String gradeType, Double grade) {
         // TODO: This function will be implemented when faculty account system is integrated
-        System.out.println("Faculty grade update function called - not yet implemented");
-        System.out.println("Parameters: " + studentID + ", " + subjectCode + ", " + gradeType + ", " + grade);
+        PortalLog.log(PortalLog.Level.INFO, "grade.update.notImplemented", "studentID", studentID,
+                "subjectCode", subjectCode, "gradeType", gradeType, "grade", grade);
         return false;
     }
 
 
-    /**
-     * Gets completed grade records for transcript
-     * @param studentID The student ID
-     * @return List of completed grade records grouped by semester
-     */
-
-    public static Map<String, List<GradeRecord>> getTranscriptRecords(String studentID) {
-        List<GradeRecord> allGrades = loadGradeRecords(studentID);
-        Map<String, List<GradeRecord>> transcriptMap = new LinkedHashMap<>();
-        
-        // Filter only completed courses and group by semester
-        for (GradeRecord grade : allGrades) {
-            if ("Completed".equals(grade.getStatus()) && grade.getFinalGrade() != null) {
-                transcriptMap.computeIfAbsent(grade.getSemester(), k -> new ArrayList<>()).add(grade);
-            }
-        }
-        
-        return transcriptMap;
-    }
-    
     /**
      * Gets student schedule for the current semester
      */
@@ -780,46 +848,32 @@ public class DataManager {
         List<CourseSchedule> schedules = new ArrayList<>();
         
         try {
-            File scheduleFile = getCourseSchedulesFile();
-            if (!scheduleFile.exists()) {
-                return schedules;
-            }
+            // Parse time strings to LocalTime
+            java.time.format.DateTimeFormatter timeFormatter = java.time.format.DateTimeFormatter.ofPattern("H:mm");
             
-            try (BufferedReader reader = new BufferedReader(new FileReader(scheduleFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                        continue;
-                    }
+            for (String line : scan("getStudentSchedule", StorageTable.SCHEDULES, studentID)) {
+                String[] parts = line.split(",");
+                if (parts.length >= 11) {
+                    java.time.LocalTime startTime = java.time.LocalTime.parse(parts[5].trim(), timeFormatter);
+                    java.time.LocalTime endTime = java.time.LocalTime.parse(parts[6].trim(), timeFormatter);
                     
-                    String[] parts = line.split(",");
-                    if (parts.length >= 11) {
-                        String storedStudentID = parts[0].trim();
-                        if (studentID.equals(storedStudentID)) {
-                            // Parse time strings to LocalTime
-                            java.time.format.DateTimeFormatter timeFormatter = java.time.format.DateTimeFormatter.ofPattern("H:mm");
-                            java.time.LocalTime startTime = java.time.LocalTime.parse(parts[5].trim(), timeFormatter);
-                            java.time.LocalTime endTime = java.time.LocalTime.parse(parts[6].trim(), timeFormatter);
-                            
-                            CourseSchedule schedule = new CourseSchedule(
-                                parts[0].trim(),  // studentID
-                                parts[1].trim(),  // classCode
-                                parts[2].trim(),  // courseNumber
-                                parts[3].trim(),  // courseDescription
-                                Integer.parseInt(parts[4].trim()),  // units
-                                startTime,        // startTime
-                                endTime,          // endTime
-                                parts[7].trim(),  // days
-                                parts[8].trim(),  // room
-                                parts[9].trim(),  // instructor
-                                parts[10].trim() // semester
-                            );
-                            schedules.add(schedule);
-                        }
-                    }
+                    CourseSchedule schedule = new CourseSchedule(
+                        parts[0].trim(),  // studentID
+                        parts[1].trim(),  // classCode
+                        parts[2].trim(),  // courseNumber
+                        parts[3].trim(),  // courseDescription
+                        Integer.parseInt(parts[4].trim()),  // units
+                        startTime,        // startTime
+                        endTime,          // endTime
+                        parts[7].trim(),  // days
+                        parts[8].trim(),  // room
+                        parts[9].trim(),  // instructor
+                        parts[10].trim() // semester
+                    );
+                    schedules.add(schedule);
                 }
             }
-        } catch (IOException | NumberFormatException e) {
+        } catch (IOException | NumberFormatException | java.time.format.DateTimeParseException e) {
             System.err.println("Error reading course schedules: " + e.getMessage());
         }
         
@@ -834,40 +888,26 @@ public class DataManager {
         List<AttendanceRecord> attendanceRecords = new ArrayList<>();
         
         try {
-            File attendanceFile = getAttendanceRecordsFile();
-            if (!attendanceFile.exists()) {
-                return attendanceRecords;
-            }
+            // Parse date string to LocalDate
+            java.time.format.DateTimeFormatter dateFormatter = java.time.format.DateTimeFormatter.ofPattern("M/d/yyyy");
             
-            try (BufferedReader reader = new BufferedReader(new FileReader(attendanceFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                        continue;
-                    }
+            for (String line : scan("getStudentAttendance", StorageTable.ATTENDANCE, studentID)) {
+                String[] parts = line.split(",");
+                if (parts.length >= 6) {
+                    java.time.LocalDate date = java.time.LocalDate.parse(parts[3].trim(), dateFormatter);
                     
-                    String[] parts = line.split(",");
-                    if (parts.length >= 6) {
-                        String storedStudentID = parts[0].trim();
-                        if (studentID.equals(storedStudentID)) {
-                            // Parse date string to LocalDate
-                            java.time.format.DateTimeFormatter dateFormatter = java.time.format.DateTimeFormatter.ofPattern("M/d/yyyy");
-                            java.time.LocalDate date = java.time.LocalDate.parse(parts[3].trim(), dateFormatter);
-                            
-                            AttendanceRecord record = new AttendanceRecord(
-                                parts[0].trim(),  // studentID
-                                parts[1].trim(),  // subjectCode
-                                parts[2].trim(),  // subjectName
-                                date,             // date
-                                parts[4].trim(),  // status
-                                parts.length > 5 ? parts[5].trim() : ""  // remarks
-                            );
-                            attendanceRecords.add(record);
-                        }
-                    }
+                    AttendanceRecord record = new AttendanceRecord(
+                        parts[0].trim(),  // studentID
+                        parts[1].trim(),  // subjectCode
+                        parts[2].trim(),  // subjectName
+                        date,             // date
+                        parts[4].trim(),  // status
+                        parts.length > 5 ? parts[5].trim() : ""  // remarks
+                    );
+                    attendanceRecords.add(record);
                 }
             }
-        } catch (IOException e) {
+        } catch (IOException | java.time.format.DateTimeParseException e) {
             System.err.println("Error reading attendance records: " + e.getMessage());
         }
         
@@ -882,36 +922,10 @@ public class DataManager {
         List<PaymentTransaction> transactions = new ArrayList<>();
         
         try {
-            File paymentFile = getPaymentLogsFile();
-            if (!paymentFile.exists()) {
-                return transactions;
-            }
-            
-            try (BufferedReader reader = new BufferedReader(new FileReader(paymentFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")) {
-                        continue;
-                    }
-                    
-                    String[] parts = line.split(",");
-                    if (parts.length >= 5) {
-                        String storedStudentID = parts[4].trim();
-                        if (studentID.equals(storedStudentID)) {
-                            // Parse amount (remove P and commas)
-                            String amountStr = parts[3].trim().replaceAll("[P, ]", "");
-                            double amount = Double.parseDouble(amountStr);
-                            
-                            PaymentTransaction transaction = new PaymentTransaction(
-                                parts[0].trim(),  // date
-                                parts[1].trim(),  // paymentChannel
-                                parts[2].trim(),  // reference
-                                amount,           // amount
-                                parts[4].trim()   // studentID
-                            );
-                            transactions.add(transaction);
-                        }
-                    }
+            for (String line : scan("getPaymentTransactions", StorageTable.PAYMENTS, studentID)) {
+                PaymentTransaction transaction = parsePaymentRow(line);
+                if (transaction != null) {
+                    transactions.add(transaction);
                 }
             }
         } catch (IOException | NumberFormatException e) {
@@ -926,8 +940,15 @@ public class DataManager {
      */
 
     public static AttendanceSummary getAttendanceSummaryForStudent(String studentID) {
-        List<AttendanceRecord> records = getStudentAttendance(studentID);
-        
+        return summarizeAttendance(getStudentAttendance(studentID));
+    }
+
+    /**
+     * Builds the overall attendance summary from already loaded records
+     * @param records The student's attendance records
+     * @return Summary with present/absent/late counts
+     */
+    public static AttendanceSummary summarizeAttendance(List<AttendanceRecord> records) {
         int presentCount = 0;
         int absentCount = 0;
         int lateCount = 0;
@@ -957,6 +978,54 @@ public class DataManager {
         return summary;
     }
 
+    /**
+     * Parses a Database.txt row into a StudentInfo
+     * @param line The raw row (profile data after | is ignored)
+     * @return StudentInfo, or null if the row is malformed
+     */
+    private static StudentInfo parseStudentRow(String line) {
+        // Handle lines with profile data (containing | separator)
+        String[] mainParts = line.split("\\|");
+        String basicInfo = mainParts[0]; // Everything before the |
+        
+        String[] parts = basicInfo.split(",");
+        if (parts.length < 6) {
+            return null;
+        }
+        return new StudentInfo(
+            parts[0].trim(), // ID
+            parts[1].trim(), // Last Name
+            parts[2].trim(), // First Name
+            parts[3].trim(), // Middle Name
+            parts[4].trim(), // Date of Birth
+            parts[5].trim()  // Password
+        );
+    }
 
-}
+    /**
+     * Parses a paymentLogs.txt row into a PaymentTransaction.
+     * The amount is written with thousands separators (e.g. "P 2,237.08"), so it is
+     * everything between the reference and the trailing student ID.
+     * @param line The raw row
+     * @return PaymentTransaction, or null if the row is malformed
+     */
+    static PaymentTransaction parsePaymentRow(String line) {
+        String[] parts = line.split(",");
+        if (parts.length < 5) {
+            return null;
+        }
+        
+        // Parse amount (remove P and commas)
+        String amountStr = String.join("", Arrays.copyOfRange(parts, 3, parts.length - 1)).replaceAll("[P, ]", "");
+        double amount = Double.parseDouble(amountStr);
+        
+        return new PaymentTransaction(
+            parts[0].trim(),               // date
+            parts[1].trim(),               // paymentChannel
+            parts[2].trim(),               // reference
+            amount,                        // amount
+            parts[parts.length - 1].trim() // studentID
+        );
+    }
 
+}
@@ -0,0 +1,197 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Exports Statement of Accounts and Transcript of Records documents as PDF.
+ * Rows are streamed to a PdfWriter as they are produced, and transcripts for
+ * a whole class can be rendered in parallel across cores.
+ *
+ *   java DocumentExporter transcripts <outputDir> [studentIdFile]
+ *       Renders a transcript for every student listed in studentIdFile
+ *       (one ID per line), or for every student in the database.
+ */
+public class DocumentExporter {
+
+    private static final String FOOTER = "Saint Louis University - iSLU Student Portal";
+    private static final float[] STATEMENT_COLUMNS = {PdfWriter.MARGIN, 165, 460};
+    private static final float[] TRANSCRIPT_COLUMNS = {PdfWriter.MARGIN, 130, 430, 490};
+
+    /**
+     * Gets the default folder documents are saved to
+     * @return The user's Downloads folder (created if missing)
+     */
+    public static File getDownloadsFolder() {
+        File downloads = new File(System.getProperty("user.home"), "Downloads");
+        if (!downloads.exists()) {
+            downloads.mkdirs();
+        }
+        return downloads;
+    }
+
+    /**
+     * Writes a Statement of Accounts with the same breakdown the portal shows
+     * @param studentID The student ID
+     * @param studentName The student's display name
+     * @param semester The semester label
+     * @param balance The student's balance (see BalanceEngine)
+     * @param file Destination PDF
+     * @throws IOException if the file cannot be written
+     */
+    public static void exportStatement(String studentID, String studentName, String semester,
+            AccountBalance balance, File file) throws IOException {
+        java.text.SimpleDateFormat dateFormat = new java.text.SimpleDateFormat("MMMM dd, yyyy");
+        String currentDate = dateFormat.format(new java.util.Date());
+
+        try (PdfWriter pdf = new PdfWriter(new FileOutputStream(file), FOOTER)) {
+            pdf.heading("STATEMENT OF ACCOUNTS", 16);
+            pdf.text(studentID + " - " + studentName);
+            pdf.text(semester);
+            pdf.space(8);
+            pdf.heading("Breakdown of fees as of " + currentDate, 12);
+            pdf.rule();
+            pdf.row(new String[]{"Date", "Description", "Amount"}, STATEMENT_COLUMNS, true);
+            pdf.rule();
+
+            for (FeeSchedule.Fee fee : balance.getFees()) {
+                pdf.row(new String[]{fee.getSemester(), fee.getDescription(), String.format("P %,.2f", fee.getAmount())},
+                        STATEMENT_COLUMNS, false);
+            }
+            pdf.row(new String[]{"", "TOTAL ASSESSMENT", String.format("P %,.2f", balance.getAssessed())},
+                    STATEMENT_COLUMNS, true);
+            for (PaymentTransaction transaction : DataManager.loadPaymentTransactions(studentID)) {
+                pdf.row(new String[]{
+                    transaction.getDate(),
+                    transaction.getChannel() + " - " + PaymentLedger.descriptionOf(transaction.getReference()),
+                    String.format("(%,.2f)", transaction.getAmount())
+                }, STATEMENT_COLUMNS, false);
+            }
+
+            pdf.rule();
+            if (balance.getAmountDue() > 0) {
+                pdf.row(new String[]{"", "CURRENT BALANCE DUE", String.format("P %,.2f", balance.getAmountDue())},
+                        STATEMENT_COLUMNS, true);
+            } else {
+                pdf.row(new String[]{"", "OVERPAYMENT BALANCE", String.format("P (%,.2f)", balance.getOverpayment())},
+                        STATEMENT_COLUMNS, true);
+            }
+        }
+    }
+
+    /**
+     * Writes a Transcript of Records from the student's completed grade records
+     * @param studentID The student ID
+     * @param file Destination PDF
+     * @throws IOException if the file cannot be written
+     */
+    public static void exportTranscript(String studentID, File file) throws IOException {
+        StudentInfo student = DataManager.getStudentInfo(studentID);
+        String studentName = student != null ? student.getFullName() : "";
+
+        try (PdfWriter pdf = new PdfWriter(new FileOutputStream(file), FOOTER)) {
+            pdf.heading("TRANSCRIPT OF RECORDS", 16);
+            pdf.text(studentID + " - " + studentName);
+            pdf.space(8);
+
+            Transcript transcript = TranscriptBuilder.getInstance().getTranscript(studentID);
+            if (transcript.isEmpty()) {
+                pdf.text("No completed courses found");
+                return;
+            }
+
+            for (Transcript.Term term : transcript.getTerms()) {
+                pdf.heading(term.getName(), 11);
+                pdf.rule();
+                pdf.row(new String[]{"Course Code", "Descriptive Title", "Grade", "Units"}, TRANSCRIPT_COLUMNS, true);
+                for (Transcript.Line line : term.getLines()) {
+                    pdf.row(new String[]{
+                        line.getSubjectCode(),
+                        line.getSubjectName(),
+                        String.format("%.2f", line.getFinalGrade()),
+                        Transcript.formatUnits(line.getUnits())
+                    }, TRANSCRIPT_COLUMNS, false);
+                }
+                pdf.row(new String[]{"", "Weighted Average / Units Earned",
+                    Transcript.formatAverage(term.getWeightedAverage()), Transcript.formatUnits(term.getEarnedUnits())
+                }, TRANSCRIPT_COLUMNS, true);
+                pdf.space(8);
+            }
+            pdf.rule();
+            pdf.row(new String[]{"", "CUMULATIVE Weighted Average / Units Earned",
+                Transcript.formatAverage(transcript.getWeightedAverage()),
+                Transcript.formatUnits(transcript.getEarnedUnits())
+            }, TRANSCRIPT_COLUMNS, true);
+        }
+    }
+
+    /**
+     * Renders transcripts for many students in parallel, one file per student
+     * @param studentIDs The students to export
+     * @param outputDir Folder to write TOR_<id>.pdf files into
+     * @return Number of transcripts written
+     */
+    public static int exportTranscripts(List<String> studentIDs, File outputDir) {
+        outputDir.mkdirs();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (String studentID : studentIDs) {
+                results.add(pool.submit(() -> {
+                    try {
+                        exportTranscript(studentID, new File(outputDir, "TOR_" + studentID + ".pdf"));
+                        return true;
+                    } catch (IOException e) {
+                        System.err.println("Error exporting transcript for " + studentID + ": " + e.getMessage());
+                        return false;
+                    }
+                }));
+            }
+
+            int written = 0;
+            for (Future<Boolean> result : results) {
+                try {
+                    if (result.get()) {
+                        written++;
+                    }
+                } catch (ExecutionException e) {
+                    System.err.println("Error exporting transcript: " + e.getCause());
+                }
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !"transcripts".equals(args[0])) {
+            System.out.println("Usage: DocumentExporter transcripts <outputDir> [studentIdFile]");
+            return;
+        }
+
+        List<String> studentIDs = new ArrayList<>();
+        if (args.length > 2) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(args[2]))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        studentIDs.add(line.trim());
+                    }
+                }
+            }
+        } else {
+            for (StudentInfo student : DataManager.getAllStudents()) {
+                studentIDs.add(student.getId());
+            }
+        }
+
+        long start = System.nanoTime();
+        int written = exportTranscripts(studentIDs, new File(args[1]));
+        System.out.println(String.format("Exported %d of %d transcripts in %.2f s",
+                written, studentIDs.size(), (System.nanoTime() - start) / 1_000_000_000.0));
+    }
+}
@@ -0,0 +1,96 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fees assessed per semester, read from feeSchedule.txt (next to Database.txt),
+ * one fee per row:
+ *   Semester|Program or StudentID|Description|Amount
+ * A student is assessed every fee of their program plus the rows keyed by their
+ * own ID (e.g. a scholarship discount with a negative amount). Semesters are
+ * labelled the way course schedules and payment references name them (e.g.
+ * "FIRST SEMESTER 2025-2026").
+ *
+ * The assessment is cumulative: it spans every semester in the file, so the
+ * balance is a running account in which an unpaid amount or an overpayment
+ * carries over into the next semester. Each Fee keeps its semester for the
+ * statement's breakdown.
+ */
+public class FeeSchedule {
+
+    public static final String FEE_SCHEDULE_FILE = "feeSchedule.txt";
+
+    // Fees by program code or student ID, in file order
+    private final Map<String, List<Fee>> feesByKey;
+
+    private FeeSchedule(Map<String, List<Fee>> feesByKey) {
+        this.feesByKey = feesByKey;
+    }
+
+    /**
+     * Reads the fee schedule
+     * @param file The fee schedule file
+     * @return The schedule (empty if the file cannot be read)
+     */
+    public static FeeSchedule load(File file) {
+        Map<String, List<Fee>> feesByKey = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StorageTable.isHeaderLine(line)) {
+                    continue;
+                }
+                String[] parts = line.split("\\|", -1);
+                if (parts.length < 4) {
+                    continue;
+                }
+                try {
+                    feesByKey.computeIfAbsent(parts[1].trim(), key -> new ArrayList<>()).add(
+                            new Fee(parts[0].trim(), parts[2].trim(), Double.parseDouble(parts[3].trim())));
+                } catch (NumberFormatException e) {
+                    System.err.println("Error reading fee schedule row: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading fee schedule: " + e.getMessage());
+        }
+        return new FeeSchedule(feesByKey);
+    }
+
+    /**
+     * Gets the fees assessed to a student over all semesters
+     * @param studentID The student ID
+     * @param program The student's program code
+     * @return The program's fees followed by the student's own
+     */
+    public List<Fee> getAssessment(String studentID, String program) {
+        List<Fee> fees = new ArrayList<>(feesByKey.getOrDefault(program, Collections.emptyList()));
+        fees.addAll(feesByKey.getOrDefault(studentID, Collections.emptyList()));
+        return fees;
+    }
+
+    /**
+     * One assessed fee
+     */
+    public static class Fee {
+        private final String semester;
+        private final String description;
+        private final double amount;
+
+        public Fee(String semester, String description, double amount) {
+            this.semester = semester;
+            this.description = description;
+            this.amount = amount;
+        }
+
+        public String getSemester() { return semester; }
+        public String getDescription() { return description; }
+        public double getAmount() { return amount; }
+    }
+}
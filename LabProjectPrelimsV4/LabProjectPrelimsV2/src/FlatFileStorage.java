@@ -0,0 +1,193 @@
+import java.io.*;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage backend that keeps every table in its original text file
+ * (Database.txt, paymentLogs.txt, ...). Header lines are preserved on rewrite.
+ */
+public class FlatFileStorage implements StorageBackend {
+
+    private final File baseDirectory;
+
+    /**
+     * Creates a backend that resolves data files the same way DataManager always has
+     */
+    public FlatFileStorage() {
+        this(null);
+    }
+
+    /**
+     * Creates a backend rooted at a fixed directory
+     * @param baseDirectory Directory holding the data files, or null to resolve them
+     */
+    public FlatFileStorage(File baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    private File fileFor(StorageTable table) {
+        if (baseDirectory != null) {
+            return new File(baseDirectory, table.getFileName());
+        }
+        File file = DataManager.resolveFile(table.getFileName());
+        if (!file.exists() && table != StorageTable.STUDENTS) {
+            // Tables created after setup (e.g. studentProfiles.txt) go next to Database.txt
+            File students = DataManager.resolveFile(StorageTable.STUDENTS.getFileName());
+            if (students.exists()) {
+                return new File(students.getParentFile(), table.getFileName());
+            }
+        }
+        return file;
+    }
+
+    @Override
+    public String getName() {
+        return "text";
+    }
+
+    @Override
+    public boolean exists(StorageTable table) {
+        return fileFor(table).exists();
+    }
+
+    @Override
+    public List<String> scan(StorageTable table) throws IOException {
+        return read(table, null);
+    }
+
+    @Override
+    public List<String> scan(StorageTable table, String studentID) throws IOException {
+        return read(table, studentID);
+    }
+
+    /**
+     * Reads the rows of a table, or only a student's when studentID is not null
+     */
+    private List<String> read(StorageTable table, String studentID) throws IOException {
+        List<String> rows = new ArrayList<>();
+        File file = fileFor(table);
+        if (!file.exists()) {
+            return rows;
+        }
+
+        long linesRead = 0;
+        long bytesRead = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                linesRead++;
+                bytesRead += line.length() + 1; // The data files are ASCII; +1 for the line break
+                // Skip empty lines and header lines
+                if (StorageTable.isHeaderLine(line)) {
+                    continue;
+                }
+                if (studentID == null || studentID.equals(table.studentIdOf(line))) {
+                    rows.add(line);
+                }
+            }
+        } finally {
+            MetricsRegistry.recordScan(linesRead, bytesRead);
+        }
+        return rows;
+    }
+
+    @Override
+    public synchronized void append(StorageTable table, String row) throws IOException {
+        appendAll(table, Collections.singletonList(row));
+    }
+
+    @Override
+    public synchronized void appendAll(StorageTable table, List<String> rows) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileFor(table), true))) {
+            for (String row : rows) {
+                writer.write(row);
+                writer.newLine();
+            }
+            writer.flush(); // Ensure data is written immediately
+        }
+    }
+
+    /**
+     * Cuts off a last row that was only partly written (no line break at the end
+     * of the file), e.g. after a crash during an append
+     * @param table The table
+     * @return true if a torn row was removed
+     * @throws IOException if the file cannot be repaired
+     */
+    public synchronized boolean repairTornTail(StorageTable table) throws IOException {
+        File file = fileFor(table);
+        if (!file.exists() || file.length() == 0) {
+            return false;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long end = raf.length();
+            raf.seek(end - 1);
+            if (raf.read() == '\n') {
+                return false;
+            }
+            // Walk back to the end of the last complete row
+            long validLength = end - 1;
+            while (validLength > 0) {
+                raf.seek(validLength - 1);
+                if (raf.read() == '\n') {
+                    break;
+                }
+                validLength--;
+            }
+            System.err.println(file.getName() + " had a torn last row; truncating to " + validLength + " bytes");
+            raf.setLength(validLength);
+            return true;
+        }
+    }
+
+    @Override
+    public synchronized int update(StorageTable table, String studentID, UnaryOperator<String> updater)
+            throws IOException {
+        File file = fileFor(table);
+        if (!file.exists()) {
+            return 0;
+        }
+
+        List<String> lines = new ArrayList<>();
+        int changed = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StorageTable.isHeaderLine(line) || !studentID.equals(table.studentIdOf(line))) {
+                    lines.add(line);
+                    continue;
+                }
+
+                String replacement = updater.apply(line);
+                if (replacement == null) {
+                    changed++;
+                    continue;
+                }
+                if (!replacement.equals(line)) {
+                    changed++;
+                }
+                lines.add(replacement);
+            }
+        }
+
+        if (changed == 0) {
+            return 0;
+        }
+
+        // Write the new contents next to the file, sync them, then swap them in so a
+        // crash leaves either the old or the new file rather than a half-written one
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out))) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+        java.nio.file.Files.move(temp.toPath(), file.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+        return changed;
+    }
+}
@@ -0,0 +1,201 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends lines to a file with group commit: callers queue lines and get a
+ * future back, and one writer thread writes whatever is queued in a single
+ * write and a single sync on a file channel that stays open. Under load many
+ * appends share one sync instead of each paying for its own open, write,
+ * sync and close.
+ *
+ * A batch is written once it holds maxBatch lines, or maxDelayMillis after its
+ * first line arrived, whichever comes first. The delay only applies while
+ * appends are arriving together (the last batch had more than one line), so a
+ * lone append is not held back; 0 never waits, and lines arriving during a
+ * write still go into the next batch together.
+ * A line's future completes after its batch is synced and the batch listener
+ * has run, or exceptionally if either failed.
+ */
+public class GroupCommitWriter implements AutoCloseable {
+
+    /**
+     * Called on the writer thread with each batch once it is synced to disk
+     */
+    public interface BatchListener {
+        void synced(List<String> lines) throws IOException;
+    }
+
+    private static final Pending STOP = new Pending(null);
+
+    private final FileChannel channel;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final BatchListener listener;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Size of the last batch, read by the writer thread only
+    private int lastBatchSize;
+
+    // Totals for reporting
+    private long batches;
+    private long lines;
+
+    /**
+     * Opens a writer appending to a file
+     * @param file The file (created if missing)
+     * @param maxBatch Most lines written in one batch
+     * @param maxDelayMillis Longest time a batch waits for more lines
+     * @param listener Runs after each batch is synced, or null
+     * @throws IOException if the file cannot be opened
+     */
+    public GroupCommitWriter(File file, int maxBatch, long maxDelayMillis, BatchListener listener)
+            throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxDelayMillis));
+        this.listener = listener;
+        this.writer = new Thread(this::run, "group-commit-" + file.getName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a line for the next batch
+     * @param line The line, without a line break
+     * @return Future completing once the line is on disk
+     */
+    public CompletableFuture<Void> append(String line) {
+        Pending pending = new Pending(line);
+        if (closed) {
+            pending.future.completeExceptionally(new IOException("Writer is closed"));
+            return pending.future;
+        }
+        queue.add(pending);
+        return pending.future;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                Pending first = queue.take();
+                if (first == STOP) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + (lastBatchSize > 1 ? maxDelayNanos : 0);
+                while (batch.size() < maxBatch) {
+                    Pending next = queue.poll();
+                    if (next == null) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                    }
+                    if (next == STOP) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+            if (!batch.isEmpty()) {
+                lastBatchSize = batch.size();
+                commit(batch);
+                batch.clear();
+            }
+        }
+        // Fail whatever was queued behind the stop
+        for (Pending pending; (pending = queue.poll()) != null; ) {
+            if (pending != STOP) {
+                pending.future.completeExceptionally(new IOException("Writer is closed"));
+            }
+        }
+    }
+
+    /**
+     * Writes and syncs one batch, then completes its futures
+     */
+    private void commit(List<Pending> batch) {
+        List<String> batchLines = new ArrayList<>(batch.size());
+        StringBuilder text = new StringBuilder();
+        for (Pending pending : batch) {
+            batchLines.add(pending.line);
+            text.append(pending.line).append('\n');
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            synchronized (this) {
+                batches++;
+                lines += batch.size();
+            }
+            if (listener != null) {
+                listener.synced(batchLines);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Pending pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+        for (Pending pending : batch) {
+            pending.future.complete(null);
+        }
+    }
+
+    /**
+     * Gets the average number of lines per synced batch
+     * @return Lines per batch (0 before the first batch)
+     */
+    public synchronized double getAverageBatchSize() {
+        return batches == 0 ? 0 : (double) lines / batches;
+    }
+
+    /**
+     * Writes what is already queued, then stops the writer and closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        queue.add(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private static class Pending {
+        final String line;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Pending(String line) {
+            this.line = line;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.DefaultTableModel;
-import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import javax.swing.Timer;
 import java.awt.event.MouseAdapter;
@@ -35,6 +34,9 @@ public class ISLUStudentPortal extends JFrame {
     private CardLayout mainCardLayout;
     private MyDoublyLinkedList<MenuItem> menu;
     private MenuItem currentMenuItem;
+    private final PortalSession session;
+    private PortalSidebar sidebarMenu;
+    private ProfilePatch profilePatch;
 
     // Student data
     private String studentID;
@@ -42,21 +44,31 @@ public class ISLUStudentPortal extends JFrame {
     private String semester = "FIRST SEMESTER, 2025-2026";
     private String status = "CURRENTLY ENROLLED THIS FIRST SEMESTER, 2025-2026 IN BSIT 2.";
     
-    // Financial data
-    private double currentBalance;
-    private double amountDue;
+    // Financial data (see BalanceEngine)
+    private AccountBalance balance;
 
     public ISLUStudentPortal(String studentID) {
-        this.studentID = studentID;
-        this.studentName = getStudentNameFromDatabase(studentID);
+        this(PortalUtils.createPortalSession(studentID));
+    }
+
+    /**
+     * Opens the portal from an already loaded session (see PortalPreloader)
+     * @param session The student's preloaded session
+     */
+    public ISLUStudentPortal(PortalSession session) {
+        this.session = session;
+        this.studentID = session.getStudentID();
+        this.studentName = getStudentName(session.getStudentInfo());
+        this.profilePatch = new ProfilePatch(studentID);
         
         // Initialize financial data
-        this.amountDue = generateRandomAmountDue();
-        this.currentBalance = generateRandom5DigitAmount();
+        this.balance = BalanceEngine.getInstance().getBalance(studentID);
         
         // Initialize UI components and layout
         initializeComponents();
+        StartupProfiler.mark("portal header and sidebar");
         setupMainLayout();
+        StartupProfiler.mark("portal content panels");
         
         // Load initial data
         loadAnnouncements();
@@ -64,112 +76,65 @@ public class ISLUStudentPortal extends JFrame {
         
         // Set default view to Home
         showHomeContent();
+        StartupProfiler.mark("portal constructed");
     }
 
-    /**
-     * Generates a random amount between 0.00 to 24000.00
-     */
-    private double generateRandom5DigitAmount() {
-        // Generate random amount between 0.00 and 24000.00
-        return Math.random() * 24000.0;
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        StartupProfiler.portalPainted();
     }
 
     /**
-     * Generates a random amount due between 0.00 to 7000.00
+     * Generates transcript data from backend records: each term's courses with
+     * their catalog units, the term's weighted average and units, and the
+     * cumulative totals at the end
      */
-    private double generateRandomAmountDue() {
-        // Generate random amount between 0.00 and 7000.00
-        return Math.random() * 7000.0;
+    private Object[][] generateTranscriptDataFromBackend() {
+        java.util.List<Object[]> data = new java.util.ArrayList<>();
+        for (Object entry : layoutTranscript(session.getTranscript())) {
+            data.add(formatTranscriptEntry(entry));
+        }
+        return data.toArray(new Object[data.size()][4]);
     }
 
     /**
-     * Generates random grade between 76-99
+     * Lays out a transcript as table entries: a term name for each semester
+     * header, its Lines, the Term itself for its summary row, null for a spacer
+     * row, and the Transcript for the cumulative row
      */
-    private int generateRandomGrade() {
-        return 76 + (int) (Math.random() * 24); // 76 to 99
+    private static java.util.List<Object> layoutTranscript(Transcript transcript) {
+        java.util.List<Object> entries = new java.util.ArrayList<>();
+        if (transcript.isEmpty()) {
+            entries.add("No completed courses found");
+            return entries;
+        }
+        for (Transcript.Term term : transcript.getTerms()) {
+            entries.add(term.getName());             // Semester header
+            entries.addAll(term.getLines());         // Courses for this semester
+            entries.add(term);                       // Term average and units
+            entries.add(null);                       // Empty row for spacing
+        }
+        entries.add(transcript);
+        return entries;
     }
 
-    /**
-     * Generates transcript data with all semesters and random grades
-     */
-    private Object[][] generateTranscriptData() {
-        java.util.List<Object[]> data = new java.util.ArrayList<>();
-        
-        // FIRST SEMESTER, 2024-2025
-        data.add(new Object[]{"FIRST SEMESTER, 2024-2025", "", "", ""});
-        data.add(new Object[]{"CFE 101", "GOD'S JOURNEY WITH HIS PEOPLE", generateRandomGrade(), 3});
-        data.add(new Object[]{"FIT HW", "PHYSICAL ACTIVITY TOWARDS HEALTH AND FITNESS (HEALTH AND WELLNESS)", generateRandomGrade(), 2});
-        data.add(new Object[]{"GART", "ART APPRECIATION", generateRandomGrade(), 3});
-        data.add(new Object[]{"GHIST", "READINGS IN PHILIPPINE HISTORY", generateRandomGrade(), 3});
-        data.add(new Object[]{"GSELF", "UNDERSTANDING THE SELF", generateRandomGrade(), 3});
-        data.add(new Object[]{"IT 111", "INTRODUCTION TO COMPUTING (LEC)", generateRandomGrade(), 2});
-        data.add(new Object[]{"IT 111L", "INTRODUCTION TO COMPUTING (LAB)", generateRandomGrade(), 1});
-        data.add(new Object[]{"IT 112", "COMPUTER PROGRAMMING 1 (LEC)", generateRandomGrade(), 2});
-        data.add(new Object[]{"IT 112L", "COMPUTER PROGRAMMING 1 (LAB)", generateRandomGrade(), 1});
-        data.add(new Object[]{"IT 113", "DISCRETE MATHEMATICS", generateRandomGrade(), 3});
-        
-        // SECOND SEMESTER, 2024-2025
-        data.add(new Object[]{"SECOND SEMESTER, 2024-2025", "", "", ""});
-        data.add(new Object[]{"CFE 102", "CHRISTIAN MORALITY IN OUR TIMES", generateRandomGrade(), 3});
-        data.add(new Object[]{"FIT CS", "PHYSICAL ACTIVITY TOWARDS HEALTH AND FITNESS (COMBATIVE SPORTS)", generateRandomGrade(), 2});
-        data.add(new Object[]{"GCWORLD", "THE CONTEMPORARY WORLD", generateRandomGrade(), 3});
-        data.add(new Object[]{"GMATH", "MATHEMATICS IN THE MODERN WORLD", generateRandomGrade(), 3});
-        data.add(new Object[]{"GPCOM", "PURPOSIVE COMMUNICATION", generateRandomGrade(), 3});
-        data.add(new Object[]{"IT 121", "INFORMATION SYSTEM FUNDAMENTALS", generateRandomGrade(), 3});
-        data.add(new Object[]{"IT 122", "COMPUTER PROGRAMMING 2", generateRandomGrade(), 2});
-        data.add(new Object[]{"IT 122L", "COMPUTER PROGRAMMING 2 (LAB)", generateRandomGrade(), 1});
-        data.add(new Object[]{"IT 123", "PLATFORM TECHNOLOGIES", generateRandomGrade(), 2});
-        data.add(new Object[]{"IT 123L", "PLATFORM TECHNOLOGIES (LAB)", generateRandomGrade(), 1});
-        
-        // SHORT TERM, 2025
-        data.add(new Object[]{"SHORT TERM, 2025", "", "", ""});
-        data.add(new Object[]{"GRIZAL", "THE LIFE AND WORKS OF RIZAL", generateRandomGrade(), 3});
-        data.add(new Object[]{"IT 131", "COMPUTER ARCHITECTURE", generateRandomGrade(), 2});
-        data.add(new Object[]{"IT 131L", "COMPUTER ARCHITECTURE (LAB)", generateRandomGrade(), 1});
-        
-        return data.toArray(new Object[data.size()][4]);
-    }
-    
-    /**
-     * Generates transcript data from backend records
-     */
-    private Object[][] generateTranscriptDataFromBackend() {
-        java.util.List<Object[]> data = new java.util.ArrayList<>();
-        
-        // Load completed grade records grouped by semester
-        Map<String, List<GradeRecord>> transcriptRecords = DataManager.getTranscriptRecords(studentID);
-        
-        if (transcriptRecords.isEmpty()) {
-            data.add(new Object[]{"No completed courses found", "", "", ""});
-            return data.toArray(new Object[data.size()][4]);
+    private static Object[] formatTranscriptEntry(Object entry) {
+        if (entry instanceof Transcript.Line) {
+            return ((Transcript.Line) entry).toTableRow();
         }
-        
-        // Add data for each semester
-        for (Map.Entry<String, List<GradeRecord>> entry : transcriptRecords.entrySet()) {
-            String semester = entry.getKey();
-            List<GradeRecord> grades = entry.getValue();
-            
-            // Add semester header
-            data.add(new Object[]{semester, "", "", ""});
-            
-            // Add courses for this semester
-            for (GradeRecord grade : grades) {
-                // Default units if not found in course schedule
-                String units = "3";
-                
-                data.add(new Object[]{
-                    grade.getSubjectCode(),
-                    grade.getSubjectName(),
-                    String.format("%.2f", grade.getFinalGrade()),
-                    units
-                });
-            }
-            
-            // Add empty row for spacing
-            data.add(new Object[]{"", "", "", ""});
+        if (entry instanceof Transcript.Term) {
+            Transcript.Term term = (Transcript.Term) entry;
+            return new Object[]{"", "Weighted Average / Units Earned",
+                Transcript.formatAverage(term.getWeightedAverage()), Transcript.formatUnits(term.getEarnedUnits())};
         }
-        
-        return data.toArray(new Object[data.size()][4]);
+        if (entry instanceof Transcript) {
+            Transcript transcript = (Transcript) entry;
+            return new Object[]{"", "CUMULATIVE Weighted Average / Units Earned",
+                Transcript.formatAverage(transcript.getWeightedAverage()),
+                Transcript.formatUnits(transcript.getEarnedUnits())};
+        }
+        return new Object[]{entry != null ? entry : "", "", "", ""};
     }
 
     private void initializeComponents() {
@@ -224,13 +189,9 @@ public class ISLUStudentPortal extends JFrame {
         // Load InsideLogo.png image
         JLabel logoLabel = new JLabel();
         try {
-            java.net.URL logoUrl = getClass().getResource("/photos/InsideLogo.png");
-            if (logoUrl != null) {
-                ImageIcon originalIcon = new ImageIcon(logoUrl);
-                Image originalImage = originalIcon.getImage();
-                // Scale the image to appropriate size (height of about 40px to fit in header)
-                Image scaledImage = originalImage.getScaledInstance(-1, 40, Image.SCALE_SMOOTH);
-                ImageIcon scaledIcon = new ImageIcon(scaledImage);
+            // Scaled to a height of about 40px to fit in the header
+            ImageIcon scaledIcon = ImageCache.getInstance().getIcon(ImageCache.HEADER_LOGO, -1, 40);
+            if (scaledIcon != null) {
                 logoLabel.setIcon(scaledIcon);
             } else {
                 // Fallback to text if image not found
@@ -330,106 +291,20 @@ public class ISLUStudentPortal extends JFrame {
         frame.setLocationRelativeTo(null);
 
 
-        menu = PortalUtils.createIntegratedMenuSystem();
-        JPanel mainSideButtonPanel = new JPanel();
-        mainSideButtonPanel.setBackground(new Color(13, 37, 73));
-        mainSideButtonPanel.setLayout(new GridLayout(0, 1, 0, 0));
-        mainSideButtonPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
+        menu = session.getMenu();
 
         mainCardLayout = new CardLayout();
         mainCardHolder = new JPanel(mainCardLayout);
 
-        for (MenuItem option : menu) {
-            JPanel buttonPanel = getButtonPanel(option);
-            mainSideButtonPanel.add(buttonPanel);
-
-
-            buttonPanel.addMouseListener(new MouseAdapter() {
-                @Override
-                public void mouseClicked(MouseEvent e) {
-                    // Show the corresponding panel using card layout
-                    mainCardLayout.show(mainCardHolder, option.getName());
-                    currentMenuItem = option;
-                    
-                    // Update button appearance to show selection
-                    updateSidebarButtonSelection(buttonPanel);
-                }
-                
-                @Override
-                public void mouseEntered(MouseEvent e) {
-                    buttonPanel.setBackground(new Color(25, 55, 95)); // Lighter blue on hover
-                    buttonPanel.repaint();
-                }
-                
-                @Override
-                public void mouseExited(MouseEvent e) {
-                    if (currentMenuItem == null || !currentMenuItem.getName().equals(option.getName())) {
-                        buttonPanel.setBackground(new Color(13, 37, 73)); // Original color
-                        buttonPanel.repaint();
-                    }
-                }
-            });
-        }
-        sidebar.add(mainSideButtonPanel, BorderLayout.WEST);
+        sidebarMenu = new PortalSidebar(session, option -> {
+            // Show the corresponding panel using card layout
+            mainCardLayout.show(mainCardHolder, option.getName());
+            currentMenuItem = option;
+        });
+        sidebar.add(sidebarMenu, BorderLayout.WEST);
 
         return sidebar;
     }
-    
-    /**
-     * Updates sidebar button selection appearance
-     */
-    private void updateSidebarButtonSelection(JPanel selectedButton) {
-        // Reset all buttons to default color
-        Component[] components = sidebarPanel.getComponents();
-        for (Component comp : components) {
-            if (comp instanceof JPanel) {
-                JPanel panel = (JPanel) comp;
-                if (panel.getLayout() instanceof GridLayout) {
-                    Component[] buttons = panel.getComponents();
-                    for (Component button : buttons) {
-                        if (button instanceof JPanel) {
-                            button.setBackground(new Color(13, 37, 73));
-                            button.repaint();
-                        }
-                    }
-                }
-            }
-        }
-        
-        // Highlight selected button
-        selectedButton.setBackground(new Color(70, 130, 180));
-        selectedButton.repaint();
-    }
-
-    private static JPanel getButtonPanel(MenuItem text) {
-        JPanel buttonPanel = new JPanel();
-        buttonPanel.setLayout(new BorderLayout()); // Use BorderLayout to align the label
-
-        // Set the panel's background color
-        buttonPanel.setBackground(new Color(13, 37, 73));
-        buttonPanel.setOpaque(true);
-
-        // Create the top/bottom border
-        Border topBottomBorder = BorderFactory.createMatteBorder(1, 0, 1, 0, Color.black);
-
-        // Create the padding border (this goes inside the top/bottom border)
-        Border padding = new EmptyBorder(10, 10, 10, 10);
-
-        // Combine the borders
-        Border finalBorder = BorderFactory.createCompoundBorder(topBottomBorder, padding);
-        buttonPanel.setBorder(finalBorder);
-
-        // Create a JLabel for the text
-        JLabel buttonLabel = new JLabel(text.getName());
-        buttonLabel.setForeground(Color.WHITE);
-        buttonLabel.setHorizontalAlignment(SwingConstants.LEFT);
-        buttonLabel.setOpaque(false); // Make the label transparent
-
-        // Add the label to the panel. Use BorderLayout.WEST to align it to the left.
-        buttonPanel.add(buttonLabel, BorderLayout.WEST);
-
-        return buttonPanel;
-    }
 
     /**
      * Sets up the main layout with card system for different content views
@@ -548,7 +423,8 @@ public class ISLUStudentPortal extends JFrame {
         headerPanel.setBackground(Color.WHITE);
         headerPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
         
-        JLabel titleLabel = new JLabel("Current Grades - " + DataManager.getCurrentSemester(studentID));
+        String currentSemester = session.getCurrentSemester();
+        JLabel titleLabel = new JLabel("Current Grades - " + currentSemester);
         titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         headerPanel.add(titleLabel, BorderLayout.CENTER);
@@ -561,7 +437,7 @@ public class ISLUStudentPortal extends JFrame {
         panel.add(headerPanel, BorderLayout.NORTH);
 
         // Load grade records from backend
-        List<GradeRecord> gradeRecords = DataManager.getCurrentSemesterGrades(studentID);
+        List<GradeRecord> gradeRecords = session.getCurrentSemesterGrades();
         
         String[] columnNames = {"Subject", "Prelim Grade", "Midterm Grade", "Tentative Final Grade", "Final Grade"};
         
@@ -638,7 +514,7 @@ public class ISLUStudentPortal extends JFrame {
         panel.add(headerPanel, BorderLayout.NORTH);
         
         // Load schedule data from backend
-        List<CourseSchedule> schedules = DataManager.getStudentSchedule(studentID);
+        List<CourseSchedule> schedules = session.getSchedule();
         
         String[] columnNames = {"Class Code", "Course", "Units", "Time", "Days", "Room", "Instructor"};
         
@@ -705,6 +581,8 @@ public class ISLUStudentPortal extends JFrame {
      * Refreshes grade data
      */
     private void refreshGrades() {
+        session.invalidate(StorageTable.GRADES);
+        session.invalidate(StorageTable.SCHEDULES); // The current semester comes from the schedule
         createAllContentPanels();
         mainCardLayout.show(mainCardHolder, "📊 Grades");
         JOptionPane.showMessageDialog(this, "Grades data refreshed!", "Refresh", JOptionPane.INFORMATION_MESSAGE);
@@ -735,7 +613,7 @@ public class ISLUStudentPortal extends JFrame {
         panel.add(headerPanel, BorderLayout.NORTH);
         
         // Load attendance data from backend
-        List<AttendanceRecord> attendanceRecords = DataManager.getStudentAttendance(studentID);
+        List<AttendanceRecord> attendanceRecords = session.getAttendance();
         
         String[] columnNames = {"Subject Code", "Subject Name", "Date", "Status", "Remarks"};
         
@@ -774,30 +652,7 @@ public class ISLUStudentPortal extends JFrame {
         table.setSelectionBackground(new Color(230, 240, 255));
         
         // Color code attendance status
-        table.setDefaultRenderer(Object.class, new DefaultTableCellRenderer() {
-            @Override
-            public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
-                                                         boolean hasFocus, int row, int column) {
-                Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                
-                if (column == 3 && value != null) { // Status column
-                    String status = value.toString();
-                    if (status.equals("Present")) {
-                        c.setForeground(new Color(0, 128, 0)); // Green
-                    } else if (status.equals("Absent")) {
-                        c.setForeground(new Color(255, 0, 0)); // Red
-                    } else if (status.equals("Late")) {
-                        c.setForeground(new Color(255, 140, 0)); // Orange
-                    } else {
-                        c.setForeground(Color.BLACK);
-                    }
-                } else {
-                    c.setForeground(Color.BLACK);
-                }
-                
-                return c;
-            }
-        });
+        table.setDefaultRenderer(Object.class, PortalRenderers.ATTENDANCE_STATUS);
         
         JScrollPane scrollPane = new JScrollPane(table);
         scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
@@ -820,7 +675,7 @@ public class ISLUStudentPortal extends JFrame {
         summaryPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
         
         // Get attendance summary
-        AttendanceSummary summary = DataManager.getAttendanceSummaryForStudent(studentID);
+        AttendanceSummary summary = session.getAttendanceSummary();
         
         // Present count
         JPanel presentPanel = createSummaryCard("Present", String.valueOf(summary.getPresentCount()), new Color(0, 128, 0));
@@ -872,6 +727,7 @@ public class ISLUStudentPortal extends JFrame {
      * Refreshes schedule data
      */
     private void refreshSchedule() {
+        session.invalidate(StorageTable.SCHEDULES);
         createAllContentPanels();
         mainCardLayout.show(mainCardHolder, "📅 Schedule");
         JOptionPane.showMessageDialog(this, "Schedule data refreshed!", "Refresh", JOptionPane.INFORMATION_MESSAGE);
@@ -923,6 +779,17 @@ public class ISLUStudentPortal extends JFrame {
         JPanel summaryPanel = new JPanel(new GridLayout(1, 3, 10, 10));
         summaryPanel.setBackground(Color.WHITE);
         summaryPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
+        addAccountSummaryCards(summaryPanel);
+        accountSummaryPanel = summaryPanel; // Store reference for updates
+        return summaryPanel;
+    }
+    
+    /**
+     * Adds the balance, amount due and status cards for the current balance
+     */
+    private void addAccountSummaryCards(JPanel summaryPanel) {
+        double currentBalance = balance.getOverpayment();
+        double amountDue = balance.getAmountDue();
         
         // Current Balance
         JPanel balancePanel = createFinancialCard("Current Balance", 
@@ -941,8 +808,6 @@ public class ISLUStudentPortal extends JFrame {
         Color statusColor = amountDue > 0 ? new Color(255, 0, 0) : new Color(0, 128, 0);
         JPanel statusPanel = createFinancialCard("Account Status", status, statusColor);
         summaryPanel.add(statusPanel);
-        
-        return summaryPanel;
     }
     
     /**
@@ -983,35 +848,34 @@ public class ISLUStudentPortal extends JFrame {
         transactionsLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
         panel.add(transactionsLabel, BorderLayout.NORTH);
         
-        // Load payment transactions from backend
-        List<PaymentTransaction> transactions = DataManager.getPaymentTransactions(studentID);
-        
         String[] columnNames = {"Date", "Payment Channel", "Reference", "Amount", "Status"};
         
-        // Convert transaction data to table format
-        Object[][] data;
-        if (transactions.isEmpty()) {
-            data = new Object[][]{{"No payment transactions found", "-", "-", "-", "-"}};
-        } else {
-            data = new Object[transactions.size()][];
-            for (int i = 0; i < transactions.size(); i++) {
-                PaymentTransaction transaction = transactions.get(i);
-                data[i] = new Object[]{
-                    transaction.getDate(),
-                    transaction.getPaymentChannel(),
-                    transaction.getReference(),
-                    String.format("₱ %.2f", transaction.getAmount()),
-                    "Completed"
-                };
+        // Page the session's payment transactions into the table as it scrolls
+        PagedTableModel tableModel = soaTransactionsModel = new PagedTableModel(columnNames, new PagedTableModel.PageSource() {
+            @Override
+            public int getRowCount() {
+                // Keep one row for the "no transactions" message
+                return Math.max(1, session.getTransactions().size());
             }
-        }
-        
-        DefaultTableModel tableModel = new DefaultTableModel(data, columnNames) {
+            
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            public List<Object[]> loadPage(int offset, int limit) {
+                List<Object[]> rows = new java.util.ArrayList<>();
+                for (PaymentTransaction transaction : page(session.getTransactions(), offset, limit)) {
+                    rows.add(new Object[]{
+                        transaction.getDate(),
+                        transaction.getPaymentChannel(),
+                        PaymentLedger.descriptionOf(transaction.getReference()),
+                        String.format("₱ %.2f", transaction.getAmount()),
+                        "Completed"
+                    });
+                }
+                if (rows.isEmpty() && offset == 0) {
+                    rows.add(new Object[]{"No payment transactions found", "-", "-", "-", "-"});
+                }
+                return rows;
             }
-        };
+        });
         
         JTable table = new JTable(tableModel);
         table.setRowHeight(25);
@@ -1061,6 +925,7 @@ public class ISLUStudentPortal extends JFrame {
      * Shows payment dialog
      */
     private void showPaymentDialog() {
+        double amountDue = balance.getAmountDue();
         if (amountDue <= 0) {
             JOptionPane.showMessageDialog(this, 
                 "No outstanding balance. Your account is in good standing!", 
@@ -1079,12 +944,7 @@ public class ISLUStudentPortal extends JFrame {
                 paymentOptions[0]);
         
         if (selectedOption != null) {
-            JOptionPane.showMessageDialog(this,
-                "Payment initiated via " + selectedOption + "\n" +
-                "Amount: ₱ " + String.format("%.2f", amountDue) + "\n" +
-                "Please complete the payment process through the selected channel.",
-                "Payment Initiated",
-                JOptionPane.INFORMATION_MESSAGE);
+            showPaymentDialog(selectedOption);
         }
     }
     
@@ -1092,9 +952,38 @@ public class ISLUStudentPortal extends JFrame {
      * Downloads statement
      */
     private void downloadStatement() {
+        java.io.File file = new java.io.File(DocumentExporter.getDownloadsFolder(),
+            "SOA_" + studentID + "_" + semester.replace(" ", "_").replace(",", "") + ".pdf");
+        AccountBalance balanceSnapshot = balance;
+        
+        // Render off the UI thread, then report back on it
+        java.util.concurrent.CompletableFuture.runAsync(() -> {
+            try {
+                DocumentExporter.exportStatement(studentID, studentName, semester, balanceSnapshot, file);
+            } catch (java.io.IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        }).whenComplete((ignored, error) -> SwingUtilities.invokeLater(() ->
+            showDownloadResult("Statement of Accounts", file, error)));
+    }
+    
+    /**
+     * Shows the outcome of a document download
+     * @param documentName Name of the document for the message
+     * @param file The file that was written
+     * @param error The failure, or null if the export succeeded
+     */
+    private void showDownloadResult(String documentName, java.io.File file, Throwable error) {
+        if (error != null) {
+            JOptionPane.showMessageDialog(this,
+                "Could not save the " + documentName + ".\n" + error.getMessage(),
+                "Download Failed",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
         JOptionPane.showMessageDialog(this,
-            "Statement of Accounts downloaded to your Downloads folder.\n" +
-            "Filename: SOA_" + studentID + "_" + semester.replace(" ", "_") + ".pdf",
+            documentName + " downloaded to your Downloads folder.\n" +
+            "Filename: " + file.getName(),
             "Download Complete",
             JOptionPane.INFORMATION_MESSAGE);
     }
@@ -1103,6 +992,7 @@ public class ISLUStudentPortal extends JFrame {
      * Refreshes attendance data
      */
     private void refreshAttendance() {
+        session.invalidate(StorageTable.ATTENDANCE);
         createAllContentPanels();
         mainCardLayout.show(mainCardHolder, "📌 Attendance");
         JOptionPane.showMessageDialog(this, "Attendance data refreshed!", "Refresh", JOptionPane.INFORMATION_MESSAGE);
@@ -1112,12 +1002,12 @@ public class ISLUStudentPortal extends JFrame {
      * Refreshes statement of accounts data
      */
     private void refreshStatementOfAccounts() {
-        // Regenerate random amounts to simulate account updates
-        this.amountDue = generateRandomAmountDue();
-        this.currentBalance = generateRandom5DigitAmount();
-        
-        createAllContentPanels();
-        mainCardLayout.show(mainCardHolder, "🧮 Statement of Accounts");
+        // Re-read the payment log in case it changed outside the portal
+        BalanceEngine.getInstance().reload(studentID);
+        session.invalidate(StorageTable.PAYMENTS);
+        balance = BalanceEngine.getInstance().getBalance(studentID);
+        refreshPaymentTable();
+        updateBalanceDisplay();
         JOptionPane.showMessageDialog(this, "Account data refreshed!", "Refresh", JOptionPane.INFORMATION_MESSAGE);
     }
     
@@ -1166,26 +1056,7 @@ public class ISLUStudentPortal extends JFrame {
         table.setSelectionBackground(new Color(230, 240, 255));
         
         // Custom renderer for semester headers
-        table.setDefaultRenderer(Object.class, new DefaultTableCellRenderer() {
-            @Override
-            public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
-                                                         boolean hasFocus, int row, int column) {
-                Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                
-                // Check if this is a semester header row
-                if (column == 0 && value != null && value.toString().contains("SEMESTER")) {
-                    c.setFont(new Font("Arial", Font.BOLD, 14));
-                    c.setBackground(new Color(240, 240, 240));
-                    setHorizontalAlignment(SwingConstants.CENTER);
-                } else {
-                    c.setFont(new Font("Arial", Font.PLAIN, 12));
-                    c.setBackground(Color.WHITE);
-                    setHorizontalAlignment(SwingConstants.LEFT);
-                }
-                
-                return c;
-            }
-        });
+        table.setDefaultRenderer(Object.class, PortalRenderers.SEMESTER_HEADER);
         
         JScrollPane scrollPane = new JScrollPane(table);
         scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
@@ -1199,20 +1070,25 @@ public class ISLUStudentPortal extends JFrame {
      * Downloads transcript
      */
     private void downloadTranscript() {
-        JOptionPane.showMessageDialog(this,
-            "Transcript of Records downloaded to your Downloads folder.\n" +
-            "Filename: TOR_" + studentID + "_" + studentName.replace(" ", "_") + ".pdf",
-            "Download Complete",
-            JOptionPane.INFORMATION_MESSAGE);
+        java.io.File file = new java.io.File(DocumentExporter.getDownloadsFolder(),
+            "TOR_" + studentID + "_" + studentName.replace(" ", "_") + ".pdf");
+        
+        // Render off the UI thread, then report back on it
+        java.util.concurrent.CompletableFuture.runAsync(() -> {
+            try {
+                DocumentExporter.exportTranscript(studentID, file);
+            } catch (java.io.IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        }).whenComplete((ignored, error) -> SwingUtilities.invokeLater(() ->
+            showDownloadResult("Transcript of Records", file, error)));
     }
     
     /**
      * Creates placeholder panels for remaining menu items
      */
     private JPanel createCurriculumPanel() {
-        return createPlaceholderPanel("Curriculum Checklist", 
-            "Track your academic progress and course requirements.\n" +
-            "View completed courses, remaining requirements, and graduation status.");
+        return createCurriculumChecklistPanel(PortalUtils.createCurriculumChecklistSubList());
     }
     
     private JPanel createMedicalPanel() {
@@ -1228,9 +1104,7 @@ public class ISLUStudentPortal extends JFrame {
     }
     
     private JPanel createJournalPanel() {
-        return createPlaceholderPanel("Journal/Periodical", 
-            "Access academic journals, research papers, and periodicals.\n" +
-            "Browse library resources and academic publications.");
+        return createJournalPeriodicalPanel(PortalUtils.createJournalSubList());
     }
     
     private JPanel createDownloadablesPanel() {
@@ -1457,7 +1331,15 @@ public class ISLUStudentPortal extends JFrame {
         JScrollPane scroll = new JScrollPane(body);
         scroll.setBorder(null);
         scroll.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        mainPanel.add(scroll, BorderLayout.CENTER);
+
+        // The guide above shows while the search box is empty, results otherwise
+        JPanel cards = new JPanel(new CardLayout());
+        cards.add(scroll, PeriodicalSearchController.HELP_CARD);
+        mainPanel.add(cards, BorderLayout.CENTER);
+
+        PeriodicalSearchController search = new PeriodicalSearchController(searchField, cards);
+        searchButton.addActionListener(e -> search.searchNow());
+        advancedButton.addActionListener(e -> search.showAdvancedSearch(this));
 
         return mainPanel;
     }
@@ -1479,7 +1361,7 @@ public class ISLUStudentPortal extends JFrame {
         schedulePanel.add(header, BorderLayout.NORTH);
 
         // Load course schedules from backend
-        List<CourseSchedule> backendCourses = DataManager.loadCourseSchedules(studentID);
+        List<CourseSchedule> backendCourses = session.getSchedule();
         int totalUnits = backendCourses.stream().mapToInt(CourseSchedule::getUnits).sum();
 
         // Column names for list format
@@ -1619,32 +1501,7 @@ public class ISLUStudentPortal extends JFrame {
         }
         
         // Color coding for different courses
-        weeklyTable.setDefaultRenderer(Object.class, new javax.swing.table.DefaultTableCellRenderer() {
-            @Override
-            public Component getTableCellRendererComponent(JTable table, Object value, 
-                    boolean isSelected, boolean hasFocus, int row, int column) {
-                super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                
-                if (column == 0) {
-                    // Time column - light gray background
-                    setBackground(new Color(245, 245, 245));
-                    setHorizontalAlignment(SwingConstants.CENTER);
-                } else if (value != null && !value.toString().trim().isEmpty()) {
-                    // Course cells - light blue background
-                    setBackground(new Color(230, 240, 255));
-                    setHorizontalAlignment(SwingConstants.CENTER);
-                } else {
-                    // Empty cells - white background
-                    setBackground(Color.WHITE);
-                }
-                
-                if (isSelected) {
-                    setBackground(new Color(184, 207, 229));
-                }
-                
-                return this;
-            }
-        });
+        weeklyTable.setDefaultRenderer(Object.class, PortalRenderers.WEEKLY_SCHEDULE);
         
         JScrollPane weeklyScrollPane = new JScrollPane(weeklyTable);
         weeklyScrollPane.setPreferredSize(new Dimension(0, 300)); // Fixed height for weekly view
@@ -1802,7 +1659,7 @@ public class ISLUStudentPortal extends JFrame {
         
         // Load attendance records (marked by faculty in real-time)
         // NOTE: Faculty portal will update attendance records in real-time during class
-        java.util.List<AttendanceRecord> records = DataManager.loadAttendanceRecords(studentID);
+        java.util.List<AttendanceRecord> records = session.getAttendance();
         java.util.List<AttendanceRecord> absentTardyRecords = new java.util.ArrayList<>();
         
         // Filter for absent and tardy records only (as marked by faculty)
@@ -2197,6 +2054,7 @@ public class ISLUStudentPortal extends JFrame {
                 if (success) {
                     // Update local record for immediate UI update
                     record.setRemarks(reason);
+                    session.invalidate(StorageTable.ATTENDANCE);
                 }
                 
                 // Show success message and close dialog
@@ -2425,45 +2283,42 @@ public class ISLUStudentPortal extends JFrame {
         rightPanel.setBackground(Color.WHITE);
 
         // Get student info from database
-        StudentInfo studentInfo = DataManager.getStudentInfo(studentID);
+        StudentInfo studentInfo = session.getStudentInfo();
         String birthday = studentInfo != null ? studentInfo.getDateOfBirth() : "N/A";
         String email = studentID + "@slu.edu.ph";
 
         // Get profile data from database
-        String profileData = DataManager.getStudentProfile(studentID);
-        System.out.println("DEBUG: Retrieved profile data for " + studentID + ": " + profileData);
-        ProfileData parsedProfile = parseProfileData(profileData);
-        System.out.println("DEBUG: Parsed profile - Gender: " + parsedProfile.gender + ", Citizenship: " + parsedProfile.citizenship);
+        ProfileData parsedProfile = session.getProfile();
 
         // GENERAL INFORMATION Section
         JPanel generalPanel = createSectionPanel("GENERAL INFORMATION", new Object[][]{
-            {"Gender:", parsedProfile.gender, false, "combo", new String[]{"Male", "Female"}},
+            {"Gender:", parsedProfile.getGender(), false, "combo", new String[]{"Male", "Female"}, ProfileField.GENDER},
             {"Birthday:", birthday, false, "text", null},
-            {"Citizenship:", parsedProfile.citizenship, false, "text", null},
-            {"Religion:", parsedProfile.religion, false, "text", null},
-            {"Civil Status:", parsedProfile.civilStatus, false, "text", null},
-            {"Birthplace:", parsedProfile.birthplace, false, "text", null},
-            {"Nationality:", parsedProfile.nationality, false, "text", null}
+            {"Citizenship:", parsedProfile.getCitizenship(), false, "text", null, ProfileField.CITIZENSHIP},
+            {"Religion:", parsedProfile.getReligion(), false, "text", null, ProfileField.RELIGION},
+            {"Civil Status:", parsedProfile.getCivilStatus(), false, "text", null, ProfileField.CIVIL_STATUS},
+            {"Birthplace:", parsedProfile.getBirthplace(), false, "text", null, ProfileField.BIRTHPLACE},
+            {"Nationality:", parsedProfile.getNationality(), false, "text", null, ProfileField.NATIONALITY}
         });
 
         // CONTACT INFORMATION Section
         JPanel contactPanel = createSectionPanel("CONTACT INFORMATION", new Object[][]{
-            {"Home Address:", parsedProfile.homeAddress, false, "text", null},
-            {"Home Telephone No:", parsedProfile.homeTel, false, "text", null},
-            {"Baguio Address:", parsedProfile.baguioAddress, false, "text", null},
-            {"Baguio Telephone No:", parsedProfile.baguioTel, false, "text", null},
-            {"Cellphone No:", parsedProfile.cellphone, false, "text", null},
+            {"Home Address:", parsedProfile.getHomeAddress(), false, "text", null, ProfileField.HOME_ADDRESS},
+            {"Home Telephone No:", parsedProfile.getHomeTel(), false, "text", null, ProfileField.HOME_TEL},
+            {"Baguio Address:", parsedProfile.getBaguioAddress(), false, "text", null, ProfileField.BAGUIO_ADDRESS},
+            {"Baguio Telephone No:", parsedProfile.getBaguioTel(), false, "text", null, ProfileField.BAGUIO_TEL},
+            {"Cellphone No:", parsedProfile.getCellphone(), false, "text", null, ProfileField.CELLPHONE},
             {"Email Address:", email, false, "text", null}
         });
 
         // CONTACT PERSONS Section
         JPanel contactPersonsPanel = createSectionPanel("CONTACT PERSONS", new Object[][]{
-            {"Father's Name:", parsedProfile.fatherName, false, "text", null},
-            {"Father's Occupation:", parsedProfile.fatherOcc, false, "text", null},
-            {"Mother's Maiden Name:", parsedProfile.motherName, false, "text", null},
-            {"Mother's Occupation:", parsedProfile.motherOcc, false, "text", null},
-            {"Guardian Name:", parsedProfile.guardianName, false, "text", null},
-            {"Guardian Address:", parsedProfile.guardianAddress, false, "text", null}
+            {"Father's Name:", parsedProfile.getFatherName(), false, "text", null, ProfileField.FATHER_NAME},
+            {"Father's Occupation:", parsedProfile.getFatherOcc(), false, "text", null, ProfileField.FATHER_OCC},
+            {"Mother's Maiden Name:", parsedProfile.getMotherName(), false, "text", null, ProfileField.MOTHER_NAME},
+            {"Mother's Occupation:", parsedProfile.getMotherOcc(), false, "text", null, ProfileField.MOTHER_OCC},
+            {"Guardian Name:", parsedProfile.getGuardianName(), false, "text", null, ProfileField.GUARDIAN_NAME},
+            {"Guardian Address:", parsedProfile.getGuardianAddress(), false, "text", null, ProfileField.GUARDIAN_ADDRESS}
         });
 
         // Add all sections to right panel
@@ -2500,9 +2355,13 @@ public class ISLUStudentPortal extends JFrame {
     }
     
     /**
-     * Creates a profile picture icon (gray silhouette)
+     * Gets the profile picture icon (gray silhouette), drawn once per run
      */
     private ImageIcon createProfilePictureIcon() {
+        return ImageCache.getInstance().getGenerated("profile-placeholder", ISLUStudentPortal::drawProfilePlaceholder);
+    }
+
+    private static java.awt.image.BufferedImage drawProfilePlaceholder() {
         // Create a simple gray circle as profile picture placeholder
         int size = 150;
         java.awt.image.BufferedImage image = new java.awt.image.BufferedImage(size, size, java.awt.image.BufferedImage.TYPE_INT_ARGB);
@@ -2519,7 +2378,7 @@ public class ISLUStudentPortal extends JFrame {
         g2d.fillOval(size/3, size*2/3, size/3, size/3); // Body
         
         g2d.dispose();
-        return new ImageIcon(image);
+        return image;
     }
     
     /**
@@ -2584,13 +2443,18 @@ public class ISLUStudentPortal extends JFrame {
                 return;
             }
             
-            // Update password using DataManager
-            if (DataManager.updateStudentPassword(studentID, newPass)) {
-                JOptionPane.showMessageDialog(passwordDialog, "Password updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                passwordDialog.dispose();
-            } else {
-                JOptionPane.showMessageDialog(passwordDialog, "Failed to update password. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            // Hashing takes a noticeable moment, so it runs off the EDT
+            saveButton.setEnabled(false);
+            DataManager.updateStudentPasswordAsync(studentID, newPass).whenComplete((updated, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    saveButton.setEnabled(true);
+                    if (error == null && updated) {
+                        JOptionPane.showMessageDialog(passwordDialog, "Password updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        passwordDialog.dispose();
+                    } else {
+                        JOptionPane.showMessageDialog(passwordDialog, "Failed to update password. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }));
         });
         
         cancelButton.addActionListener(e -> passwordDialog.dispose());
@@ -2638,7 +2502,7 @@ public class ISLUStudentPortal extends JFrame {
         accountDetailsPanel.setPreferredSize(new Dimension(400, 200));
         
         // Get student info from database
-        StudentInfo studentInfo = DataManager.getStudentInfo(studentID);
+        StudentInfo studentInfo = session.getStudentInfo();
         String accountName = studentInfo != null ? studentInfo.getFullName() : "Unknown";
         
         // Add account details with clean table format
@@ -2815,40 +2679,39 @@ public class ISLUStudentPortal extends JFrame {
      */
     private void addPersonalDetailsSections(JPanel parentPanel) {
         // Get student profile data
-        String profileString = DataManager.getStudentProfile(studentID);
-        ProfileData profileData = parseProfileData(profileString);
+        ProfileData profileData = session.getProfile();
         
         // General Information section
         Object[][] generalData = {
-            {"Gender", profileData != null ? profileData.getGender() : "Not specified", false, "text", new String[]{}},
-            {"Citizenship", profileData != null ? profileData.getCitizenship() : "Not specified", false, "text", new String[]{}},
-            {"Religion", profileData != null ? profileData.getReligion() : "Not specified", false, "text", new String[]{}},
-            {"Civil Status", profileData != null ? profileData.getCivilStatus() : "Not specified", false, "text", new String[]{}},
-            {"Birthplace", profileData != null ? profileData.getBirthplace() : "Not specified", false, "text", new String[]{}},
-            {"Nationality", profileData != null ? profileData.getNationality() : "Not specified", false, "text", new String[]{}}
+            {"Gender", profileData != null ? profileData.getGender() : "Not specified", false, "text", new String[]{}, ProfileField.GENDER},
+            {"Citizenship", profileData != null ? profileData.getCitizenship() : "Not specified", false, "text", new String[]{}, ProfileField.CITIZENSHIP},
+            {"Religion", profileData != null ? profileData.getReligion() : "Not specified", false, "text", new String[]{}, ProfileField.RELIGION},
+            {"Civil Status", profileData != null ? profileData.getCivilStatus() : "Not specified", false, "text", new String[]{}, ProfileField.CIVIL_STATUS},
+            {"Birthplace", profileData != null ? profileData.getBirthplace() : "Not specified", false, "text", new String[]{}, ProfileField.BIRTHPLACE},
+            {"Nationality", profileData != null ? profileData.getNationality() : "Not specified", false, "text", new String[]{}, ProfileField.NATIONALITY}
         };
         parentPanel.add(createSectionPanel("General Information", generalData));
         parentPanel.add(Box.createVerticalStrut(20));
         
         // Contact Information section
         Object[][] contactData = {
-            {"Home Address", profileData != null ? profileData.getHomeAddress() : "Not specified", false, "text", new String[]{}},
-            {"Home Telephone", profileData != null ? profileData.getHomeTel() : "Not specified", false, "text", new String[]{}},
-            {"Baguio Address", profileData != null ? profileData.getBaguioAddress() : "Not specified", false, "text", new String[]{}},
-            {"Baguio Telephone", profileData != null ? profileData.getBaguioTel() : "Not specified", false, "text", new String[]{}},
-            {"Cellphone", profileData != null ? profileData.getCellphone() : "Not specified", false, "text", new String[]{}}
+            {"Home Address", profileData != null ? profileData.getHomeAddress() : "Not specified", false, "text", new String[]{}, ProfileField.HOME_ADDRESS},
+            {"Home Telephone", profileData != null ? profileData.getHomeTel() : "Not specified", false, "text", new String[]{}, ProfileField.HOME_TEL},
+            {"Baguio Address", profileData != null ? profileData.getBaguioAddress() : "Not specified", false, "text", new String[]{}, ProfileField.BAGUIO_ADDRESS},
+            {"Baguio Telephone", profileData != null ? profileData.getBaguioTel() : "Not specified", false, "text", new String[]{}, ProfileField.BAGUIO_TEL},
+            {"Cellphone", profileData != null ? profileData.getCellphone() : "Not specified", false, "text", new String[]{}, ProfileField.CELLPHONE}
         };
         parentPanel.add(createSectionPanel("Contact Information", contactData));
         parentPanel.add(Box.createVerticalStrut(20));
         
         // Contact Persons section
         Object[][] contactPersonsData = {
-            {"Father's Name", profileData != null ? profileData.getFatherName() : "Not specified", false, "text", new String[]{}},
-            {"Father's Occupation", profileData != null ? profileData.getFatherOcc() : "Not specified", false, "text", new String[]{}},
-            {"Mother's Name", profileData != null ? profileData.getMotherName() : "Not specified", false, "text", new String[]{}},
-            {"Mother's Occupation", profileData != null ? profileData.getMotherOcc() : "Not specified", false, "text", new String[]{}},
-            {"Guardian's Name", profileData != null ? profileData.getGuardianName() : "Not specified", false, "text", new String[]{}},
-            {"Guardian's Address", profileData != null ? profileData.getGuardianAddress() : "Not specified", false, "text", new String[]{}}
+            {"Father's Name", profileData != null ? profileData.getFatherName() : "Not specified", false, "text", new String[]{}, ProfileField.FATHER_NAME},
+            {"Father's Occupation", profileData != null ? profileData.getFatherOcc() : "Not specified", false, "text", new String[]{}, ProfileField.FATHER_OCC},
+            {"Mother's Name", profileData != null ? profileData.getMotherName() : "Not specified", false, "text", new String[]{}, ProfileField.MOTHER_NAME},
+            {"Mother's Occupation", profileData != null ? profileData.getMotherOcc() : "Not specified", false, "text", new String[]{}, ProfileField.MOTHER_OCC},
+            {"Guardian's Name", profileData != null ? profileData.getGuardianName() : "Not specified", false, "text", new String[]{}, ProfileField.GUARDIAN_NAME},
+            {"Guardian's Address", profileData != null ? profileData.getGuardianAddress() : "Not specified", false, "text", new String[]{}, ProfileField.GUARDIAN_ADDRESS}
         };
         parentPanel.add(createSectionPanel("Contact Persons", contactPersonsData));
     }
@@ -2966,6 +2829,7 @@ public class ISLUStudentPortal extends JFrame {
             boolean editable = (Boolean) data[i][2];
             String fieldType = (String) data[i][3];
             String[] options = (String[]) data[i][4];
+            ProfileField profileField = data[i].length > 5 ? (ProfileField) data[i][5] : null;
 
             // Label
             gbc.gridx = 0;
@@ -3010,7 +2874,7 @@ public class ISLUStudentPortal extends JFrame {
                 editButton.setFont(new Font("Arial", Font.PLAIN, 12));
                 editButton.setPreferredSize(new Dimension(30, 25));
                 editButton.setToolTipText("Edit " + label);
-                editButton.addActionListener(e -> showEditDialog(label, valueComponent, fieldType, options));
+                editButton.addActionListener(e -> showEditDialog(label, valueComponent, fieldType, options, profileField));
                 valuePanel.add(editButton, BorderLayout.EAST);
             }
             
@@ -3021,7 +2885,8 @@ public class ISLUStudentPortal extends JFrame {
         return sectionPanel;
     }
 
-    private void showEditDialog(String fieldName, Component component, String fieldType, String[] options) {
+    private void showEditDialog(String fieldName, Component component, String fieldType, String[] options,
+                                ProfileField profileField) {
         JDialog editDialog = new JDialog(this, "Edit " + fieldName, true);
         editDialog.setSize(400, 200);
         editDialog.setLocationRelativeTo(this);
@@ -3086,6 +2951,15 @@ public class ISLUStudentPortal extends JFrame {
             
             if (!newValue.isEmpty()) {
                 updateFieldValue(component, newValue);
+                if (profileField != null) {
+                    // Write just this field; the rest of the stored profile is left as is
+                    if (!profilePatch.set(profileField, newValue).commit()) {
+                        JOptionPane.showMessageDialog(editDialog, "Failed to save " + fieldName + ". Please try again.",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    session.invalidate(StorageTable.PROFILES);
+                }
                 JOptionPane.showMessageDialog(editDialog, 
                     fieldName + " updated successfully!", 
                     "Update Successful", 
@@ -3142,12 +3016,11 @@ public class ISLUStudentPortal extends JFrame {
     }
 
     /**
-     * Retrieves student name using DataManager
-     * @param studentID The student ID to look up
+     * Gets the display name of the session's student
+     * @param studentInfo The student's record, or null if it was not found
      * @return Formatted student name (FirstName LastName) or default if not found
      */
-    private String getStudentNameFromDatabase(String studentID) {
-        StudentInfo studentInfo = DataManager.getStudentInfo(studentID);
+    private String getStudentName(StudentInfo studentInfo) {
         if (studentInfo != null) {
             return studentInfo.getFullName();
         }
@@ -3245,7 +3118,7 @@ public class ISLUStudentPortal extends JFrame {
         amountDueLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         amountPanel.add(amountDueLabel);
         
-        JLabel amountDueValue = new JLabel("P " + String.format("%.2f", amountDue));
+        JLabel amountDueValue = new JLabel("P " + String.format("%.2f", balance.getAmountDue()));
         amountDueValue.setFont(new Font("Arial", Font.BOLD, 24));
         amountDueValue.setForeground(Color.BLACK);
         amountDueValueLabel = amountDueValue; // Store reference for updates
@@ -3265,7 +3138,7 @@ public class ISLUStudentPortal extends JFrame {
         overpaymentLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         overpaymentPanel.add(overpaymentLabel);
         
-        JLabel overpaymentValue = new JLabel("P (" + String.format("%.2f", currentBalance) + ")");
+        JLabel overpaymentValue = new JLabel("P (" + String.format("%.2f", balance.getOverpayment()) + ")");
         overpaymentValue.setFont(new Font("Arial", Font.BOLD, 24));
         overpaymentValue.setForeground(Color.BLACK);
         overpaymentValueLabel = overpaymentValue; // Store reference for updates
@@ -3275,6 +3148,7 @@ public class ISLUStudentPortal extends JFrame {
         contentPanel.add(Box.createVerticalStrut(15));
 
         // Prelim Status
+        double amountDue = balance.getAmountDue();
         String prelimStatusText = amountDue <= 0 ? 
             "PRELIM STATUS: PAID. Permitted to take the exams." : 
             "PRELIM STATUS: NOT PAID. Please pay before prelim exams. Ignore if you're SLU Dependent or Full TOF Scholar.";
@@ -3335,39 +3209,16 @@ public class ISLUStudentPortal extends JFrame {
         
         panel.add(headerPanel, BorderLayout.NORTH);
 
-        // Table with dynamic data including payment receipts
+        // Table with the assessed fees, payment receipts and the resulting balance
         String[] columnNames = {"Date", "Description", "Amount"};
-        java.util.List<Object[]> dataList = new java.util.ArrayList<>();
-        
-        // Beginning balance
-        dataList.add(new Object[]{"", "BEGINNING BALANCE", String.format("P %.2f", amountDue + currentBalance)});
-        
-        // Add payment transactions as receipts
-        List<PaymentTransaction> transactions = DataManager.loadPaymentTransactions(studentID);
-        for (PaymentTransaction transaction : transactions) {
-            String description = transaction.getChannel() + " - " + transaction.getReference();
-            dataList.add(new Object[]{
-                transaction.getDate(),
-                description,
-                "(" + transaction.getAmount() + ")"
-            });
-        }
-        
-        // Current balance
-        if (amountDue > 0) {
-            dataList.add(new Object[]{"", "CURRENT BALANCE DUE", String.format("P %.2f", amountDue)});
-        } else {
-            dataList.add(new Object[]{"", "OVERPAYMENT BALANCE", String.format("P (%.2f)", currentBalance)});
-        }
-        
-        Object[][] data = dataList.toArray(new Object[dataList.size()][]);
-
-        DefaultTableModel model = new DefaultTableModel(data, columnNames) {
+        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 return false;
             }
         };
+        fillBreakdown(model);
+        breakdownTableModel = model; // Store reference for updates
         JTable table = new JTable(model);
         table.setRowHeight(30);
         table.getTableHeader().setBackground(new Color(240, 240, 240));
@@ -3380,6 +3231,36 @@ public class ISLUStudentPortal extends JFrame {
         return panel;
     }
 
+    /**
+     * Fills the breakdown table from the current balance and payment transactions
+     */
+    private void fillBreakdown(DefaultTableModel model) {
+        model.setRowCount(0);
+        
+        // Assessed fees
+        for (FeeSchedule.Fee fee : balance.getFees()) {
+            model.addRow(new Object[]{fee.getSemester(), fee.getDescription(), String.format("P %,.2f", fee.getAmount())});
+        }
+        model.addRow(new Object[]{"", "TOTAL ASSESSMENT", String.format("P %,.2f", balance.getAssessed())});
+        
+        // Add payment transactions as receipts
+        for (PaymentTransaction transaction : session.getTransactions()) {
+            String description = transaction.getChannel() + " - " + PaymentLedger.descriptionOf(transaction.getReference());
+            model.addRow(new Object[]{
+                transaction.getDate(),
+                description,
+                String.format("(%,.2f)", transaction.getAmount())
+            });
+        }
+        
+        // Current balance
+        if (balance.getAmountDue() > 0) {
+            model.addRow(new Object[]{"", "CURRENT BALANCE DUE", String.format("P %,.2f", balance.getAmountDue())});
+        } else {
+            model.addRow(new Object[]{"", "OVERPAYMENT BALANCE", String.format("P (%,.2f)", balance.getOverpayment())});
+        }
+    }
+
     private JPanel createTransactionsPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(Color.WHITE);
@@ -3399,15 +3280,8 @@ public class ISLUStudentPortal extends JFrame {
         // Table
         String[] columnNames = {"Date", "Channel", "Reference", "Amount"};
         
-        // Load existing payment data from file
-        Object[][] data = loadPaymentTransactions();
-
-        paymentTableModel = new DefaultTableModel(data, columnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Load existing payment data from file, one page at a time
+        paymentTableModel = new PagedTableModel(columnNames, createPaymentPageSource());
         JTable table = new JTable(paymentTableModel);
         table.setRowHeight(30);
         table.getTableHeader().setBackground(new Color(240, 240, 240));
@@ -3450,15 +3324,8 @@ public class ISLUStudentPortal extends JFrame {
         // Create transcript table with all semesters
         String[] columnNames = {"Course Number", "Descriptive Title", "Grade", "Units"};
         
-        // Load transcript data from backend
-        Object[][] transcriptData = generateTranscriptDataFromBackend();
-        
-        DefaultTableModel transcriptModel = new DefaultTableModel(transcriptData, columnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make all cells non-editable
-            }
-        };
+        // Load transcript data from backend; rows are formatted as they scroll into view
+        PagedTableModel transcriptModel = new PagedTableModel(columnNames, createTranscriptPageSource());
 
         JTable transcriptTable = new JTable(transcriptModel);
         transcriptTable.setRowHeight(30);
@@ -3473,41 +3340,10 @@ public class ISLUStudentPortal extends JFrame {
         transcriptTable.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
         
         // Set column alignments
-        transcriptTable.getColumnModel().getColumn(0).setCellRenderer(new javax.swing.table.DefaultTableCellRenderer() {
-            @Override
-            public java.awt.Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-                super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                setHorizontalAlignment(SwingConstants.LEFT);
-                return this;
-            }
-        });
-        
-        transcriptTable.getColumnModel().getColumn(1).setCellRenderer(new javax.swing.table.DefaultTableCellRenderer() {
-            @Override
-            public java.awt.Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-                super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                setHorizontalAlignment(SwingConstants.LEFT);
-                return this;
-            }
-        });
-        
-        transcriptTable.getColumnModel().getColumn(2).setCellRenderer(new javax.swing.table.DefaultTableCellRenderer() {
-            @Override
-            public java.awt.Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-                super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                setHorizontalAlignment(SwingConstants.RIGHT);
-                return this;
-            }
-        });
-        
-        transcriptTable.getColumnModel().getColumn(3).setCellRenderer(new javax.swing.table.DefaultTableCellRenderer() {
-            @Override
-            public java.awt.Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-                super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                setHorizontalAlignment(SwingConstants.RIGHT);
-                return this;
-            }
-        });
+        transcriptTable.getColumnModel().getColumn(0).setCellRenderer(PortalRenderers.LEFT_ALIGNED);
+        transcriptTable.getColumnModel().getColumn(1).setCellRenderer(PortalRenderers.LEFT_ALIGNED);
+        transcriptTable.getColumnModel().getColumn(2).setCellRenderer(PortalRenderers.RIGHT_ALIGNED);
+        transcriptTable.getColumnModel().getColumn(3).setCellRenderer(PortalRenderers.RIGHT_ALIGNED);
 
         JScrollPane scrollPane = new JScrollPane(transcriptTable);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
@@ -3594,12 +3430,17 @@ public class ISLUStudentPortal extends JFrame {
     private JLabel overpaymentValueLabel; // Reference to update the display
     private JLabel amountDueValueLabel; // Reference to update the amount due display
     private JLabel prelimStatusLabel; // Reference to update the PRELIM STATUS display
-    private DefaultTableModel paymentTableModel; // Reference to payment transactions table model
+    private PagedTableModel paymentTableModel; // Reference to payment transactions table model
+    private PagedTableModel soaTransactionsModel; // Reference to the Statement of Accounts transactions table model
+    private DefaultTableModel breakdownTableModel; // Reference to the breakdown of fees table model
+    private JPanel accountSummaryPanel; // Reference to update the account summary cards
 
     /**
      * Shows payment dialog to collect card information and process payment
      */
     private void showPaymentDialog(String channelName) {
+        // One key per form, so submitting it twice logs one payment
+        String paymentKey = PaymentLedger.newKey();
         JDialog paymentDialog = new JDialog(this, "Payment - " + channelName, true);
         paymentDialog.setSize(500, 400);
         paymentDialog.setLocationRelativeTo(this);
@@ -3701,11 +3542,10 @@ public class ISLUStudentPortal extends JFrame {
         submitButton.setFont(new Font("Arial", Font.BOLD, 12));
         submitButton.setPreferredSize(new Dimension(120, 35));
         submitButton.addActionListener(e -> {
-            if (processPayment(cardNumberField.getText(), cvvField.getText(), 
-                             expDateField.getText(), nameField.getText(), 
-                             amountField.getText(), channelName)) {
-                paymentDialog.dispose();
-            }
+            submitButton.setEnabled(false);
+            processPayment(cardNumberField.getText(), cvvField.getText(), 
+                         expDateField.getText(), nameField.getText(), 
+                         amountField.getText(), channelName, paymentKey, paymentDialog, submitButton);
         });
         
         JButton cancelButton = new JButton("Cancel");
@@ -3724,10 +3564,63 @@ public class ISLUStudentPortal extends JFrame {
     }
 
     /**
-     * Processes the payment and updates the balance
+     * Validates the payment form, then commits the payment on a SwingWorker (the
+     * commit waits for the journal to reach the disk) and updates the balance once
+     * it is done. The form closes after a successful commit; otherwise Submit is
+     * enabled again.
+     * @param paymentKey The payment form's idempotency key
+     * @param paymentDialog The payment form
+     * @param submitButton The form's Submit button, disabled by the caller
      */
-    private boolean processPayment(String cardNumber, String cvv, String expDate, 
-                                 String cardHolderName, String amountStr, String channelName) {
+    private void processPayment(String cardNumber, String cvv, String expDate, 
+                              String cardHolderName, String amountStr, String channelName, String paymentKey,
+                              JDialog paymentDialog, JButton submitButton) {
+        if (PaymentLedger.getInstance().isCommitted(paymentKey)) {
+            paymentDialog.dispose(); // Already submitted from this form
+            return;
+        }
+        if (!validatePayment(cardNumber, cvv, expDate, cardHolderName, amountStr)) {
+            submitButton.setEnabled(true);
+            return;
+        }
+        double amount = Double.parseDouble(amountStr);
+
+        // Nothing is shown until the payment is on disk; Submit stays disabled meanwhile
+        double dueBefore = balance.getAmountDue();
+        new SwingWorker<AccountBalance, Void>() {
+            @Override
+            protected AccountBalance doInBackground() throws java.io.IOException {
+                return BalanceEngine.getInstance().recordPayment(paymentKey, studentID, channelName, amount);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    balance = get();
+                } catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+                    Throwable cause = e instanceof java.util.concurrent.ExecutionException ? e.getCause() : e;
+                    // The form may have been cancelled while the payment was being committed
+                    Component parent = paymentDialog.isDisplayable() ? paymentDialog : ISLUStudentPortal.this;
+                    JOptionPane.showMessageDialog(parent,
+                        "Your payment could not be recorded and was not applied.\n" + cause.getMessage() + "\n" +
+                        "Please try again; submitting this form again will not charge you twice.",
+                        "Payment Failed", JOptionPane.ERROR_MESSAGE);
+                    submitButton.setEnabled(true);
+                    return;
+                }
+                paymentDialog.dispose();
+                showPaymentCommitted(channelName, amount, dueBefore);
+            }
+        }.execute();
+    }
+
+    /**
+     * Checks the payment form, telling the user what is wrong
+     * @return true if the form can be submitted
+     */
+    private boolean validatePayment(String cardNumber, String cvv, String expDate, String cardHolderName,
+                                    String amountStr) {
+        
         // Validate inputs
         if (cardNumber.replaceAll("\\s", "").length() != 16) {
             JOptionPane.showMessageDialog(this, "Card number must be 16 digits", "Invalid Input", JOptionPane.ERROR_MESSAGE);
@@ -3746,10 +3639,8 @@ public class ISLUStudentPortal extends JFrame {
             return false;
         }
         
-        double amount;
         try {
-            amount = Double.parseDouble(amountStr);
-            if (amount <= 0) {
+            if (Double.parseDouble(amountStr) <= 0) {
                 JOptionPane.showMessageDialog(this, "Amount must be greater than 0", "Invalid Input", JOptionPane.ERROR_MESSAGE);
                 return false;
             }
@@ -3757,107 +3648,118 @@ public class ISLUStudentPortal extends JFrame {
             JOptionPane.showMessageDialog(this, "Invalid amount format", "Invalid Input", JOptionPane.ERROR_MESSAGE);
             return false;
         }
+        return true;
+    }
 
-        // Process payment - handle overpayment if amount exceeds amount due
-        if (amount >= amountDue) {
-            // Calculate overpayment amount
-            double overpaymentAmount = amount - amountDue;
-            
-            // Clear the amount due and add excess to overpayment
-            amountDue = 0.0;
-            currentBalance += overpaymentAmount;
-            
-            // Log the payment transaction
-            logPaymentTransaction(channelName, amount);
-            
-            // Add payment to table
-            addPaymentToTable(channelName, amount);
-            
+    /**
+     * Shows a committed payment and the new balance in place, then confirms it
+     */
+    private void showPaymentCommitted(String channelName, double amount, double dueBefore) {
+        session.invalidate(StorageTable.PAYMENTS);
+        
+        // Show the payment and the new balance in place
+        refreshPaymentTable();
+        updateBalanceDisplay();
+
+        if (amount >= dueBefore) {
             // Show success message with overpayment details
             String message = "Payment successful!\n" +
                 "Channel: " + channelName + "\n" +
                 "Amount Paid: P " + String.format("%.2f", amount) + "\n" +
                 "Amount Due: P 0.00 (FULLY PAID)\n" +
-                "Overpayment: P " + String.format("%.2f", overpaymentAmount) + "\n" +
-                "Total Overpayment Balance: P " + String.format("%.2f", currentBalance);
+                "Overpayment: P " + String.format("%.2f", amount - dueBefore) + "\n" +
+                "Total Overpayment Balance: P " + String.format("%.2f", balance.getOverpayment());
             
             JOptionPane.showMessageDialog(this, message, "Payment Successful", JOptionPane.INFORMATION_MESSAGE);
         } else {
-            // Partial payment - just reduce amount due
-            amountDue -= amount;
-            
-            // Log the payment transaction
-            logPaymentTransaction(channelName, amount);
-            
-            // Add payment to table
-            addPaymentToTable(channelName, amount);
-            
             // Show success message
             JOptionPane.showMessageDialog(this, 
                 "Payment successful!\n" +
                 "Channel: " + channelName + "\n" +
                 "Amount Paid: P " + String.format("%.2f", amount) + "\n" +
-                "Remaining Amount Due: P " + String.format("%.2f", amountDue),
+                "Remaining Amount Due: P " + String.format("%.2f", balance.getAmountDue()),
                 "Payment Successful", 
                 JOptionPane.INFORMATION_MESSAGE);
         }
-
-        // Update the display (you would need to refresh the Statement of Accounts panel)
-        refreshStatementOfAccounts();
-        
-        return true;
     }
 
     /**
-     * Loads payment transactions using DataManager
+     * Creates a page source over the student's payment transactions in the session
      */
-    private Object[][] loadPaymentTransactions() {
-        java.util.List<PaymentTransaction> transactions = DataManager.loadPaymentTransactions(studentID);
-        
-        if (transactions.isEmpty()) {
-            return new Object[0][4];
-        }
-        
-        // Convert to 2D array
-        Object[][] result = new Object[transactions.size()][4];
-        for (int i = 0; i < transactions.size(); i++) {
-            result[i] = transactions.get(i).toTableRow();
-        }
-        
-        return result;
+    private PagedTableModel.PageSource createPaymentPageSource() {
+        return new PagedTableModel.PageSource() {
+            @Override
+            public int getRowCount() {
+                return session.getTransactions().size();
+            }
+            
+            @Override
+            public java.util.List<Object[]> loadPage(int offset, int limit) {
+                java.util.List<Object[]> rows = new java.util.ArrayList<>();
+                for (PaymentTransaction transaction : page(session.getTransactions(), offset, limit)) {
+                    rows.add(transaction.toTableRow());
+                }
+                return rows;
+            }
+        };
     }
-
+    
     /**
-     * Logs payment transaction using DataManager
+     * Gets one page of an already loaded list
+     * @param list The full list
+     * @param offset Index of the first element
+     * @param limit Maximum number of elements
+     * @return View of the page (empty past the end)
      */
-    private void logPaymentTransaction(String channelName, double amount) {
-        DataManager.logPaymentTransaction(channelName, amount, studentID);
+    private static <T> List<T> page(List<T> list, int offset, int limit) {
+        int from = Math.min(offset, list.size());
+        return list.subList(from, Math.min(from + limit, list.size()));
     }
 
     /**
-     * Adds a new payment transaction to the table
+     * Creates a page source over the student's transcript. Semester headers, course
+     * lines, summaries and spacer rows are laid out once; cells are formatted per page.
      */
-    private void addPaymentToTable(String channelName, double amount) {
-        if (paymentTableModel != null) {
-            // Generate current date and time
-            java.text.SimpleDateFormat dateFormat = new java.text.SimpleDateFormat("MM/dd/yyyy hh:mm a");
-            String currentDateTime = dateFormat.format(new java.util.Date());
+    private PagedTableModel.PageSource createTranscriptPageSource() {
+        return new PagedTableModel.PageSource() {
+            private java.util.List<Object> entries;
             
-            // Create reference text
-            String reference = "FIRST SEMESTER 2025-2026 Enrollme.";
-            
-            // Format amount with comma separator
-            String formattedAmount = String.format("P %,.2f", amount);
+            @Override
+            public int getRowCount() {
+                entries = layoutTranscript(session.getTranscript());
+                return entries.size();
+            }
             
-            // Add new row to table
-            paymentTableModel.addRow(new Object[]{currentDateTime, channelName, reference, formattedAmount});
+            @Override
+            public java.util.List<Object[]> loadPage(int offset, int limit) {
+                java.util.List<Object[]> rows = new java.util.ArrayList<>();
+                for (int i = offset; i < Math.min(offset + limit, entries.size()); i++) {
+                    rows.add(formatTranscriptEntry(entries.get(i)));
+                }
+                return rows;
+            }
+        };
+    }
+
+    /**
+     * Shows a newly logged payment transaction in the table
+     */
+    private void refreshPaymentTable() {
+        // The payment is already in the log and the session dropped its copy; drop cached pages so it is read back
+        if (paymentTableModel != null) {
+            paymentTableModel.refresh();
+        }
+        if (soaTransactionsModel != null) {
+            soaTransactionsModel.refresh();
         }
     }
 
     /**
-     * Duplicate method removed - using the one defined earlier in the class
+     * Shows the current balance in every Statement of Accounts view without rebuilding the panels
      */
-    private void refreshStatementOfAccountsDuplicate() {
+    private void updateBalanceDisplay() {
+        double amountDue = balance.getAmountDue();
+        
         // Update the amount due value label if it exists
         if (amountDueValueLabel != null) {
             amountDueValueLabel.setText("P " + String.format("%.2f", amountDue));
@@ -3865,7 +3767,7 @@ public class ISLUStudentPortal extends JFrame {
         
         // Update the overpayment value label if it exists
         if (overpaymentValueLabel != null) {
-            overpaymentValueLabel.setText("P (" + String.format("%.2f", currentBalance) + ")");
+            overpaymentValueLabel.setText("P (" + String.format("%.2f", balance.getOverpayment()) + ")");
         }
         
         // Update the PRELIM STATUS label if it exists
@@ -3881,12 +3783,17 @@ public class ISLUStudentPortal extends JFrame {
             prelimStatusLabel.setForeground(prelimStatusColor);
         }
         
-        // Show success message with both balances
-        String message = "Statement of Accounts has been updated.\n" +
-            "Amount Due: P " + String.format("%.2f", amountDue) + "\n" +
-            "Overpayment Balance: P " + String.format("%.2f", currentBalance);
+        if (breakdownTableModel != null) {
+            fillBreakdown(breakdownTableModel);
+        }
         
-        JOptionPane.showMessageDialog(this, message, "Balance Updated", JOptionPane.INFORMATION_MESSAGE);
+        // Swap the summary cards for ones showing the new amounts
+        if (accountSummaryPanel != null) {
+            accountSummaryPanel.removeAll();
+            addAccountSummaryCards(accountSummaryPanel);
+            accountSummaryPanel.revalidate();
+            accountSummaryPanel.repaint();
+        }
     }
 
     // Custom Document classes for input formatting
@@ -4343,10 +4250,11 @@ public class ISLUStudentPortal extends JFrame {
         contentPanel.add(headerPanel, BorderLayout.NORTH);
 
         // Create curriculum table
-        String[] columnNames = {"", "Course Number", "Course Description", "Units"};
+        String[] columnNames = {"", "Course Number", "Course Description", "Units", "Status"};
         
-        // Generate curriculum data matching the image
-        Object[][] curriculumData = generateCurriculumData();
+        // Checklist rows from the student's curriculum progress
+        CurriculumProgress progress = session.getCurriculumProgress();
+        Object[][] curriculumData = generateCurriculumData(progress);
         
         DefaultTableModel curriculumModel = new DefaultTableModel(curriculumData, columnNames) {
             @Override
@@ -4377,258 +4285,60 @@ public class ISLUStudentPortal extends JFrame {
         curriculumTable.getColumnModel().getColumn(1).setPreferredWidth(100); // Course Number
         curriculumTable.getColumnModel().getColumn(2).setPreferredWidth(500); // Description
         curriculumTable.getColumnModel().getColumn(3).setPreferredWidth(50);  // Units
+        curriculumTable.getColumnModel().getColumn(4).setPreferredWidth(160); // Status
         
         // Style the table header
         curriculumTable.getTableHeader().setBackground(new Color(220, 220, 220));
         curriculumTable.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
         
         // Custom renderer for semester headers (bold rows with no checkbox)
-        curriculumTable.setDefaultRenderer(String.class, new javax.swing.table.DefaultTableCellRenderer() {
-            @Override
-            public java.awt.Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-                super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                
-                // Check if this is a semester header row (no course number)
-                Object courseNum = table.getValueAt(row, 1);
-                if (courseNum == null || courseNum.toString().trim().isEmpty()) {
-                    setFont(new Font("Arial", Font.BOLD, 12));
-                    setBackground(new Color(240, 240, 240));
-                    setHorizontalAlignment(SwingConstants.LEFT);
-                } else {
-                    setFont(new Font("Arial", Font.PLAIN, 11));
-                    setBackground(Color.WHITE);
-                    if (column == 3) { // Units column
-                        setHorizontalAlignment(SwingConstants.CENTER);
-                    } else {
-                        setHorizontalAlignment(SwingConstants.LEFT);
-                    }
-                }
-                
-                return this;
-            }
-        });
+        curriculumTable.setDefaultRenderer(String.class, PortalRenderers.CURRICULUM);
 
         JScrollPane scrollPane = new JScrollPane(curriculumTable);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         contentPanel.add(scrollPane, BorderLayout.CENTER);
 
+        // Unit totals
+        JLabel summaryLabel = new JLabel(progress == null ? "No curriculum available" : String.format(
+            "Completed: %.1f of %.1f units    In progress: %.1f    Remaining: %.1f    Terms left: at least %d",
+            progress.getCompletedUnits(), progress.getCurriculum().getTotalUnits(), progress.getInProgressUnits(),
+            progress.getRemainingUnits(), progress.getRemainingTerms()));
+        summaryLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(8, 10, 8, 10));
+        contentPanel.add(summaryLabel, BorderLayout.SOUTH);
+
         mainPanel.add(contentPanel, BorderLayout.CENTER);
         return mainPanel;
     }
 
     /**
-     * Generates curriculum data matching the BSIT curriculum from the image
+     * Builds the checklist rows: a header row per term, then one row per course
+     * checked when completed
+     * @param progress The student's curriculum progress (null shows an empty checklist)
      */
-    private Object[][] generateCurriculumData() {
+    private Object[][] generateCurriculumData(CurriculumProgress progress) {
         java.util.List<Object[]> data = new java.util.ArrayList<>();
-        
-        // First Year, First Semester
-        data.add(new Object[]{null, "", "First Year, First Semester", ""});
-        data.add(new Object[]{true, "CFE 101", "GOD'S JOURNEY WITH HIS PEOPLE", "3"});
-        data.add(new Object[]{true, "FIT HW", "PHYSICAL ACTIVITY TOWARDS HEALTH AND FITNESS (HEALTH AND WELLNESS)", "2"});
-        data.add(new Object[]{true, "GART", "ART APPRECIATION", "3"});
-        data.add(new Object[]{true, "GHIST", "READINGS IN PHILIPPINE HISTORY", "3"});
-        data.add(new Object[]{true, "GSELF", "UNDERSTANDING THE SELF", "3"});
-        data.add(new Object[]{true, "IT 111", "INTRODUCTION TO COMPUTING (LEC)", "2"});
-        data.add(new Object[]{true, "IT 111L", "INTRODUCTION TO COMPUTING (LAB)", "1"});
-        data.add(new Object[]{true, "IT 112", "COMPUTER PROGRAMMING 1 (LEC)", "2"});
-        data.add(new Object[]{true, "IT 112L", "COMPUTER PROGRAMMING 1 (LAB)", "1"});
-        data.add(new Object[]{true, "IT 113", "DISCRETE MATHEMATICS", "3"});
-        
-        // First Year, Second Semester
-        data.add(new Object[]{null, "", "First Year, Second Semester", ""});
-        data.add(new Object[]{true, "CFE 102", "CHRISTIAN MORALITY IN OUR TIMES", "3"});
-        data.add(new Object[]{true, "FIT CS", "PHYSICAL ACTIVITY TOWARDS HEALTH AND FITNESS (COMBATIVE SPORTS)", "2"});
-        data.add(new Object[]{true, "GCWORLD", "THE CONTEMPORARY WORLD", "3"});
-        data.add(new Object[]{true, "GMATH", "MATHEMATICS IN THE MODERN WORLD", "3"});
-        data.add(new Object[]{true, "GPCOM", "PURPOSIVE COMMUNICATION", "3"});
-        data.add(new Object[]{true, "IT 121", "INFORMATION SYSTEM FUNDAMENTALS", "3"});
-        data.add(new Object[]{true, "IT 122", "COMPUTER PROGRAMMING 2", "2"});
-        data.add(new Object[]{true, "IT 122L", "COMPUTER PROGRAMMING 2 (LAB)", "1"});
-        data.add(new Object[]{true, "IT 123", "PLATFORM TECHNOLOGIES", "2"});
-        data.add(new Object[]{true, "IT 123L", "PLATFORM TECHNOLOGIES (LAB)", "1"});
-        
-        // First Year, Short Term
-        data.add(new Object[]{null, "", "First Year, Short Term", ""});
-        data.add(new Object[]{true, "GRIZAL", "THE LIFE AND WORKS OF RIZAL", "3"});
-        data.add(new Object[]{true, "IT 131", "COMPUTER ARCHITECTURE", "2"});
-        data.add(new Object[]{true, "IT 131L", "COMPUTER ARCHITECTURE (LAB)", "1"});
-        
-        // Second Year, First Semester
-        data.add(new Object[]{null, "", "Second Year, First Semester", ""});
-        data.add(new Object[]{false, "CFE 103", "CATHOLIC FOUNDATION OF MISSION", "3"});
-        data.add(new Object[]{false, "FIT OA", "PHYSICAL ACTIVITY TOWARDS HEALTH AND FITNESS (OUTDOOR AND ADVENTURE ACTIVITIES)", "2"});
-        data.add(new Object[]{false, "GENVI", "ENVIRONMENTAL SCIENCE", "3"});
-        data.add(new Object[]{false, "GSTS", "SCIENCE, TECHNOLOGY, AND SOCIETY", "3"});
-        data.add(new Object[]{false, "IT 211", "REQUIREMENTS ANALYSIS AND MODELING", "3"});
-        data.add(new Object[]{false, "IT 212", "DATA STRUCTURES (LEC)", "2"});
-        data.add(new Object[]{false, "IT 212L", "DATA STRUCTURES (LAB)", "1"});
-        data.add(new Object[]{false, "IT 213", "NETWORK FUNDAMENTALS (LEC)", "2"});
-        data.add(new Object[]{false, "IT 213L", "NETWORK FUNDAMENTALS (LAB)", "1"});
-        data.add(new Object[]{false, "NSTP-CWTS 1", "FOUNDATIONS OF SERVICE", "3"});
-        
-        // Second Year, Second Semester
-        data.add(new Object[]{null, "", "Second Year, Second Semester", ""});
-        data.add(new Object[]{false, "CFE 104", "CICM MISSIONARY IDENTITY", "3"});
-        data.add(new Object[]{false, "FIT AQ", "PHYSICAL ACTIVITY TOWARDS HEALTH AND FITNESS (AQUATICS)", "2"});
-        data.add(new Object[]{false, "GENTREP", "THE ENTREPRENEURIAL MIND", "3"});
-        data.add(new Object[]{false, "GRVA", "READING VISUAL ART", "3"});
-        data.add(new Object[]{false, "IT 221", "INFORMATION MANAGEMENT (LEC)", "2"});
-        data.add(new Object[]{false, "IT 221L", "INFORMATION MANAGEMENT (LAB)", "1"});
-        data.add(new Object[]{false, "IT 222", "INTEGRATIVE TECHNOLOGIES (LEC)", "2"});
-        data.add(new Object[]{false, "IT 222L", "INTEGRATIVE TECHNOLOGIES (LAB)", "1"});
-        data.add(new Object[]{false, "IT 223", "HUMAN COMPUTER INTERACTION", "3"});
-        data.add(new Object[]{false, "NSTP-CWTS 2", "SOCIAL AWARENESS AND EMPOWERMENT FOR SERVICE", "3"});
-        
-        // Second Year, Short Term
-        data.add(new Object[]{null, "", "Second Year, Short Term", ""});
-        data.add(new Object[]{false, "CS 314", "SOCIAL AND PERSONAL DEVELOPMENT IN THE ICT WORKPLACE", "3"});
-        data.add(new Object[]{false, "CS 315", "TECHNOLOGY-ASSISTED PRESENTATION AND COMMUNICATION", "3"});
-        data.add(new Object[]{false, "GETHICS", "ETHICS", "3"});
-        
-        // Third Year, First Semester
-        data.add(new Object[]{null, "", "Third Year, First Semester", ""});
-        data.add(new Object[]{false, "CFE 105A", "CICM IN ACTION: JUSTICE, PEACE, INTEGRITY OF CREATION, INDIGENOUS PEOPLES & INTERRELIGIOUS DIALOGUE", "1.5"});
-        data.add(new Object[]{false, "IT 311", "APPLICATIONS DEVELOPMENT (LEC)", "2"});
-        data.add(new Object[]{false, "IT 311L", "APPLICATIONS DEVELOPMENT (LAB)", "1"});
-        data.add(new Object[]{false, "IT 312", "WEB TECHNOLOGIES (LEC)", "2"});
-        data.add(new Object[]{false, "IT 312L", "WEB TECHNOLOGIES (LAB)", "1"});
-        data.add(new Object[]{false, "IT 313", "SOFTWARE ENGINEERING", "3"});
-        data.add(new Object[]{false, "IT 314", "SOCIAL AND PROFESSIONAL ISSUES IN INFORMATION TECHNOLOGY", "3"});
-        data.add(new Object[]{false, "IT 315", "TECHNOPRENEURSHIP", "3"});
-        data.add(new Object[]{false, "ITE 15", "IT SECURITY MANAGEMENT (Elective)", "3"});
-        data.add(new Object[]{false, "ITE 23", "ELECTRONIC COMMERCE (Elective)", "3"});
-        data.add(new Object[]{false, "ITE 30", "INFORMATION TECHNOLOGY CERTIFICATION REVIEW (Elective)", "3"});
-        
-        // Third Year, Second Semester
-        data.add(new Object[]{null, "", "Third Year, Second Semester", ""});
-        data.add(new Object[]{false, "CFE 105B", "CICM IN ACTION: ENVIRONMENTAL PLANNING & MANAGEMENT, AND DISASTER RISK REDUCTION MANAGEMENT", "1.5"});
-        data.add(new Object[]{false, "IT 321", "IT PROJECT 1", "3"});
-        data.add(new Object[]{false, "IT 322", "DATA ANALYTICS (LEC)", "2"});
-        data.add(new Object[]{false, "IT 322L", "DATA ANALYTICS (LAB)", "1"});
-        data.add(new Object[]{false, "IT 323", "SYSTEM ADMINISTRATION AND MAINTENANCE (LEC)", "2"});
-        data.add(new Object[]{false, "IT 323L", "SYSTEM ADMINISTRATION AND MAINTENANCE (LAB)", "1"});
-        data.add(new Object[]{false, "IT 324", "SYSTEM INTEGRATION AND ARCHITECTURE", "3"});
-        data.add(new Object[]{false, "IT 325", "FIELD TRIPS AND SEMINARS", "3"});
-        data.add(new Object[]{false, "ITE 16", "CURRENT TRENDS 1 (Elective)", "3"});
-        data.add(new Object[]{false, "ITE 27", "CURRENT TRENDS 2 (Elective)", "3"});
-        data.add(new Object[]{false, "ITE 29", "SPECIAL TOPICS 2 (Elective)", "3"});
-        
-        // Third Year, Short Term
-        data.add(new Object[]{null, "", "Third Year, Short Term", ""});
-        data.add(new Object[]{false, "IT 331", "INFORMATION ASSURANCE AND SECURITY", "3"});
-        data.add(new Object[]{false, "ITE 17", "DATA MINING (LEC)", "2"});
-        data.add(new Object[]{false, "ITE 17L", "DATA MINING (LAB)", "1"});
-        
-        // Fourth Year, First Semester
-        data.add(new Object[]{null, "", "Fourth Year, First Semester", ""});
-        data.add(new Object[]{false, "CFE 106A", "EMBRACING THE CICM MISSION", "1.5"});
-        data.add(new Object[]{false, "FOR LANG 1", "FOREIGN LANGUAGE 1", "3"});
-        data.add(new Object[]{false, "IT 411", "IT PROJECT 2", "3"});
-        data.add(new Object[]{false, "IT 412", "IT RESOURCE MANAGEMENT", "3"});
-        data.add(new Object[]{false, "ITE 14", "UX CONCEPTS AND DESIGN (Elective)", "3"});
-        data.add(new Object[]{false, "ITE 28", "SPECIAL TOPICS 1 (Elective)", "3"});
-        
-        // Fourth Year, Second Semester
-        data.add(new Object[]{null, "", "Fourth Year, Second Semester", ""});
-        data.add(new Object[]{false, "CFE 106B", "EMBRACING THE CICM MISSION", "1.5"});
-        data.add(new Object[]{false, "IT 421", "PRACTICUM", "9"});
-        
-        return data.toArray(new Object[data.size()][4]);
-    }
-    
-    /**
-     * Parses profile data string from Database.txt into ProfileData object
-     */
-    private ProfileData parseProfileData(String profileData) {
-        ProfileData profile = new ProfileData();
-        
-        if (profileData == null || profileData.trim().isEmpty()) {
-            System.out.println("DEBUG: No profile data found, using defaults");
-            return profile; // Return default values
+        if (progress == null) {
+            return new Object[0][5];
         }
         
-        System.out.println("DEBUG: Parsing profile data: " + profileData);
-        
-        try {
-            String[] pairs = profileData.split(";");
-            System.out.println("DEBUG: Found " + pairs.length + " data pairs");
-            for (String pair : pairs) {
-                if (pair.trim().isEmpty()) continue;
-                
-                String[] keyValue = pair.split("=", 2);
-                if (keyValue.length == 2) {
-                    String key = keyValue[0].trim();
-                    String value = keyValue[1].trim();
-                    System.out.println("DEBUG: Parsing " + key + " = " + value);
-                    
-                    switch (key) {
-                        case "Gender": profile.gender = value; break;
-                        case "Citizenship": profile.citizenship = value; break;
-                        case "Religion": profile.religion = value; break;
-                        case "CivilStatus": profile.civilStatus = value; break;
-                        case "Birthplace": profile.birthplace = value; break;
-                        case "Nationality": profile.nationality = value; break;
-                        case "HomeAddress": profile.homeAddress = value; break;
-                        case "HomeTel": profile.homeTel = value; break;
-                        case "BaguioAddress": profile.baguioAddress = value; break;
-                        case "BaguioTel": profile.baguioTel = value; break;
-                        case "Cellphone": profile.cellphone = value; break;
-                        case "FatherName": profile.fatherName = value; break;
-                        case "FatherOcc": profile.fatherOcc = value; break;
-                        case "MotherName": profile.motherName = value; break;
-                        case "MotherOcc": profile.motherOcc = value; break;
-                        case "GuardianName": profile.guardianName = value; break;
-                        case "GuardianAddress": profile.guardianAddress = value; break;
-                    }
+        Curriculum curriculum = progress.getCurriculum();
+        for (Map.Entry<String, List<Integer>> term : curriculum.getTerms().entrySet()) {
+            data.add(new Object[]{null, "", term.getKey(), "", ""});
+            for (int index : term.getValue()) {
+                Curriculum.Course course = curriculum.getCourses().get(index);
+                CurriculumProgress.Status status = progress.getStatus(index);
+                String statusText = status.getLabel();
+                if (status == CurriculumProgress.Status.LOCKED) {
+                    statusText += " (needs " + String.join(", ", progress.getMissingPrerequisites(index)) + ")";
                 }
+                String units = course.getUnits() == Math.rint(course.getUnits())
+                    ? String.valueOf((int) course.getUnits()) : String.valueOf(course.getUnits());
+                data.add(new Object[]{status == CurriculumProgress.Status.COMPLETED, course.getCode(),
+                    course.getDescription(), units, statusText});
             }
-        } catch (Exception e) {
-            System.err.println("Error parsing profile data: " + e.getMessage());
         }
         
-        return profile;
+        return data.toArray(new Object[data.size()][5]);
     }
 }
-
-/**
- * Data class to hold parsed profile information
- */
-class ProfileData {
-    String gender = "Male";
-    String citizenship = "Filipino";
-    String religion = "Roman Catholic";
-    String civilStatus = "Single";
-    String birthplace = "None";
-    String nationality = "Filipino";
-    String homeAddress = "None";
-    String homeTel = "None";
-    String baguioAddress = "None";
-    String baguioTel = "None";
-    String cellphone = "None";
-    String fatherName = "None";
-    String fatherOcc = "None";
-    String motherName = "None";
-    String motherOcc = "None";
-    String guardianName = "None";
-    String guardianAddress = "None";
-    
-    // Getter methods
-    public String getGender() { return gender; }
-    public String getCitizenship() { return citizenship; }
-    public String getReligion() { return religion; }
-    public String getCivilStatus() { return civilStatus; }
-    public String getBirthplace() { return birthplace; }
-    public String getNationality() { return nationality; }
-    public String getHomeAddress() { return homeAddress; }
-    public String getHomeTel() { return homeTel; }
-    public String getBaguioAddress() { return baguioAddress; }
-    public String getBaguioTel() { return baguioTel; }
-    public String getCellphone() { return cellphone; }
-    public String getFatherName() { return fatherName; }
-    public String getFatherOcc() { return fatherOcc; }
-    public String getMotherName() { return motherName; }
-    public String getMotherOcc() { return motherOcc; }
-    public String getGuardianName() { return guardianName; }
-    public String getGuardianAddress() { return guardianAddress; }
-}
\ No newline at end of file
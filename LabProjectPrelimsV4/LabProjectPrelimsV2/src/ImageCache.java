@@ -0,0 +1,237 @@
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * Process-wide cache for the portal's image assets.
+ * Each classpath image is decoded once; scaled variants are rendered eagerly
+ * (instead of through the lazy Image.getScaledInstance) and kept by size, so
+ * opening a window only wraps an already-scaled image. Startup assets are
+ * decoded on a background thread while the login window is being built.
+ *
+ * Scaled variants can also be kept on disk between runs by setting
+ * -Dislu.imageCache.dir=&lt;directory&gt;; cached files are keyed by the source
+ * image's timestamp so a replaced image is scaled again.
+ */
+public class ImageCache {
+
+    public static final String LOGIN_LOGO = "/photos/SLULoginLogo.png";
+    public static final String HEADER_LOGO = "/photos/InsideLogo.png";
+    public static final String DISK_CACHE_PROPERTY = "islu.imageCache.dir";
+
+    private static final int MAX_VARIANTS = 64;
+
+    private static final ImageCache instance = new ImageCache(
+            System.getProperty(DISK_CACHE_PROPERTY) == null ? null : new File(System.getProperty(DISK_CACHE_PROPERTY)));
+
+    private final File diskCacheDir;
+    private final Map<String, CompletableFuture<BufferedImage>> originals = new ConcurrentHashMap<>();
+    private final Map<String, ImageIcon> variants = Collections.synchronizedMap(
+            new LinkedHashMap<String, ImageIcon>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ImageIcon> eldest) {
+                    return size() > MAX_VARIANTS;
+                }
+            });
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a cache
+     * @param diskCacheDir Directory for persisted variants, or null to keep them in memory only
+     */
+    ImageCache(File diskCacheDir) {
+        this.diskCacheDir = diskCacheDir;
+    }
+
+    /**
+     * Gets the shared image cache
+     * @return The cache instance
+     */
+    public static ImageCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts decoding and scaling the images shown by the login, account request
+     * and portal windows in the background
+     */
+    public static void preloadStartupAssets() {
+        ImageCache cache = getInstance();
+        cache.preload(LOGIN_LOGO, 360, 180); // Login window
+        cache.preload(LOGIN_LOGO, 180, 90);  // Account request header
+        cache.preload(HEADER_LOGO, -1, 40);  // Portal header
+    }
+
+    /**
+     * Queues an image variant to be prepared on the loader thread
+     * @param resource Classpath resource, e.g. /photos/InsideLogo.png
+     * @param width Target width, or -1 to keep the aspect ratio
+     * @param height Target height, or -1 to keep the aspect ratio
+     */
+    public void preload(String resource, int width, int height) {
+        loader.execute(() -> getIcon(resource, width, height));
+    }
+
+    /**
+     * Gets the decoded original of a classpath image
+     * @param resource Classpath resource, e.g. /photos/InsideLogo.png
+     * @return The image, or null if the resource is missing or unreadable
+     */
+    public BufferedImage getImage(String resource) {
+        CompletableFuture<BufferedImage> created = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> existing = originals.putIfAbsent(resource, created);
+        if (existing != null) {
+            return existing.join(); // Decoded already, or being decoded by another thread
+        }
+        BufferedImage image;
+        try {
+            image = decode(resource);
+        } catch (RuntimeException e) {
+            // Release the threads waiting on this decode, and let a later call try again
+            System.err.println("Error decoding image " + resource + ": " + e.getMessage());
+            originals.remove(resource, created);
+            image = null;
+        }
+        created.complete(image);
+        return image;
+    }
+
+    /**
+     * Gets a scaled copy of a classpath image
+     * @param resource Classpath resource, e.g. /photos/InsideLogo.png
+     * @param width Target width, or -1 to keep the aspect ratio
+     * @param height Target height, or -1 to keep the aspect ratio
+     * @return The scaled icon, or null if the resource is missing or unreadable
+     */
+    public ImageIcon getIcon(String resource, int width, int height) {
+        String key = resource + "@" + width + "x" + height;
+        ImageIcon icon = variants.get(key);
+        if (icon != null) {
+            return icon;
+        }
+
+        URL url = ImageCache.class.getResource(resource);
+        if (url == null) {
+            return null;
+        }
+        File diskFile = diskFileFor(url, resource, width, height);
+        BufferedImage scaled = readDiskVariant(diskFile);
+        if (scaled == null) {
+            BufferedImage original = getImage(resource);
+            if (original == null) {
+                return null;
+            }
+            int targetWidth = width > 0 ? width : original.getWidth() * height / original.getHeight();
+            int targetHeight = height > 0 ? height : original.getHeight() * width / original.getWidth();
+            scaled = scale(original, Math.max(1, targetWidth), Math.max(1, targetHeight));
+            writeDiskVariant(diskFile, scaled);
+        }
+
+        icon = new ImageIcon(scaled);
+        variants.put(key, icon);
+        return icon;
+    }
+
+    /**
+     * Gets an image that is drawn in code (e.g. a placeholder), drawing it only once
+     * @param key Unique name for the image
+     * @param painter Draws the image on a cache miss
+     * @return The cached icon
+     */
+    public ImageIcon getGenerated(String key, Supplier<BufferedImage> painter) {
+        return variants.computeIfAbsent(key, k -> new ImageIcon(painter.get()));
+    }
+
+    private static BufferedImage decode(String resource) {
+        URL url = ImageCache.class.getResource(resource);
+        if (url == null) {
+            return null;
+        }
+        try {
+            return ImageIO.read(url);
+        } catch (IOException e) {
+            System.err.println("Error loading image " + resource + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Scales with repeated halving followed by one bilinear pass, which looks
+     * close to SCALE_SMOOTH at a fraction of its cost
+     */
+    static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = step.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g2d.dispose();
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private File diskFileFor(URL url, String resource, int width, int height) {
+        if (diskCacheDir == null) {
+            return null;
+        }
+        long stamp = 0;
+        try {
+            URLConnection connection = url.openConnection();
+            stamp = connection.getLastModified();
+            connection.getInputStream().close();
+        } catch (IOException e) {
+            // Unknown timestamp; fall back to 0
+        }
+        String name = resource.replaceAll("[^A-Za-z0-9.]", "_");
+        return new File(diskCacheDir, name + "-" + stamp + "-" + width + "x" + height + ".png");
+    }
+
+    private static BufferedImage readDiskVariant(File file) {
+        if (file == null || !file.exists()) {
+            return null;
+        }
+        try {
+            return ImageIO.read(file);
+        } catch (IOException e) {
+            System.err.println("Error reading cached image " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeDiskVariant(File file, BufferedImage image) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.getParentFile().mkdirs();
+            File temp = new File(file.getPath() + ".tmp");
+            ImageIO.write(image, "png", temp);
+            java.nio.file.Files.move(temp.toPath(), file.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Error caching image " + file.getName() + ": " + e.getMessage());
+        }
+    }
+}
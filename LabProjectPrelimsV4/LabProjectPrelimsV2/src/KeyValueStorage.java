@@ -0,0 +1,274 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Embedded single-file key-value storage backend.
+ * Every row is stored under the key (table, studentID, seq), so all rows of a
+ * student are contiguous and can be read with a range scan instead of a full
+ * file scan. The file is an append-only log of put/delete records that is
+ * replayed into a sorted in-memory index on open and compacted when it
+ * accumulates too many stale records.
+ */
+public class KeyValueStorage implements StorageBackend {
+
+    public static final String DEFAULT_FILE = "portalStore.kv";
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final char KEY_SEPARATOR = '\u0001';
+    private static final char KEY_UPPER_BOUND = '\u0002';
+    private static final int MIN_COMPACTION_GARBAGE = 1000;
+
+    private final File file;
+    private final ConcurrentSkipListMap<String, String> index = new ConcurrentSkipListMap<>();
+    private final Map<StorageTable, Long> nextSequence = new EnumMap<>(StorageTable.class);
+    private DataOutputStream log;
+    private long garbageRecords;
+
+    private KeyValueStorage(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens (or creates) a store. A newly created store is seeded with the
+     * contents of the text data files so switching backends keeps existing data.
+     * @param file The store file
+     * @return The opened store
+     * @throws IOException if the store cannot be read or created
+     */
+    public static KeyValueStorage open(File file) throws IOException {
+        return open(file, new FlatFileStorage());
+    }
+
+    /**
+     * Opens (or creates) a store, seeding a new store from the given backend
+     * @param file The store file
+     * @param seed Backend to import from when the store is new, or null for an empty store
+     * @return The opened store
+     * @throws IOException if the store cannot be read or created
+     */
+    public static KeyValueStorage open(File file, StorageBackend seed) throws IOException {
+        KeyValueStorage store = new KeyValueStorage(file);
+        boolean isNew = !file.exists() || file.length() == 0;
+        if (!isNew) {
+            store.replay();
+        }
+        store.log = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+
+        if (isNew && seed != null) {
+            for (StorageTable table : StorageTable.values()) {
+                if (seed.exists(table)) {
+                    store.appendAll(table, seed.scan(table));
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Rebuilds the in-memory index from the log. A torn record at the end of
+     * the file (from a crash mid-write) is cut off.
+     */
+    private void replay() throws IOException {
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                try {
+                    String key = readString(in);
+                    if (op == OP_PUT) {
+                        String value = readString(in);
+                        if (index.put(key, value) != null) {
+                            garbageRecords++;
+                        }
+                        trackSequence(key);
+                        validLength += 1 + 8 + utf8Length(key) + utf8Length(value);
+                    } else if (op == OP_DELETE) {
+                        index.remove(key);
+                        garbageRecords += 2;
+                        validLength += 1 + 4 + utf8Length(key);
+                    } else {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        }
+
+        if (validLength < file.length()) {
+            System.err.println("Key-value store " + file.getName() + " had a torn tail; truncating to " + validLength + " bytes");
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validLength);
+            }
+        }
+    }
+
+    private void trackSequence(String key) {
+        int first = key.indexOf(KEY_SEPARATOR);
+        int last = key.lastIndexOf(KEY_SEPARATOR);
+        StorageTable table = StorageTable.valueOf(key.substring(0, first));
+        long seq = Long.parseLong(key.substring(last + 1));
+        nextSequence.merge(table, seq + 1, Math::max);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static String prefix(StorageTable table) {
+        return table.name() + KEY_SEPARATOR;
+    }
+
+    private static String prefix(StorageTable table, String studentID) {
+        return table.name() + KEY_SEPARATOR + studentID + KEY_SEPARATOR;
+    }
+
+    private static String upperBound(String prefix) {
+        return prefix.substring(0, prefix.length() - 1) + KEY_UPPER_BOUND;
+    }
+
+    private ConcurrentNavigableMap<String, String> range(String prefix) {
+        return index.subMap(prefix, true, upperBound(prefix), false);
+    }
+
+    private String newKey(StorageTable table, String row) {
+        long seq = nextSequence.getOrDefault(table, 0L);
+        nextSequence.put(table, seq + 1);
+        return prefix(table, table.studentIdOf(row)) + String.format("%012d", seq);
+    }
+
+    @Override
+    public String getName() {
+        return "kv";
+    }
+
+    @Override
+    public boolean exists(StorageTable table) {
+        return !range(prefix(table)).isEmpty();
+    }
+
+    /**
+     * Records the rows a read visited in the metrics registry. Bytes are counted
+     * the way FlatFileStorage counts them (row text plus a line break), so the two
+     * backends can be compared.
+     */
+    private static List<String> recordScan(List<String> rows) {
+        long bytes = 0;
+        for (String row : rows) {
+            bytes += row.length() + 1;
+        }
+        MetricsRegistry.recordScan(rows.size(), bytes);
+        return rows;
+    }
+
+    @Override
+    public List<String> scan(StorageTable table) {
+        List<String> rows = new ArrayList<>(range(prefix(table)).values());
+        return recordScan(rows);
+    }
+
+    @Override
+    public List<String> scan(StorageTable table, String studentID) {
+        List<String> rows = new ArrayList<>(range(prefix(table, studentID)).values());
+        return recordScan(rows);
+    }
+
+    @Override
+    public synchronized void append(StorageTable table, String row) throws IOException {
+        appendAll(table, Collections.singletonList(row));
+    }
+
+    @Override
+    public synchronized void appendAll(StorageTable table, List<String> rows) throws IOException {
+        for (String row : rows) {
+            String key = newKey(table, row);
+            log.writeByte(OP_PUT);
+            writeString(log, key);
+            writeString(log, row);
+            index.put(key, row);
+        }
+        log.flush();
+    }
+
+    @Override
+    public synchronized int update(StorageTable table, String studentID, UnaryOperator<String> updater)
+            throws IOException {
+        int changed = 0;
+        for (Map.Entry<String, String> entry : new ArrayList<>(range(prefix(table, studentID)).entrySet())) {
+            String replacement = updater.apply(entry.getValue());
+            if (replacement == null) {
+                log.writeByte(OP_DELETE);
+                writeString(log, entry.getKey());
+                index.remove(entry.getKey());
+                garbageRecords += 2;
+                changed++;
+            } else if (!replacement.equals(entry.getValue())) {
+                log.writeByte(OP_PUT);
+                writeString(log, entry.getKey());
+                writeString(log, replacement);
+                index.put(entry.getKey(), replacement);
+                garbageRecords++;
+                changed++;
+            }
+        }
+        log.flush();
+
+        if (garbageRecords > MIN_COMPACTION_GARBAGE && garbageRecords > index.size()) {
+            compact();
+        }
+        return changed;
+    }
+
+    /**
+     * Rewrites the log so it only holds live records, then swaps it in place
+     * @throws IOException if the compacted log cannot be written
+     */
+    public synchronized void compact() throws IOException {
+        File temp = new File(file.getPath() + ".compact");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            for (Map.Entry<String, String> entry : index.entrySet()) {
+                out.writeByte(OP_PUT);
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        }
+
+        log.close();
+        java.nio.file.Files.move(temp.toPath(), file.toPath(),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+        log = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        garbageRecords = 0;
+    }
+
+    /**
+     * Flushes and closes the store file
+     * @throws IOException if the log cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+}
@@ -6,13 +6,11 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.net.URL;
 import java.io.*;
 
 public class Login extends JFrame {
 
     private JLabel logoLabel;
-    private Image originalLogoImage;
     private int originalLogoWidth;
     private int originalLogoHeight;
 
@@ -31,14 +29,11 @@ public class Login extends JFrame {
         contentPanel.setOpaque(false);
 
         // ================== SLU Logo ==================
-        URL logoUrl = getClass().getResource("/photos/SLULoginLogo.png");
-        if (logoUrl != null) {
-            ImageIcon originalIcon = new ImageIcon(logoUrl);
-            originalLogoImage = originalIcon.getImage();
-            originalLogoWidth = originalIcon.getIconWidth();
-            originalLogoHeight = originalIcon.getIconHeight();
-            Image scaledImage = originalLogoImage.getScaledInstance(360, 180, Image.SCALE_SMOOTH);
-            ImageIcon scaledIcon = new ImageIcon(scaledImage);
+        ImageIcon scaledIcon = ImageCache.getInstance().getIcon(ImageCache.LOGIN_LOGO, 360, 180);
+        if (scaledIcon != null) {
+            java.awt.image.BufferedImage originalLogo = ImageCache.getInstance().getImage(ImageCache.LOGIN_LOGO);
+            originalLogoWidth = originalLogo.getWidth();
+            originalLogoHeight = originalLogo.getHeight();
             logoLabel = new JLabel(scaledIcon);
         } else {
             logoLabel = new JLabel("SLU portal");
@@ -158,21 +153,49 @@ public class Login extends JFrame {
                 return;
             }
 
-            // Authenticate against Database.txt
-            if (authenticateUser(enteredID, enteredPassword)) {
-                // If authentication successful → go to HomePage
-                dispose(); // close login
-                new ISLUStudentPortal(enteredID).setVisible(true); // open your HomePage class with student ID
-            } else {
-                // If authentication failed
-                JOptionPane.showMessageDialog(this, 
-                    "Invalid ID Number or Password.\nPlease check your credentials and try again.", 
-                    "Authentication Failed", 
-                    JOptionPane.ERROR_MESSAGE);
-                // Clear password field for security
-                passwordField.setText("");
-                passwordField.requestFocusInWindow();
+            // Authenticate against the credential store (hashing runs off the UI thread)
+            java.util.concurrent.CompletableFuture<AuthenticationService.Result> pending =
+                authenticateUser(enteredID, enteredPassword);
+            if (pending == null) {
+                return;
             }
+            loginButton.setEnabled(false);
+            pending.thenAccept(result -> {
+                if (result == AuthenticationService.Result.SUCCESS) {
+                    // Load the student's data in parallel, then open the HomePage from that session
+                    StartupProfiler.mark("credentials verified");
+                    PortalPreloader.preload(enteredID).whenComplete((session, error) -> SwingUtilities.invokeLater(() -> {
+                        StartupProfiler.mark("portal data preloaded");
+                        dispose(); // close login
+                        if (session != null) {
+                            new ISLUStudentPortal(session).setVisible(true);
+                        } else {
+                            new ISLUStudentPortal(enteredID).setVisible(true); // Retry the loads on the way in
+                        }
+                    }));
+                } else {
+                    SwingUtilities.invokeLater(() -> {
+                        loginButton.setEnabled(true);
+                        if (result == AuthenticationService.Result.THROTTLED) {
+                            // Too many attempts for this ID or from this machine
+                            JOptionPane.showMessageDialog(this, 
+                                "Too many login attempts.\nPlease wait a moment before trying again.", 
+                                "Authentication Failed", 
+                                JOptionPane.WARNING_MESSAGE);
+                            passwordField.setText("");
+                        } else {
+                            // If authentication failed
+                            JOptionPane.showMessageDialog(this, 
+                                "Invalid ID Number or Password.\nPlease check your credentials and try again.", 
+                                "Authentication Failed", 
+                                JOptionPane.ERROR_MESSAGE);
+                            // Clear password field for security
+                            passwordField.setText("");
+                            passwordField.requestFocusInWindow();
+                        }
+                    });
+                }
+            });
         });
 
         // ================== Labels (forgot + request) ==================
@@ -248,42 +271,49 @@ public class Login extends JFrame {
     }
 
     private void updateLogoSize(int availableWidth) {
-        if (originalLogoImage == null || logoLabel == null) {
+        if (originalLogoWidth == 0 || logoLabel == null) {
             return;
         }
-        int targetWidth = Math.max(360, Math.min(availableWidth - 120, 1000));
+        // Widths are rounded to 20px steps so resizing reuses a few cached variants
+        int targetWidth = Math.max(360, Math.min(availableWidth - 120, 1000)) / 20 * 20;
         if (targetWidth <= 0) {
             return;
         }
         int targetHeight = (int) Math.round((double) originalLogoHeight * targetWidth / (double) originalLogoWidth);
-        Image scaled = originalLogoImage.getScaledInstance(targetWidth, targetHeight, Image.SCALE_SMOOTH);
-        logoLabel.setIcon(new ImageIcon(scaled));
+        logoLabel.setIcon(ImageCache.getInstance().getIcon(ImageCache.LOGIN_LOGO, targetWidth, targetHeight));
         logoLabel.setMaximumSize(new Dimension(targetWidth, targetHeight));
         logoLabel.revalidate();
         logoLabel.repaint();
     }
 
     /**
-     * Authenticates user credentials using DataManager
+     * Authenticates user credentials using the AuthenticationService
      * @param enteredID The ID entered by user
      * @param enteredPassword The password entered by user
-     * @return true if credentials match, false otherwise
+     * @return Future completing with the result of the attempt, or null if the database is missing
      */
-    private boolean authenticateUser(String enteredID, String enteredPassword) {
+    private java.util.concurrent.CompletableFuture<AuthenticationService.Result> authenticateUser(
+            String enteredID, String enteredPassword) {
         // Check database availability first for clearer error messaging
         if (!DataManager.databaseExists()) {
             JOptionPane.showMessageDialog(this,
                 "Database not found. Please contact administrator.",
                 "Database Error",
                 JOptionPane.ERROR_MESSAGE);
-            return false;
+            return null;
         }
 
-        boolean isValid = DataManager.authenticateUser(enteredID, enteredPassword);
-        return isValid;
+        return AuthenticationService.getInstance().authenticateAsync(
+                enteredID, enteredPassword, AuthenticationService.LOCAL_SOURCE);
     }
 
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new Login().setVisible(true));
+        StartupProfiler.mark("main");
+        ImageCache.preloadStartupAssets();
+        SwingUtilities.invokeLater(() -> {
+            Login login = new Login();
+            login.setVisible(true);
+            StartupProfiler.mark("login window shown");
+        });
     }
 }
@@ -0,0 +1,162 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded least-recently-used cache with a time to live.
+ * The cache is bounded both by number of entries and by total weight (for
+ * example the number of rows held), so its memory use does not grow with the
+ * number of keys ever seen. Entries older than the time to live are dropped
+ * on access. Hit, miss, eviction, expiry and invalidation counts are kept for
+ * reporting.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final ToIntFunction<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates a cache
+     * @param maxEntries Maximum number of entries
+     * @param maxWeight Maximum total weight of all entries
+     * @param ttlMillis Time to live of an entry in milliseconds
+     * @param weigher Computes the weight of a value (at least 1 is counted)
+     */
+    public LruCache(int maxEntries, long maxWeight, long ttlMillis, ToIntFunction<V> weigher) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Gets a cached value, counting a hit or a miss
+     * @param key The key
+     * @return The value, or null if it is missing or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.loadedAt > ttlNanos) {
+            remove(key, entry);
+            expirations.incrementAndGet();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Gets a cached value without counting it or refreshing its position
+     * @param key The key
+     * @return The value, or null if it is missing or expired
+     */
+    public synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || System.nanoTime() - entry.loadedAt > ttlNanos) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, evicting least recently used entries to stay within bounds.
+     * A value heavier than the whole cache is not stored.
+     * @param key The key
+     * @param value The value
+     */
+    public synchronized void put(K key, V value) {
+        int weight = Math.max(1, weigher.applyAsInt(value));
+        Entry<V> previous = entries.remove(key);
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+        if (weight > maxWeight) {
+            return;
+        }
+
+        entries.put(key, new Entry<>(value, weight, System.nanoTime()));
+        totalWeight += weight;
+
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalWeight > maxWeight) && eldest.hasNext()) {
+            Map.Entry<K, Entry<V>> candidate = eldest.next();
+            totalWeight -= candidate.getValue().weight;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops one entry (after the data behind it was written)
+     * @param key The key
+     */
+    public synchronized void invalidate(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            remove(key, entry);
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops every entry
+     */
+    public synchronized void invalidateAll() {
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    private void remove(K key, Entry<V> entry) {
+        entries.remove(key);
+        totalWeight -= entry.weight;
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getWeight() { return totalWeight; }
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public long getExpirations() { return expirations.get(); }
+    public long getInvalidations() { return invalidations.get(); }
+
+    /**
+     * Gets the share of lookups that were hits
+     * @return Hit ratio between 0 and 1 (0 before the first lookup)
+     */
+    public double getHitRatio() {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0 : (double) hits.get() / lookups;
+    }
+
+    private static class Entry<V> {
+        final V value;
+        final int weight;
+        final long loadedAt;
+
+        Entry(V value, int weight, long loadedAt) {
+            this.value = value;
+            this.weight = weight;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for DataManager's storage operations.
+ * For each named operation it keeps the number of calls, the duration, the
+ * rows returned and, for reads that reach a data file, the rows and bytes the
+ * backend went through to find them. A read served from the row cache shows
+ * up as a call that scanned nothing.
+ *
+ * Everything is recorded with lock-free adders. getSnapshot() returns the
+ * current values; with -Dislu.metrics.file=path the report is also written to
+ * that file every -Dislu.metrics.interval seconds (default 60) and on exit.
+ */
+public class MetricsRegistry {
+
+    public static final String FILE_PROPERTY = "islu.metrics.file";
+    public static final String INTERVAL_PROPERTY = "islu.metrics.interval";
+    private static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    // Rows and bytes read by storage backends on the current thread, picked up by the running operation
+    private static final ThreadLocal<long[]> scanTally = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private ScheduledExecutorService dumper;
+
+    private MetricsRegistry() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null) {
+            startDump(new File(file), Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS));
+        }
+    }
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Records the rows and bytes a backend read while scanning a data file
+     * @param rows Number of rows read (matching or not)
+     * @param bytes Number of bytes read
+     */
+    public static void recordScan(long rows, long bytes) {
+        long[] tally = scanTally.get();
+        tally[0] += rows;
+        tally[1] += bytes;
+    }
+
+    /**
+     * Starts timing an operation
+     * @param operation Name of the operation (e.g. the DataManager method)
+     * @return Timer to stop once the operation is done
+     */
+    public Timer start(String operation) {
+        OperationMetrics metrics = operations.computeIfAbsent(operation, name -> new OperationMetrics());
+        long[] tally = scanTally.get();
+        return new Timer(metrics, tally, System.nanoTime());
+    }
+
+    /**
+     * Gets the current values of every operation
+     * @return Snapshots by operation name, sorted by name
+     */
+    public Map<String, Snapshot> getSnapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        for (Map.Entry<String, OperationMetrics> entry : operations.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Formats the snapshot as a table, followed by the row cache counters
+     * @return The report text
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-34s %8s %10s %10s %10s %12s %9s %9s %9s %9s%n", "Operation", "Calls",
+                "Matched", "Scanned", "KB read", "Total ms", "p50 ms", "p90 ms", "p99 ms", "Max ms"));
+        for (Map.Entry<String, Snapshot> entry : getSnapshot().entrySet()) {
+            Snapshot s = entry.getValue();
+            report.append(String.format("%-34s %8d %10d %10d %10d %12.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    s.calls, s.rowsMatched, s.rowsScanned, s.bytesRead / 1024, millis(s.totalNanos),
+                    millis(s.p50Nanos), millis(s.p90Nanos), millis(s.p99Nanos), millis(s.maxNanos)));
+        }
+        report.append(DataManager.getCacheReport());
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to a file now, replacing the previous one
+     * @param file The metrics file
+     */
+    public void dump(File file) {
+        File temp = new File(file.getAbsolutePath() + ".tmp");
+        try (Writer writer = new FileWriter(temp)) {
+            writer.write("Metrics at " + java.time.LocalDateTime.now() + "\n");
+            writer.write(getReport());
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the report to a file periodically and once more on exit
+     * @param file The metrics file
+     * @param intervalSeconds Seconds between writes
+     */
+    public synchronized void startDump(File file, long intervalSeconds) {
+        if (dumper != null) {
+            return;
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, intervalSeconds);
+        dumper.scheduleAtFixedRate(() -> dump(file), interval, interval, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(file), "metrics-final-dump"));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Times one call of an operation
+     */
+    public static class Timer {
+        private final OperationMetrics metrics;
+        private final long[] tally;
+        private final long startNanos;
+        private final long startRows;
+        private final long startBytes;
+
+        private Timer(OperationMetrics metrics, long[] tally, long startNanos) {
+            this.metrics = metrics;
+            this.tally = tally;
+            this.startNanos = startNanos;
+            this.startRows = tally[0];
+            this.startBytes = tally[1];
+        }
+
+        /**
+         * Records the call
+         * @param rowsMatched Number of rows the operation returned or wrote
+         */
+        public void stop(long rowsMatched) {
+            metrics.latency.record(System.nanoTime() - startNanos);
+            metrics.rowsMatched.add(rowsMatched);
+            metrics.rowsScanned.add(tally[0] - startRows);
+            metrics.bytesRead.add(tally[1] - startBytes);
+        }
+    }
+
+    private static class OperationMetrics {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder rowsMatched = new LongAdder();
+        final LongAdder rowsScanned = new LongAdder();
+        final LongAdder bytesRead = new LongAdder();
+
+        Snapshot snapshot() {
+            return new Snapshot(latency.getCount(), rowsMatched.sum(), rowsScanned.sum(), bytesRead.sum(),
+                    latency.getTotal(), latency.getPercentile(50), latency.getPercentile(90),
+                    latency.getPercentile(99), latency.getMax());
+        }
+    }
+
+    /**
+     * Values of one operation at the time of the snapshot
+     */
+    public static class Snapshot {
+        public final long calls;
+        public final long rowsMatched;
+        public final long rowsScanned;
+        public final long bytesRead;
+        public final long totalNanos;
+        public final long p50Nanos;
+        public final long p90Nanos;
+        public final long p99Nanos;
+        public final long maxNanos;
+
+        Snapshot(long calls, long rowsMatched, long rowsScanned, long bytesRead, long totalNanos,
+                 long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+            this.calls = calls;
+            this.rowsMatched = rowsMatched;
+            this.rowsScanned = rowsScanned;
+            this.bytesRead = bytesRead;
+            this.totalNanos = totalNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+    }
+}
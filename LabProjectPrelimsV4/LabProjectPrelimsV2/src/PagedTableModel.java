@@ -0,0 +1,102 @@
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Read-only table model that pulls rows from a PageSource one page at a time.
+ * JTable only asks for the cells it paints, so rows are fetched and formatted
+ * as the viewport scrolls, and a small LRU cache keeps the pages around the
+ * current scroll position.
+ */
+public class PagedTableModel extends AbstractTableModel {
+
+    /**
+     * Supplies already-formatted rows for a PagedTableModel
+     */
+    public interface PageSource {
+        /**
+         * @return Total number of rows
+         */
+        int getRowCount();
+
+        /**
+         * Loads and formats a block of rows
+         * @param offset Index of the first row
+         * @param limit Maximum number of rows
+         * @return The rows, one Object[] per row
+         */
+        List<Object[]> loadPage(int offset, int limit);
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_CACHED_PAGES = 4;
+
+    private final String[] columnNames;
+    private final PageSource source;
+    private final int pageSize;
+    private final Map<Integer, List<Object[]>> pages;
+    private int rowCount;
+
+    public PagedTableModel(String[] columnNames, PageSource source) {
+        this(columnNames, source, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES);
+    }
+
+    public PagedTableModel(String[] columnNames, PageSource source, int pageSize, int cachedPages) {
+        this.columnNames = columnNames;
+        this.source = source;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<Integer, List<Object[]>>(cachedPages + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+        this.rowCount = source.getRowCount();
+    }
+
+    /**
+     * Drops cached pages and re-reads the row count (e.g. after a new payment is logged)
+     */
+    public void refresh() {
+        pages.clear();
+        rowCount = source.getRowCount();
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int pageIndex = row / pageSize;
+        List<Object[]> page = pages.get(pageIndex);
+        if (page == null) {
+            page = source.loadPage(pageIndex * pageSize, pageSize);
+            pages.put(pageIndex, page);
+        }
+
+        int offset = row - pageIndex * pageSize;
+        if (offset >= page.size() || column >= page.get(offset).length) {
+            return ""; // Source shrank since the count was taken
+        }
+        return page.get(offset)[column];
+    }
+}
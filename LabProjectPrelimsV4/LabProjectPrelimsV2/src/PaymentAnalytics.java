@@ -0,0 +1,246 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Payment totals for finance: per channel, per day and channel, and per
+ * semester reference, over everything in the payment log.
+ *
+ * The log is summed once, in slices on a thread pool, when the analytics are
+ * first used; after that every batch the ledger appends is added as it is
+ * logged (see PaymentLedger.scanAndSubscribe), so the log is never read
+ * again. Totals are immutable and each day keeps its per-channel totals as
+ * one immutable map that is swapped on every payment, so "today by channel"
+ * is a single lookup and readers never lock.
+ */
+public class PaymentAnalytics {
+
+    private static PaymentAnalytics instance;
+
+    // Amounts are kept in centavos so sums do not drift
+    private final Map<String, Totals> byChannel = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Map<String, Totals>> byDay = new ConcurrentHashMap<>();
+    private final Map<String, Totals> bySemester = new ConcurrentHashMap<>();
+    private long buildMillis;
+
+    private PaymentAnalytics() {
+    }
+
+    /**
+     * Gets the analytics, summing the payment log on first use
+     * @return The shared analytics
+     */
+    public static synchronized PaymentAnalytics getInstance() {
+        if (instance == null) {
+            instance = new PaymentAnalytics();
+            instance.build(Runtime.getRuntime().availableProcessors());
+        }
+        return instance;
+    }
+
+    /**
+     * Sums the payment log in parallel slices and subscribes to new payments.
+     * Adding is order independent, so batches logged while the slices are
+     * still being merged can be added straight away.
+     */
+    private void build(int threads) {
+        long start = System.currentTimeMillis();
+        List<String> rows;
+        try {
+            rows = PaymentLedger.getInstance().scanAndSubscribe(this::addRows);
+        } catch (IOException e) {
+            System.err.println("Error reading payment logs: " + e.getMessage());
+            return;
+        }
+
+        int workers = Math.max(1, Math.min(threads, rows.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "payment-analytics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Rollup>> slices = new ArrayList<>();
+            int sliceSize = Math.max(1, (rows.size() + workers - 1) / workers);
+            for (int from = 0; from < rows.size(); from += sliceSize) {
+                List<String> slice = rows.subList(from, Math.min(from + sliceSize, rows.size()));
+                slices.add(pool.submit(() -> {
+                    Rollup rollup = new Rollup();
+                    for (String row : slice) {
+                        rollup.add(row);
+                    }
+                    return rollup;
+                }));
+            }
+            for (Future<Rollup> slice : slices) {
+                merge(slice.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error summing payment logs: " + e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        buildMillis = System.currentTimeMillis() - start;
+        PortalLog.log(PortalLog.Level.INFO, "payments.analytics", "rows", rows.size(), "ms", buildMillis);
+    }
+
+    /**
+     * Adds a batch of newly logged rows (called on the ledger's writer thread)
+     */
+    private void addRows(List<String> rows) {
+        Rollup rollup = new Rollup();
+        for (String row : rows) {
+            rollup.add(row);
+        }
+        merge(rollup);
+    }
+
+    private void merge(Rollup rollup) {
+        rollup.byChannel.forEach((channel, totals) -> byChannel.merge(channel, totals, Totals::plus));
+        rollup.bySemester.forEach((semester, totals) -> bySemester.merge(semester, totals, Totals::plus));
+        rollup.byDay.forEach((day, channels) -> byDay.compute(day, (d, current) -> {
+            Map<String, Totals> merged = current == null ? new TreeMap<>() : new TreeMap<>(current);
+            channels.forEach((channel, totals) -> merged.merge(channel, totals, Totals::plus));
+            return Collections.unmodifiableMap(merged);
+        }));
+    }
+
+    /**
+     * Gets today's totals per channel
+     * @return Channel to totals, sorted by channel (empty if nothing was paid today)
+     */
+    public Map<String, Totals> getTodayByChannel() {
+        return getByChannel(LocalDate.now());
+    }
+
+    /**
+     * Gets a day's totals per channel
+     * @param day The day
+     * @return Channel to totals, sorted by channel
+     */
+    public Map<String, Totals> getByChannel(LocalDate day) {
+        return byDay.getOrDefault(day, Collections.emptyMap());
+    }
+
+    /**
+     * Gets the totals per channel over the whole log
+     * @return Channel to totals, sorted by channel
+     */
+    public Map<String, Totals> getByChannel() {
+        return Collections.unmodifiableMap(new TreeMap<>(byChannel));
+    }
+
+    /**
+     * Gets the totals per day over all channels
+     * @return Day to totals, oldest first
+     */
+    public Map<LocalDate, Totals> getByDay() {
+        Map<LocalDate, Totals> days = new TreeMap<>();
+        byDay.forEach((day, channels) -> {
+            Totals total = Totals.NONE;
+            for (Totals totals : channels.values()) {
+                total = total.plus(totals);
+            }
+            days.put(day, total);
+        });
+        return Collections.unmodifiableMap(days);
+    }
+
+    /**
+     * Gets the totals per semester reference (e.g. "FIRST SEMESTER 2025-2026 Enrollme.")
+     * @return Reference to totals, sorted by reference
+     */
+    public Map<String, Totals> getBySemester() {
+        return Collections.unmodifiableMap(new TreeMap<>(bySemester));
+    }
+
+    /**
+     * Gets how long the first pass over the log took
+     * @return Milliseconds
+     */
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+
+    /**
+     * Parses the day of a payment row's date ("MM/dd/yyyy hh:mm a")
+     * @return The day, or null if the date is malformed
+     */
+    static LocalDate dayOf(String date) {
+        if (date.length() < 10 || date.charAt(2) != '/' || date.charAt(5) != '/') {
+            return null;
+        }
+        try {
+            return LocalDate.of(Integer.parseInt(date.substring(6, 10)), Integer.parseInt(date.substring(0, 2)),
+                    Integer.parseInt(date.substring(3, 5)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Number of payments and amount paid. Immutable.
+     */
+    public static class Totals {
+
+        static final Totals NONE = new Totals(0, 0);
+
+        private final long count;
+        private final long centavos;
+
+        Totals(long count, long centavos) {
+            this.count = count;
+            this.centavos = centavos;
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, centavos + other.centavos);
+        }
+
+        public long getCount() { return count; }
+        public double getAmount() { return centavos / 100.0; }
+    }
+
+    /**
+     * Totals of one slice of rows, kept by a single thread
+     */
+    private static class Rollup {
+
+        final Map<String, Totals> byChannel = new HashMap<>();
+        final Map<LocalDate, Map<String, Totals>> byDay = new HashMap<>();
+        final Map<String, Totals> bySemester = new HashMap<>();
+
+        void add(String row) {
+            PaymentTransaction transaction;
+            try {
+                transaction = DataManager.parsePaymentRow(row);
+            } catch (NumberFormatException e) {
+                return;
+            }
+            if (transaction == null) {
+                return;
+            }
+            LocalDate day = dayOf(transaction.getDate());
+            if (day == null) {
+                return;
+            }
+            Totals totals = new Totals(1, Math.round(transaction.getAmount() * 100));
+            String channel = transaction.getPaymentChannel();
+            byChannel.merge(channel, totals, Totals::plus);
+            byDay.computeIfAbsent(day, d -> new HashMap<>()).merge(channel, totals, Totals::plus);
+            bySemester.merge(PaymentLedger.descriptionOf(transaction.getReference()), totals, Totals::plus);
+        }
+    }
+}
@@ -0,0 +1,461 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Commits payments to the payment log exactly once.
+ *
+ * Every payment carries an idempotency key made by the payment form when it
+ * opens, so submitting the same form twice commits one payment. The key is
+ * written into the payment's reference ("... Ref 1F0C...") so it can be found
+ * in the log again.
+ *
+ * A commit first appends the finished log row to paymentJournal.txt and syncs
+ * it to disk, then appends the row to the payment log. Only then is the
+ * payment reported as done. If the log append fails, the log is checked for
+ * the rows that did reach it (those payments count as done); for the others
+ * an abort record is journaled and synced before the caller gets the
+ * IOException, so neither recovery nor a retry with the same key can log a
+ * payment the caller was told had failed. Journal writes go through a
+ * GroupCommitWriter, so payments arriving together share one sync and one
+ * payment log append (tuning: -Dislu.payments.batchSize=64,
+ * -Dislu.payments.batchMillis=2). On startup the journal is
+ * replayed: torn journal lines (bad checksum) are dropped, a torn last row of
+ * the payment log is cut off, and journaled payments missing from the log are
+ * appended again. The journal is then compacted to the most recent keys,
+ * which also seed the in-memory dedup index.
+ *
+ * Journal lines are "P|row|crc" (pending or committed) and "A|key|crc"
+ * (aborted), where crc is the CRC-32 of everything before it.
+ */
+public class PaymentLedger {
+
+    public static final String JOURNAL_FILE = "paymentJournal.txt";
+    private static final String REFERENCE_KEY_PREFIX = " Ref ";
+
+    public static final String BATCH_SIZE_PROPERTY = "islu.payments.batchSize";
+    public static final String BATCH_MILLIS_PROPERTY = "islu.payments.batchMillis";
+    private static final int DEFAULT_BATCH_SIZE = 64;
+    private static final long DEFAULT_BATCH_MILLIS = 2;
+
+    // Keys remembered for dedup, and journal entries kept by compaction
+    private static final int RECENT_KEYS = 10_000;
+    private static final long DEDUP_WINDOW_MILLIS = 7L * 24 * 60 * 60 * 1000;
+
+    private static final SecureRandom random = new SecureRandom();
+    private static PaymentLedger instance;
+
+    private final File journalFile;
+    // Idempotency key -> committed log row
+    private final LruCache<String, String> recentKeys =
+            new LruCache<>(RECENT_KEYS, RECENT_KEYS, DEDUP_WINDOW_MILLIS, row -> 1);
+    // Idempotency key -> outcome of the commit still waiting for its batch
+    private final Map<String, CompletableFuture<Boolean>> committing = new HashMap<>();
+    // Idempotency key -> error of a synced payment whose log append failed
+    private final Map<String, IOException> failedAppends = new HashMap<>();
+    private GroupCommitWriter journal;
+    // Held while rows are appended to the log and handed to the listeners
+    private final Object logLock = new Object();
+    private final List<Consumer<List<String>>> logListeners = new CopyOnWriteArrayList<>();
+
+    private PaymentLedger(File journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Gets the ledger, recovering the payment log from the journal on first use
+     * @return The shared ledger
+     */
+    public static synchronized PaymentLedger getInstance() {
+        if (instance == null) {
+            instance = new PaymentLedger(resolveJournalFile());
+            try {
+                instance.recover();
+            } catch (IOException e) {
+                System.err.println("Error recovering payment journal: " + e.getMessage());
+            }
+        }
+        return instance;
+    }
+
+    private static File resolveJournalFile() {
+        File file = DataManager.resolveFile(JOURNAL_FILE);
+        if (!file.exists()) {
+            // Created on first payment next to the payment log
+            File log = DataManager.resolveFile(StorageTable.PAYMENTS.getFileName());
+            file = new File(log.getParentFile(), JOURNAL_FILE);
+        }
+        return file;
+    }
+
+    /**
+     * Makes a new idempotency key for a payment about to be entered
+     * @return 16 hex digits
+     */
+    public static String newKey() {
+        return String.format("%016X", random.nextLong());
+    }
+
+    /**
+     * Gets the idempotency key written into a payment reference
+     * @param reference The payment's reference
+     * @return The key, or null for payments logged before keys were used
+     */
+    public static String keyOf(String reference) {
+        int at = reference.lastIndexOf(REFERENCE_KEY_PREFIX);
+        return at < 0 ? null : reference.substring(at + REFERENCE_KEY_PREFIX.length()).trim();
+    }
+
+    /**
+     * Gets the part of a payment reference before its idempotency key
+     * @param reference The reference column of a payment row
+     * @return The reference without the " Ref <key>" suffix
+     */
+    public static String descriptionOf(String reference) {
+        int at = reference.lastIndexOf(REFERENCE_KEY_PREFIX);
+        return (at < 0 ? reference : reference.substring(0, at)).trim();
+    }
+
+    /**
+     * Checks if a payment with this key has already been committed
+     * @param key The idempotency key
+     * @return true if it is in the payment log
+     */
+    public synchronized boolean isCommitted(String key) {
+        return recentKeys.get(key) != null;
+    }
+
+    /**
+     * Commits a payment to the payment log unless its key was already committed,
+     * waiting for its batch to reach the disk
+     * @param key The payment form's idempotency key
+     * @param studentID The student ID making the payment
+     * @param channelName The payment channel used
+     * @param amount The amount paid
+     * @return true if the payment was logged, false if the key was a duplicate
+     * @throws IOException if the payment could not be logged. It was either aborted,
+     *         so a retry with the same key logs it once, or (if even that could not be
+     *         journaled) left for the next startup to log, and a retry with the key is
+     *         taken as a duplicate; either way the payment is never logged twice.
+     */
+    public boolean commit(String key, String studentID, String channelName, double amount) throws IOException {
+        try {
+            return commitAsync(key, studentID, channelName, amount).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while committing payment " + key);
+        }
+    }
+
+    /**
+     * Queues a payment for the next journal batch unless its key was already committed
+     * @param key The payment form's idempotency key
+     * @param studentID The student ID making the payment
+     * @param channelName The payment channel used
+     * @param amount The amount paid
+     * @return Future completing with true once the payment is logged, with false if the
+     *         key was a duplicate, or exceptionally with the IOException if it could not be
+     *         logged (see commit)
+     */
+    public synchronized CompletableFuture<Boolean> commitAsync(String key, String studentID, String channelName,
+                                                               double amount) {
+        if (recentKeys.get(key) != null) {
+            PortalLog.log(PortalLog.Level.INFO, "payment.duplicate", "key", key, "studentID", studentID);
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> inFlight = committing.get(key);
+        if (inFlight != null) {
+            PortalLog.log(PortalLog.Level.INFO, "payment.duplicate", "key", key, "studentID", studentID);
+            return inFlight.thenApply(committed -> false);
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        GroupCommitWriter writer;
+        try {
+            writer = openJournal();
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        String row = DataManager.formatPaymentRow(channelName, amount, studentID,
+                REFERENCE_KEY_PREFIX.trim() + " " + key);
+        // The key stays in committing until the outcome is final, so a retry waits for it
+        committing.put(key, result);
+        writer.append(record("P|" + row)).whenComplete((ignored, error) -> {
+            IOException logError = null;
+            boolean pendingRecovery = false;
+            synchronized (this) {
+                if (error == null) {
+                    logError = failedAppends.remove(key);
+                    pendingRecovery = logError != null && recentKeys.get(key) != null;
+                    if (logError == null) {
+                        recentKeys.put(key, row);
+                    }
+                    if (logError == null || pendingRecovery) {
+                        committing.remove(key);
+                    }
+                }
+            }
+            if (error == null && logError == null) {
+                result.complete(true);
+            } else if (pendingRecovery) {
+                result.completeExceptionally(logError);
+            } else {
+                abort(writer, key, row, error != null ? error : logError, result);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Journals an abort record for a payment that was not logged and fails the
+     * caller only once the record is on disk
+     */
+    private void abort(GroupCommitWriter writer, String key, String row, Throwable cause,
+                       CompletableFuture<Boolean> result) {
+        writer.append(record("A|" + key)).whenComplete((done, abortError) -> {
+            synchronized (this) {
+                committing.remove(key);
+                if (abortError != null) {
+                    // The payment may still be pending in the journal, and the next startup
+                    // logs it then; hold the key so a retry is not charged a second time
+                    recentKeys.put(key, row);
+                }
+            }
+            if (abortError != null) {
+                System.err.println("Error journaling aborted payment " + key + ": " + abortError.getMessage());
+            }
+            result.completeExceptionally(cause);
+        });
+    }
+
+    /**
+     * Opens the journal writer on first use. Each synced batch of payments is
+     * appended to the payment log in one call.
+     */
+    private GroupCommitWriter openJournal() throws IOException {
+        if (journal == null) {
+            journal = new GroupCommitWriter(journalFile,
+                    Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE),
+                    Long.getLong(BATCH_MILLIS_PROPERTY, DEFAULT_BATCH_MILLIS),
+                    this::appendToLog);
+        }
+        return journal;
+    }
+
+    /**
+     * Appends the payments of a synced journal batch to the payment log and
+     * passes them on to the log listeners
+     * @param records Journal records of the batch
+     */
+    private void appendToLog(List<String> records) throws IOException {
+        List<String> rows = new ArrayList<>(records.size());
+        for (String record : records) {
+            if (record.startsWith("P|")) {
+                rows.add(record.substring(2, record.lastIndexOf('|')));
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        synchronized (logLock) {
+            try {
+                DataManager.appendPaymentRows(rows);
+            } catch (IOException e) {
+                rows = sortOutFailedAppend(rows, e);
+                if (rows.isEmpty()) {
+                    return;
+                }
+            }
+            for (Consumer<List<String>> listener : logListeners) {
+                try {
+                    listener.accept(rows);
+                } catch (RuntimeException e) {
+                    // The payments are logged; a failing listener must not fail them
+                    System.err.println("Error in payment log listener: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds out which rows of a failed log append reached the log anyway (the
+     * append is buffered, so it can fail part way). Those are committed; the
+     * others are recorded in failedAppends for their commits to abort. If the log
+     * cannot be read either, the rows are held as committed without being
+     * aborted, so the next startup logs whichever are missing.
+     * @return The rows that are in the log
+     */
+    private List<String> sortOutFailedAppend(List<String> rows, IOException error) {
+        Set<String> logged = null;
+        try {
+            DataManager.repairTornTail(StorageTable.PAYMENTS);
+            logged = loggedKeys();
+        } catch (IOException e) {
+            System.err.println("Error checking payment logs after a failed append: " + e.getMessage());
+        }
+        List<String> inLog = new ArrayList<>();
+        synchronized (this) {
+            for (String row : rows) {
+                String key = keyOf(row.split(",")[2]);
+                if (logged != null && logged.contains(key)) {
+                    recentKeys.put(key, row);
+                    inLog.add(row);
+                } else {
+                    if (logged == null) {
+                        recentKeys.put(key, row);
+                    }
+                    failedAppends.put(key, error);
+                }
+            }
+        }
+        PortalLog.log(PortalLog.Level.WARN, "payments.appendFailed", "rows", rows.size(), "logged", inLog.size(),
+                "error", error.getMessage());
+        return inLog;
+    }
+
+    /**
+     * Reads the idempotency keys of every payment in the log
+     */
+    private static Set<String> loggedKeys() throws IOException {
+        Set<String> logged = new HashSet<>();
+        for (String row : DataManager.scanPaymentRows()) {
+            String[] parts = row.split(",");
+            if (parts.length >= 5) {
+                String key = keyOf(parts[2]);
+                if (key != null) {
+                    logged.add(key);
+                }
+            }
+        }
+        return logged;
+    }
+
+    /**
+     * Reads the whole payment log and subscribes to the rows the ledger appends
+     * after it, so the caller sees every payment exactly once. The listener runs
+     * on the ledger's writer thread and should return quickly.
+     * @param listener Receives each batch of newly logged rows
+     * @return The rows in the log when the listener was added
+     * @throws IOException if the log cannot be read
+     */
+    public List<String> scanAndSubscribe(Consumer<List<String>> listener) throws IOException {
+        synchronized (logLock) {
+            List<String> rows = DataManager.scanPaymentRows();
+            logListeners.add(listener);
+            return rows;
+        }
+    }
+
+    /**
+     * Adds the checksum to a journal record
+     */
+    private static String record(String body) {
+        return body + "|" + checksum(body);
+    }
+
+    /**
+     * Brings the payment log in line with the journal and rebuilds the dedup index
+     */
+    private void recover() throws IOException {
+        // Last record for each key, in journal order
+        Map<String, String> pending = new LinkedHashMap<>();
+        int torn = 0;
+        if (journalFile.exists()) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(journalFile, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int bar = line.lastIndexOf('|');
+                    String record = bar < 0 ? "" : line.substring(0, bar);
+                    if (record.length() < 2 || !line.substring(bar + 1).equals(checksum(record))) {
+                        torn++;
+                        continue;
+                    }
+                    String body = record.substring(2);
+                    if (record.startsWith("P|")) {
+                        String key = keyOf(body.split(",")[2]);
+                        pending.remove(key);
+                        pending.put(key, body);
+                    } else if (record.startsWith("A|")) {
+                        pending.remove(body);
+                    }
+                }
+            }
+        }
+
+        boolean repairedLog = DataManager.repairTornTail(StorageTable.PAYMENTS);
+
+        Set<String> logged = loggedKeys();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, String> entry : pending.entrySet()) {
+            if (!logged.contains(entry.getKey())) {
+                missing.add(entry.getValue());
+            }
+        }
+        if (!missing.isEmpty()) {
+            DataManager.appendPaymentRows(missing);
+        }
+
+        // Keep the newest keys for dedup, and only those in the journal
+        List<Map.Entry<String, String>> entries = new ArrayList<>(pending.entrySet());
+        List<Map.Entry<String, String>> recent = entries.subList(Math.max(0, entries.size() - RECENT_KEYS),
+                entries.size());
+        for (Map.Entry<String, String> entry : recent) {
+            recentKeys.put(entry.getKey(), entry.getValue());
+        }
+        if (journalFile.exists()) {
+            compactJournal(recent);
+        }
+        PortalLog.log(PortalLog.Level.INFO, "payments.recovered", "journaled", pending.size(), "replayed", missing.size(),
+                "tornJournalLines", torn, "tornLogRow", repairedLog);
+    }
+
+    /**
+     * Rewrites the journal with only the given committed payments, swapping it
+     * in so a crash leaves either the old or the new journal
+     */
+    private void compactJournal(List<Map.Entry<String, String>> committed) throws IOException {
+        File temp = new File(journalFile.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, String> entry : committed) {
+                writer.write(record("P|" + entry.getValue()));
+                writer.newLine();
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+        java.nio.file.Files.move(temp.toPath(), journalFile.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String checksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -0,0 +1,157 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.OutputStreamWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Command line tool for the payment log.
+ *
+ *   java PaymentTool benchmark [payments] [threads]
+ *       Appends generated payments (default 2,000 from 16 threads) to scratch
+ *       files in a temporary folder and prints payments per second for:
+ *         per-call         open, write and close the log for every payment (the old logPaymentTransaction)
+ *         per-call+sync    the same with a sync per payment (durable, unbatched)
+ *         group commit     GroupCommitWriter journal + one log append per batch (PaymentLedger's path)
+ *       The real payment log and journal are not touched.
+ *
+ *   java PaymentTool report
+ *       Sums the payment log (see PaymentAnalytics) and prints the totals per
+ *       channel, per semester reference and per day, today's totals per
+ *       channel, and how long the pass and the "today" lookup took.
+ */
+public class PaymentTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: PaymentTool benchmark [payments] [threads] | report");
+            return;
+        }
+
+        if ("benchmark".equals(args[0])) {
+            int payments = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+            benchmark(payments, threads);
+        } else if ("report".equals(args[0])) {
+            report();
+        } else {
+            System.out.println("Unknown command: " + args[0]);
+        }
+    }
+
+    /**
+     * Appends one payment the way a request handler would, returning once it is written
+     */
+    private interface Appender {
+        void append(String row) throws Exception;
+    }
+
+    private static void benchmark(int payments, int threads) throws Exception {
+        // Warm up the JIT before timing
+        runAll(Files.createTempDirectory("islu-payments").toFile(), Math.max(threads, payments / 10), threads, false);
+
+        File dir = Files.createTempDirectory("islu-payments").toFile();
+        System.out.println(String.format("%,d payments from %d thread(s) in %s", payments, threads, dir));
+        System.out.println(String.format("%-14s %10s %12s %10s", "Mode", "ms", "payments/s", "batch"));
+        runAll(dir, payments, threads, true);
+    }
+
+    private static void report() {
+        PaymentAnalytics analytics = PaymentAnalytics.getInstance();
+        System.out.println(String.format("Summed the payment log in %d ms", analytics.getBuildMillis()));
+
+        printTotals("Channel", analytics.getByChannel());
+        printTotals("Semester", analytics.getBySemester());
+        Map<String, PaymentAnalytics.Totals> days = new LinkedHashMap<>();
+        analytics.getByDay().forEach((day, totals) -> days.put(day.toString(), totals));
+        printTotals("Day", days);
+
+        int lookups = 1_000_000;
+        long start = System.nanoTime();
+        Map<String, PaymentAnalytics.Totals> today = null;
+        for (int i = 0; i < lookups; i++) {
+            today = analytics.getTodayByChannel();
+        }
+        long nanos = System.nanoTime() - start;
+        printTotals("Today", today);
+        System.out.println(String.format("Today by channel: %.0f ns per lookup", (double) nanos / lookups));
+    }
+
+    private static void printTotals(String heading, Map<String, PaymentAnalytics.Totals> totals) {
+        System.out.println();
+        System.out.println(String.format("%-40s %10s %16s", heading, "Payments", "Amount"));
+        totals.forEach((key, value) -> System.out.println(String.format("%-40s %,10d %16s", key, value.getCount(),
+                String.format("P %,.2f", value.getAmount()))));
+    }
+
+    private static void runAll(File dir, int payments, int threads, boolean print) throws Exception {
+        File perCall = new File(dir, "perCall.txt");
+        run("per-call", payments, threads, print, row -> {
+            synchronized (perCall) {
+                try (BufferedWriter writer = new BufferedWriter(new FileWriter(perCall, true))) {
+                    writer.write(row);
+                    writer.newLine();
+                }
+            }
+        }, null);
+
+        File perCallSync = new File(dir, "perCallSync.txt");
+        run("per-call+sync", payments, threads, print, row -> {
+            synchronized (perCallSync) {
+                try (FileOutputStream out = new FileOutputStream(perCallSync, true);
+                     BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out))) {
+                    writer.write(row);
+                    writer.newLine();
+                    writer.flush();
+                    out.getFD().sync();
+                }
+            }
+        }, null);
+
+        FlatFileStorage log = new FlatFileStorage(dir);
+        try (GroupCommitWriter journal = new GroupCommitWriter(new File(dir, PaymentLedger.JOURNAL_FILE),
+                Integer.getInteger(PaymentLedger.BATCH_SIZE_PROPERTY, 64),
+                Long.getLong(PaymentLedger.BATCH_MILLIS_PROPERTY, 2),
+                rows -> log.appendAll(StorageTable.PAYMENTS, rows))) {
+            run("group commit", payments, threads, print, row -> journal.append(row).join(), journal);
+        }
+    }
+
+    private static void run(String mode, int payments, int threads, boolean print, Appender appender,
+                            GroupCommitWriter writer) throws Exception {
+        int perThread = Math.max(1, payments / threads);
+        List<CompletableFuture<Void>> handlers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            String studentID = String.valueOf(2_250_000 + t);
+            handlers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        appender.append(DataManager.formatPaymentRow("GCash", 100 + i, studentID,
+                                "Ref " + PaymentLedger.newKey()));
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }, runnable -> {
+                Thread thread = new Thread(runnable, "payment-benchmark");
+                thread.setDaemon(true);
+                thread.start();
+            }));
+        }
+        CompletableFuture.allOf(handlers.toArray(new CompletableFuture<?>[0])).join();
+        long nanos = System.nanoTime() - start;
+        int total = perThread * threads;
+        if (!print) {
+            return;
+        }
+        System.out.println(String.format("%-14s %10d %12.0f %10s", mode, nanos / 1_000_000,
+                total / (nanos / 1e9), writer == null ? "1" : String.format("%.1f", writer.getAverageBatchSize())));
+    }
+}
@@ -25,6 +25,7 @@ public class PaymentTransaction {
     public String getStudentID() { return studentID; }
     
     public Object[] toTableRow() {
-        return new Object[]{date, paymentChannel, reference, String.format("₱ %.2f", amount)};
+        // The idempotency key in the reference is internal; show the reference without it
+        return new Object[]{date, paymentChannel, PaymentLedger.descriptionOf(reference), String.format("₱ %.2f", amount)};
     }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming PDF writer for portal documents (text, table rows and rules
+ * in Helvetica on Letter pages). Each page is written to the output as soon as
+ * it is full, so only the current page is ever held in memory; the page tree
+ * and cross-reference table are written on close.
+ */
+public class PdfWriter implements Closeable {
+
+    public static final float PAGE_WIDTH = 612;
+    public static final float PAGE_HEIGHT = 792;
+    public static final float MARGIN = 50;
+
+    private static final float BODY_SIZE = 10;
+    private static final float LINE_GAP = 4;
+
+    // Fixed object numbers; pages start after these
+    private static final int CATALOG_OBJECT = 1;
+    private static final int PAGES_OBJECT = 2;
+    private static final int REGULAR_FONT_OBJECT = 3;
+    private static final int BOLD_FONT_OBJECT = 4;
+
+    private final CountingOutputStream out;
+    private final List<Long> objectOffsets = new ArrayList<>();
+    private final List<Integer> pageObjects = new ArrayList<>();
+    private final String footer;
+    private StringBuilder content;
+    private float y;
+
+    /**
+     * Starts a new document
+     * @param output Destination stream (closed when the writer is closed)
+     * @param footer Text printed at the bottom of every page next to the page number
+     * @throws IOException if the header cannot be written
+     */
+    public PdfWriter(OutputStream output, String footer) throws IOException {
+        this.out = new CountingOutputStream(new BufferedOutputStream(output));
+        this.footer = footer;
+        write("%PDF-1.4\n%âãÏÓ\n");
+        writeObject(REGULAR_FONT_OBJECT, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+        writeObject(BOLD_FONT_OBJECT, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>");
+    }
+
+    /**
+     * Writes a bold heading line
+     * @param text The heading
+     * @param size Font size
+     */
+    public void heading(String text, float size) throws IOException {
+        ensureSpace(size + LINE_GAP);
+        y -= size;
+        showText(MARGIN, y, text, size, true);
+        y -= LINE_GAP;
+    }
+
+    /**
+     * Writes a line of body text
+     * @param text The text
+     */
+    public void text(String text) throws IOException {
+        row(new String[]{text}, new float[]{MARGIN}, false);
+    }
+
+    /**
+     * Writes one table row. Cells are clipped to the space before the next column.
+     * @param cells Cell values
+     * @param columnX X position of each column
+     * @param bold true for a header/total row
+     */
+    public void row(String[] cells, float[] columnX, boolean bold) throws IOException {
+        ensureSpace(BODY_SIZE + LINE_GAP);
+        y -= BODY_SIZE;
+        for (int i = 0; i < cells.length && i < columnX.length; i++) {
+            float right = i + 1 < columnX.length ? columnX[i + 1] : PAGE_WIDTH - MARGIN;
+            showText(columnX[i], y, clip(cells[i], right - columnX[i] - 6, BODY_SIZE), BODY_SIZE, bold);
+        }
+        y -= LINE_GAP;
+    }
+
+    /**
+     * Draws a horizontal rule across the text area
+     */
+    public void rule() throws IOException {
+        ensureSpace(LINE_GAP * 2);
+        y -= LINE_GAP;
+        content.append("0.5 w ").append(MARGIN).append(' ').append(y).append(" m ")
+               .append(PAGE_WIDTH - MARGIN).append(' ').append(y).append(" l S\n");
+        y -= LINE_GAP;
+    }
+
+    /**
+     * Adds vertical space
+     * @param points Amount of space
+     */
+    public void space(float points) throws IOException {
+        ensureSpace(points);
+        y -= points;
+    }
+
+    private void ensureSpace(float needed) throws IOException {
+        if (content == null) {
+            startPage();
+        } else if (y - needed < MARGIN + 20) {
+            finishPage();
+            startPage();
+        }
+    }
+
+    private void startPage() {
+        content = new StringBuilder();
+        y = PAGE_HEIGHT - MARGIN;
+    }
+
+    private void finishPage() throws IOException {
+        int pageNumber = pageObjects.size() + 1;
+        showText(MARGIN, MARGIN - 10, footer + "    Page " + pageNumber, 8, false);
+
+        byte[] stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        int contentObject = nextObjectNumber();
+        beginObject(contentObject);
+        write("<< /Length " + stream.length + " >>\nstream\n");
+        out.write(stream);
+        write("\nendstream\nendobj\n");
+
+        int pageObject = nextObjectNumber();
+        writeObject(pageObject, "<< /Type /Page /Parent " + PAGES_OBJECT + " 0 R /MediaBox [0 0 "
+                + (int) PAGE_WIDTH + " " + (int) PAGE_HEIGHT + "] /Resources << /Font << /F1 "
+                + REGULAR_FONT_OBJECT + " 0 R /F2 " + BOLD_FONT_OBJECT + " 0 R >> >> /Contents "
+                + contentObject + " 0 R >>");
+        pageObjects.add(pageObject);
+        content = null;
+    }
+
+    /**
+     * Finishes the last page and writes the page tree, catalog and cross-reference table
+     */
+    @Override
+    public void close() throws IOException {
+        if (content == null && pageObjects.isEmpty()) {
+            startPage();
+        }
+        if (content != null) {
+            finishPage();
+        }
+
+        StringBuilder kids = new StringBuilder();
+        for (int page : pageObjects) {
+            kids.append(page).append(" 0 R ");
+        }
+        writeObject(PAGES_OBJECT, "<< /Type /Pages /Kids [" + kids + "] /Count " + pageObjects.size() + " >>");
+        writeObject(CATALOG_OBJECT, "<< /Type /Catalog /Pages " + PAGES_OBJECT + " 0 R >>");
+
+        long xrefOffset = out.getCount();
+        StringBuilder xref = new StringBuilder("xref\n0 " + (objectOffsets.size() + 1) + "\n0000000000 65535 f \n");
+        for (Long offset : objectOffsets) {
+            xref.append(String.format("%010d 00000 n \n", offset));
+        }
+        xref.append("trailer\n<< /Size ").append(objectOffsets.size() + 1)
+            .append(" /Root ").append(CATALOG_OBJECT).append(" 0 R >>\nstartxref\n")
+            .append(xrefOffset).append("\n%%EOF\n");
+        write(xref.toString());
+        out.close();
+    }
+
+    private int nextObjectNumber() {
+        // Object numbers 1-4 are reserved, so the first free slot is after them
+        return Math.max(objectOffsets.size(), BOLD_FONT_OBJECT) + 1;
+    }
+
+    private void beginObject(int number) throws IOException {
+        while (objectOffsets.size() < number) {
+            objectOffsets.add(0L);
+        }
+        objectOffsets.set(number - 1, out.getCount());
+        write(number + " 0 obj\n");
+    }
+
+    private void writeObject(int number, String body) throws IOException {
+        beginObject(number);
+        write(body + "\nendobj\n");
+    }
+
+    private void write(String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void showText(float x, float baseline, String text, float size, boolean bold) {
+        content.append("BT /").append(bold ? "F2 " : "F1 ").append(size).append(" Tf ")
+               .append(x).append(' ').append(baseline).append(" Td (")
+               .append(escape(text)).append(") Tj ET\n");
+    }
+
+    /**
+     * Clips text to roughly fit a width (Helvetica averages a little over half an em per character)
+     */
+    private static String clip(String text, float width, float size) {
+        int maxChars = Math.max(1, (int) (width / (size * 0.55f)));
+        return text.length() <= maxChars ? text : text.substring(0, Math.max(0, maxChars - 3)) + "...";
+    }
+
+    /**
+     * Escapes PDF string delimiters and maps characters outside WinAnsi
+     */
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '\\' || c == '(' || c == ')') {
+                escaped.append('\\').append(c);
+            } else if (c == '₱') {
+                escaped.append('P'); // Peso sign is not in the standard fonts
+            } else if (c < 32 || c > 255) {
+                escaped.append('?');
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Output stream that tracks how many bytes were written, for xref offsets
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
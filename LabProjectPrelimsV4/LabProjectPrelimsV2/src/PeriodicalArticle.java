@@ -0,0 +1,69 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Data class to hold one indexed periodical article
+ */
+public class PeriodicalArticle {
+    private String title;
+    private String journal;
+    private String date;
+    private String volume;
+    private String issue;
+    private String pages;
+    private List<String> subjects;
+    private List<String> authors;
+
+    public PeriodicalArticle(String title, String journal, String date, String volume, String issue, String pages,
+                             List<String> subjects, List<String> authors) {
+        this.title = title;
+        this.journal = journal;
+        this.date = date;
+        this.volume = volume;
+        this.issue = issue;
+        this.pages = pages;
+        this.subjects = subjects;
+        this.authors = authors;
+    }
+
+    // Getters
+    public String getTitle() { return title; }
+    public String getJournal() { return journal; }
+    public String getDate() { return date; }
+    public String getVolume() { return volume; }
+    public String getIssue() { return issue; }
+    public String getPages() { return pages; }
+    public List<String> getSubjects() { return subjects; }
+    public List<String> getAuthors() { return authors; }
+
+    public Object[] toTableRow() {
+        return new Object[]{title, String.join("; ", authors), journal, date, volume, issue, pages,
+            String.join("; ", subjects)};
+    }
+
+    /**
+     * Parses a catalog row:
+     *   Title|Journal|Date|Volume|Issue|Pages|Subject; Subject|Author; Author
+     * @param row The raw row
+     * @return The article, or null if the row has too few fields
+     */
+    public static PeriodicalArticle fromCatalogRow(String row) {
+        String[] parts = row.split("\\|", -1);
+        if (parts.length < 8) {
+            return null;
+        }
+        return new PeriodicalArticle(parts[0].trim(), parts[1].trim(), parts[2].trim(), parts[3].trim(),
+                parts[4].trim(), parts[5].trim(), splitList(parts[6]), splitList(parts[7]));
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : Arrays.asList(value.split(";"))) {
+            if (!item.trim().isEmpty()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+}
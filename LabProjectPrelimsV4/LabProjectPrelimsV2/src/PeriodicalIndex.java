@@ -0,0 +1,426 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bibliographic search over the library's periodical article catalog.
+ *
+ * The catalog (periodicalArticles.txt, next to Database.txt) has one article
+ * per row:
+ *   Title|Journal|Date|Volume|Issue|Pages|Subject; Subject|Author; Author
+ * Each of the title, author, subject and journal fields gets its own inverted
+ * index of word -> (article, occurrences), and results are ranked with BM25
+ * summed over the fields, weighted so that a title or subject hit counts for
+ * more than a journal-name hit.
+ *
+ * Queries are plain words, matched in any field, plus optional filters that
+ * must match in one field: author:reyes, subject:"climate change",
+ * title:..., journal:..., year:2019. Filter words and the word still being
+ * typed match by prefix. An index is read-only once loaded, so searches need
+ * no locking; reload() swaps in a fresh one.
+ */
+public class PeriodicalIndex {
+
+    public static final String CATALOG_FILE = "periodicalArticles.txt";
+
+    /**
+     * Indexed fields and their weight in the ranking
+     */
+    public enum Field {
+        TITLE("title", 2.0),
+        AUTHOR("author", 1.5),
+        SUBJECT("subject", 1.5),
+        JOURNAL("journal", 0.5);
+
+        private final String prefix;
+        private final double weight;
+
+        Field(String prefix, double weight) {
+            this.prefix = prefix;
+            this.weight = weight;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        static Field ofPrefix(String prefix) {
+            for (Field field : values()) {
+                if (field.prefix.equals(prefix)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    // BM25 term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Most dictionary words a prefix expands to, per field
+    private static final int MAX_EXPANSIONS = 32;
+    private static final Pattern YEAR = Pattern.compile("(19|20)\\d{2}");
+    private static final Field[] FIELDS = Field.values();
+    // Results handed to a streaming search's sink at a time
+    private static final int STREAM_CHUNK = 20;
+
+    private static volatile PeriodicalIndex instance;
+
+    private final List<PeriodicalArticle> articles = new ArrayList<>();
+    private int[] years = new int[16];
+    private final Map<Field, TreeMap<String, Postings>> postings = new EnumMap<>(Field.class);
+    // Words per field of each article, and their sum, for BM25's length normalization
+    private final int[][] lengths = new int[FIELDS.length][16];
+    private final long[] totalLengths = new long[FIELDS.length];
+
+    public PeriodicalIndex() {
+        for (Field field : FIELDS) {
+            postings.put(field, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Gets the shared index, loading the catalog on first use
+     * @return The index (empty if the catalog cannot be read)
+     */
+    public static PeriodicalIndex getInstance() {
+        PeriodicalIndex index = instance;
+        if (index == null) {
+            synchronized (PeriodicalIndex.class) {
+                if (instance == null) {
+                    instance = loadCatalog();
+                }
+                index = instance;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Reads the catalog again (e.g. after the library adds articles)
+     */
+    public static void reload() {
+        PeriodicalIndex index = loadCatalog();
+        synchronized (PeriodicalIndex.class) {
+            instance = index;
+        }
+    }
+
+    private static PeriodicalIndex loadCatalog() {
+        PeriodicalIndex index = new PeriodicalIndex();
+        File catalog = DataManager.resolveFile(CATALOG_FILE);
+        if (!catalog.exists()) {
+            PortalLog.warn("periodicals.missing", "file", catalog);
+            return index;
+        }
+        try {
+            long start = System.nanoTime();
+            index.ingest(catalog);
+            PortalLog.info("periodicals.loaded", "articles", index.size());
+            PortalLog.debug("periodicals.loaded", "file", catalog, "ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            System.err.println("Error reading periodical catalog: " + e.getMessage());
+        }
+        return index;
+    }
+
+    /**
+     * Adds every article of a catalog file
+     * @param catalog The catalog file
+     * @throws IOException if the file cannot be read
+     */
+    public void ingest(File catalog) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(catalog))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StorageTable.isHeaderLine(line)) {
+                    continue;
+                }
+                PeriodicalArticle article = PeriodicalArticle.fromCatalogRow(line);
+                if (article != null) {
+                    add(article);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds an article
+     * @param article The article
+     */
+    public void add(PeriodicalArticle article) {
+        int doc = articles.size();
+        articles.add(article);
+        if (doc == years.length) {
+            years = Arrays.copyOf(years, doc * 2);
+            for (int f = 0; f < FIELDS.length; f++) {
+                lengths[f] = Arrays.copyOf(lengths[f], doc * 2);
+            }
+        }
+        Matcher year = YEAR.matcher(article.getDate());
+        years[doc] = year.find() ? Integer.parseInt(year.group()) : 0;
+
+        for (Field field : FIELDS) {
+            List<String> words = StudentSearchIndex.tokenize(textOf(article, field));
+            TreeMap<String, Postings> dictionary = postings.get(field);
+            for (String word : words) {
+                dictionary.computeIfAbsent(word, key -> new Postings()).add(doc);
+            }
+            lengths[field.ordinal()][doc] = words.size();
+            totalLengths[field.ordinal()] += words.size();
+        }
+    }
+
+    private static String textOf(PeriodicalArticle article, Field field) {
+        switch (field) {
+            case TITLE:
+                return article.getTitle();
+            case AUTHOR:
+                return String.join(" ", article.getAuthors());
+            case SUBJECT:
+                return String.join(" ", article.getSubjects());
+            default:
+                return article.getJournal();
+        }
+    }
+
+    public int size() {
+        return articles.size();
+    }
+
+    /**
+     * Finds the best matching articles
+     * @param query The parsed query
+     * @param limit Maximum number of results
+     * @return Articles, highest BM25 score first (catalog order when only a year is given)
+     */
+    public List<PeriodicalArticle> search(Query query, int limit) {
+        List<PeriodicalArticle> results = new ArrayList<>();
+        search(query, limit, () -> false, results::addAll);
+        return results;
+    }
+
+    /**
+     * Finds the best matching articles and hands them over best first, in chunks,
+     * as they are ranked: the matches go into a heap and the sink gets each chunk
+     * as soon as it is pulled off, so the first rows arrive before the rest are
+     * sorted. Scoring and ranking stop as soon as cancelled says so.
+     * @param query The parsed query
+     * @param limit Maximum number of results
+     * @param cancelled Checked between posting-list groups and between chunks
+     * @param sink Receives the results, highest BM25 score first
+     * @return Number of results handed to the sink
+     */
+    public int search(Query query, int limit, BooleanSupplier cancelled, Consumer<List<PeriodicalArticle>> sink) {
+        List<List<Match>> groups = new ArrayList<>();
+        for (int i = 0; i < query.words.size(); i++) {
+            boolean prefix = query.lastWordIsPrefix && i == query.words.size() - 1;
+            groups.add(expand(query.words.get(i), FIELDS, prefix));
+        }
+        for (Map.Entry<Field, List<String>> filter : query.filters.entrySet()) {
+            for (String word : filter.getValue()) {
+                groups.add(expand(word, new Field[]{filter.getKey()}, true));
+            }
+        }
+        if ((groups.isEmpty() && query.year == 0) || limit <= 0) {
+            return 0;
+        }
+
+        // Sum each article's score over the groups, counting the groups it matched
+        int count = articles.size();
+        double[] scores = new double[count];
+        int[] matchedGroups = new int[count];
+        int[] lastGroup = new int[count];
+        Arrays.fill(lastGroup, -1);
+        for (int g = 0; g < groups.size(); g++) {
+            if (cancelled.getAsBoolean()) {
+                return 0;
+            }
+            for (Match match : groups.get(g)) {
+                Postings list = match.postings;
+                double idf = Math.log(1 + (count - list.size + 0.5) / (list.size + 0.5));
+                double averageLength = Math.max(1.0, (double) totalLengths[match.field.ordinal()] / count);
+                double weight = match.field.weight * idf * (K1 + 1);
+                int[] fieldLengths = lengths[match.field.ordinal()];
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    int tf = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * fieldLengths[doc] / averageLength);
+                    scores[doc] += weight * tf / (tf + norm);
+                    if (lastGroup[doc] != g) {
+                        lastGroup[doc] = g;
+                        matchedGroups[doc]++;
+                    }
+                }
+            }
+        }
+
+        // Heap the articles matching every group and the year (best first, ties
+        // keep the earlier article), then pull the best `limit` off chunk by chunk
+        List<Integer> matches = new ArrayList<>();
+        for (int doc = 0; doc < count; doc++) {
+            if (matchedGroups[doc] == groups.size() && (query.year == 0 || years[doc] == query.year)) {
+                matches.add(doc);
+            }
+        }
+        PriorityQueue<Integer> best = new PriorityQueue<>(Math.max(1, matches.size()),
+                (a, b) -> scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : Integer.compare(a, b));
+        best.addAll(matches);
+        int found = 0;
+        while (found < limit && !best.isEmpty() && !cancelled.getAsBoolean()) {
+            List<PeriodicalArticle> chunk = new ArrayList<>(STREAM_CHUNK);
+            while (chunk.size() < STREAM_CHUNK && found < limit && !best.isEmpty()) {
+                chunk.add(articles.get(best.poll()));
+                found++;
+            }
+            sink.accept(chunk);
+        }
+        return found;
+    }
+
+    /**
+     * Looks a word up in some fields, also taking longer words when it is a prefix
+     */
+    private List<Match> expand(String word, Field[] fields, boolean prefix) {
+        List<Match> matches = new ArrayList<>();
+        for (Field field : fields) {
+            TreeMap<String, Postings> dictionary = postings.get(field);
+            if (!prefix) {
+                Postings list = dictionary.get(word);
+                if (list != null) {
+                    matches.add(new Match(field, list));
+                }
+                continue;
+            }
+            int expanded = 0;
+            for (Map.Entry<String, Postings> entry : dictionary.tailMap(word, true).entrySet()) {
+                if (!entry.getKey().startsWith(word) || expanded++ == MAX_EXPANSIONS) {
+                    break;
+                }
+                matches.add(new Match(field, entry.getValue()));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * A parsed search: words for any field, per-field filters and a year
+     */
+    public static class Query {
+        private final List<String> words = new ArrayList<>();
+        private final Map<Field, List<String>> filters = new EnumMap<>(Field.class);
+        private int year;
+        private boolean lastWordIsPrefix;
+
+        /**
+         * Parses search box text such as: climate author:reyes subject:"water quality" year:2019
+         * @param text The query text
+         * @param typing true if the user may still be typing the last word (it then matches by prefix)
+         * @return The query
+         */
+        public static Query parse(String text, boolean typing) {
+            Query query = new Query();
+            int i = 0;
+            boolean lastIsFreeWord = false;
+            while (i < text.length()) {
+                while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+                    i++;
+                }
+                int start = i;
+                while (i < text.length() && !Character.isWhitespace(text.charAt(i)) && text.charAt(i) != ':') {
+                    i++;
+                }
+                String name = text.substring(start, i).toLowerCase();
+                Field field = Field.ofPrefix(name);
+                boolean filter = i < text.length() && text.charAt(i) == ':' && (field != null || "year".equals(name));
+                if (!filter) {
+                    // Not a filter: the token (colon included) is plain words
+                    while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+                        i++;
+                    }
+                    List<String> words = StudentSearchIndex.tokenize(text.substring(start, i));
+                    query.words.addAll(words);
+                    lastIsFreeWord = !words.isEmpty();
+                    continue;
+                }
+
+                // Filter value: a quoted phrase or one token
+                i++;
+                String value;
+                if (i < text.length() && text.charAt(i) == '"') {
+                    int end = text.indexOf('"', i + 1);
+                    value = text.substring(i + 1, end < 0 ? text.length() : end);
+                    i = end < 0 ? text.length() : end + 1;
+                } else {
+                    int valueStart = i;
+                    while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+                        i++;
+                    }
+                    value = text.substring(valueStart, i);
+                }
+                if (field == null) {
+                    Matcher year = YEAR.matcher(value);
+                    query.year = year.find() ? Integer.parseInt(year.group()) : 0;
+                } else {
+                    query.filters.computeIfAbsent(field, key -> new ArrayList<>())
+                            .addAll(StudentSearchIndex.tokenize(value));
+                }
+                lastIsFreeWord = false;
+            }
+            query.lastWordIsPrefix = typing && lastIsFreeWord && !text.isEmpty()
+                    && !Character.isWhitespace(text.charAt(text.length() - 1));
+            return query;
+        }
+
+        public boolean isEmpty() {
+            return words.isEmpty() && filters.isEmpty() && year == 0;
+        }
+    }
+
+    private static class Match {
+        final Field field;
+        final Postings postings;
+
+        Match(Field field, Postings postings) {
+            this.field = field;
+            this.postings = postings;
+        }
+    }
+
+    /**
+     * Articles containing a word in one field, with its number of occurrences.
+     * Articles are added in order, so repeats of a word in the same article
+     * only bump the last entry.
+     */
+    private static class Postings {
+        int[] docs = new int[2];
+        int[] frequencies = new int[2];
+        int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                frequencies[size - 1]++;
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = 1;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Runs periodical searches for the Journal/Periodical panel.
+ *
+ * Typing in the search box starts a search once the user pauses (debounced so
+ * a burst of keystrokes costs one search, with the last word matched as a
+ * prefix); Search or Enter searches at once. Searches run on a SwingWorker so
+ * loading the catalog and ranking never block the Swing thread, and results are
+ * appended to the table chunk by chunk, best first, as the index ranks them. A newer search cancels
+ * the one in progress, and rows from a cancelled search are ignored.
+ */
+public class PeriodicalSearchController {
+
+    public static final String HELP_CARD = "help";
+    private static final String RESULTS_CARD = "results";
+
+    private static final int DEBOUNCE_MS = 250;
+    private static final int RESULT_LIMIT = 200;
+    private static final String[] COLUMNS = {"Title", "Authors", "Journal", "Date", "Vol.", "Issue", "Pages",
+        "Subjects"};
+
+    private final JTextField searchField;
+    private final JPanel cards;
+    private final DefaultTableModel results;
+    private final JLabel status = new JLabel(" ");
+    private final Timer debounce;
+    private SwingWorker<Integer, PeriodicalArticle> current;
+
+    /**
+     * Wires a search box to a results table added to the given cards
+     * @param searchField The search box
+     * @param cards Panel with a CardLayout whose HELP_CARD is shown when the box is empty
+     */
+    public PeriodicalSearchController(JTextField searchField, JPanel cards) {
+        this.searchField = searchField;
+        this.cards = cards;
+
+        results = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(results);
+        table.setRowHeight(26);
+        table.setFillsViewportHeight(true);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.setFont(new Font("Arial", Font.PLAIN, 12));
+        table.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
+        table.getColumnModel().getColumn(0).setPreferredWidth(280);
+        table.getColumnModel().getColumn(1).setPreferredWidth(160);
+        table.getColumnModel().getColumn(2).setPreferredWidth(160);
+        table.getColumnModel().getColumn(7).setPreferredWidth(180);
+
+        JPanel resultsPanel = new JPanel(new BorderLayout());
+        resultsPanel.setBackground(Color.WHITE);
+        status.setFont(new Font("Arial", Font.PLAIN, 12));
+        status.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        resultsPanel.add(status, BorderLayout.NORTH);
+        resultsPanel.add(new JScrollPane(table), BorderLayout.CENTER);
+        cards.add(resultsPanel, RESULTS_CARD);
+
+        debounce = new Timer(DEBOUNCE_MS, e -> search(true));
+        debounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { debounce.restart(); }
+            public void removeUpdate(DocumentEvent e) { debounce.restart(); }
+            public void changedUpdate(DocumentEvent e) { debounce.restart(); }
+        });
+        searchField.addActionListener(e -> searchNow());
+    }
+
+    /**
+     * Searches for the box's text right away (Search button, Enter)
+     */
+    public void searchNow() {
+        debounce.stop();
+        search(false);
+    }
+
+    private void search(boolean typing) {
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+        }
+        String text = searchField.getText();
+        PeriodicalIndex.Query query = PeriodicalIndex.Query.parse(text, typing);
+        results.setRowCount(0);
+        if (query.isEmpty()) {
+            ((CardLayout) cards.getLayout()).show(cards, HELP_CARD);
+            return;
+        }
+        ((CardLayout) cards.getLayout()).show(cards, RESULTS_CARD);
+        status.setText("Searching...");
+
+        long start = System.nanoTime();
+        SwingWorker<Integer, PeriodicalArticle> worker = new SwingWorker<Integer, PeriodicalArticle>() {
+            @Override
+            protected Integer doInBackground() {
+                // Each ranked chunk goes to the table while the rest are still being ranked
+                return PeriodicalIndex.getInstance().search(query, RESULT_LIMIT, this::isCancelled,
+                        chunk -> publish(chunk.toArray(new PeriodicalArticle[0])));
+            }
+
+            @Override
+            protected void process(List<PeriodicalArticle> chunk) {
+                if (current != this) {
+                    return; // Superseded by a newer search
+                }
+                for (PeriodicalArticle article : chunk) {
+                    results.addRow(article.toTableRow());
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (current != this || isCancelled()) {
+                    return;
+                }
+                try {
+                    int found = get();
+                    status.setText(found == 0 ? "No articles found for \"" + text.trim() + "\""
+                            : found + (found == RESULT_LIMIT ? "+" : "") + " article(s) ("
+                            + (System.nanoTime() - start) / 1_000_000 + " ms)");
+                } catch (Exception e) {
+                    System.err.println("Error searching periodicals: " + e.getMessage());
+                    status.setText("Search failed");
+                }
+            }
+        };
+        current = worker;
+        worker.execute();
+    }
+
+    /**
+     * Shows the Advance Search form and searches with the filters entered
+     * @param parent Owner of the dialog
+     */
+    public void showAdvancedSearch(Component parent) {
+        JTextField words = new JTextField(25);
+        JTextField title = new JTextField(25);
+        JTextField author = new JTextField(25);
+        JTextField subject = new JTextField(25);
+        JTextField journal = new JTextField(25);
+        JTextField year = new JTextField(6);
+
+        JPanel form = new JPanel(new GridLayout(0, 2, 8, 6));
+        form.add(new JLabel("Any field:"));
+        form.add(words);
+        form.add(new JLabel("Title:"));
+        form.add(title);
+        form.add(new JLabel("Author:"));
+        form.add(author);
+        form.add(new JLabel("Subject:"));
+        form.add(subject);
+        form.add(new JLabel("Journal:"));
+        form.add(journal);
+        form.add(new JLabel("Year:"));
+        form.add(year);
+
+        int choice = JOptionPane.showConfirmDialog(parent, form, "Advance Search",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        StringBuilder text = new StringBuilder(words.getText().trim());
+        appendFilter(text, PeriodicalIndex.Field.TITLE.getPrefix(), title.getText());
+        appendFilter(text, PeriodicalIndex.Field.AUTHOR.getPrefix(), author.getText());
+        appendFilter(text, PeriodicalIndex.Field.SUBJECT.getPrefix(), subject.getText());
+        appendFilter(text, PeriodicalIndex.Field.JOURNAL.getPrefix(), journal.getText());
+        appendFilter(text, "year", year.getText());
+        searchField.setText(text.toString().trim());
+        searchNow();
+    }
+
+    private static void appendFilter(StringBuilder text, String name, String value) {
+        String trimmed = value.replace("\"", "").trim();
+        if (!trimmed.isEmpty()) {
+            text.append(' ').append(name).append(":\"").append(trimmed).append('"');
+        }
+    }
+}
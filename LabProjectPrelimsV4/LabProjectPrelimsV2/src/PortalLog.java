@@ -0,0 +1,206 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous, level-gated logger for the portal.
+ * Callers put an event name and key=value fields into a bounded ring buffer
+ * and return immediately; a background thread formats and writes the lines.
+ * If the buffer is full the entry is dropped and counted rather than making
+ * the caller (often the Swing thread) wait.
+ *
+ * The level is read once from -Dislu.log.level (TRACE, DEBUG, INFO, WARN,
+ * ERROR or OFF; default INFO) into static final flags, so a disabled check
+ * like {@code if (PortalLog.DEBUG_ENABLED)} is folded away by the JIT. Hot
+ * loops should guard calls with the flag so not even the field values are
+ * built. Output goes to standard out, or to -Dislu.log.file=path.
+ */
+public final class PortalLog {
+
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    public static final String LEVEL_PROPERTY = "islu.log.level";
+    public static final String FILE_PROPERTY = "islu.log.file";
+
+    private static final Level THRESHOLD = parseLevel(System.getProperty(LEVEL_PROPERTY));
+    public static final boolean TRACE_ENABLED = enabled(Level.TRACE);
+    public static final boolean DEBUG_ENABLED = enabled(Level.DEBUG);
+    public static final boolean INFO_ENABLED = enabled(Level.INFO);
+    public static final boolean WARN_ENABLED = enabled(Level.WARN);
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final BlockingQueue<Entry> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+    private static final LongAdder dropped = new LongAdder();
+    private static volatile Thread writer;
+
+    private PortalLog() {
+    }
+
+    private static Level parseLevel(String name) {
+        if (name != null) {
+            try {
+                return Level.valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Error reading log level, using INFO: " + name);
+            }
+        }
+        return Level.INFO;
+    }
+
+    private static boolean enabled(Level level) {
+        return THRESHOLD != Level.OFF && level.compareTo(THRESHOLD) >= 0;
+    }
+
+    /**
+     * Checks if a level is logged
+     * @param level The level
+     * @return true if entries at this level are written
+     */
+    public static boolean isEnabled(Level level) {
+        return enabled(level);
+    }
+
+    public static void debug(String event, String key, Object value) {
+        if (DEBUG_ENABLED) {
+            submit(Level.DEBUG, event, new Object[]{key, value});
+        }
+    }
+
+    public static void debug(String event, String key1, Object value1, String key2, Object value2) {
+        if (DEBUG_ENABLED) {
+            submit(Level.DEBUG, event, new Object[]{key1, value1, key2, value2});
+        }
+    }
+
+    public static void info(String event, String key, Object value) {
+        if (INFO_ENABLED) {
+            submit(Level.INFO, event, new Object[]{key, value});
+        }
+    }
+
+    public static void warn(String event, String key, Object value) {
+        if (WARN_ENABLED) {
+            submit(Level.WARN, event, new Object[]{key, value});
+        }
+    }
+
+    /**
+     * Logs an entry with any number of fields
+     * @param level The level
+     * @param event Short event name, e.g. "profile.lookup"
+     * @param fields Alternating field names and values
+     */
+    public static void log(Level level, String event, Object... fields) {
+        if (enabled(level)) {
+            submit(level, event, fields);
+        }
+    }
+
+    private static void submit(Level level, String event, Object[] fields) {
+        if (writer == null) {
+            startWriter();
+        }
+        if (!buffer.offer(new Entry(level, event, fields, LocalDateTime.now(), Thread.currentThread().getName()))) {
+            dropped.increment();
+        }
+    }
+
+    private static synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        PrintWriter out = openOutput();
+        writer = new Thread(() -> {
+            List<Entry> batch = new ArrayList<>();
+            try {
+                while (true) {
+                    batch.add(buffer.take());
+                    buffer.drainTo(batch);
+                    write(out, batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "portal-log");
+        writer.setDaemon(true);
+        writer.start();
+
+        // Write whatever is still buffered when the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50); // Let the writer finish its current batch
+            } catch (InterruptedException ignored) {
+            }
+            List<Entry> rest = new ArrayList<>();
+            buffer.drainTo(rest);
+            write(out, rest);
+        }, "portal-log-flush"));
+    }
+
+    private static PrintWriter openOutput() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null) {
+            try {
+                Writer fileWriter = new FileWriter(file, true);
+                return new PrintWriter(fileWriter);
+            } catch (IOException e) {
+                System.err.println("Error opening log file, using standard out: " + e.getMessage());
+            }
+        }
+        return new PrintWriter(System.out);
+    }
+
+    private static synchronized void write(PrintWriter out, List<Entry> batch) {
+        StringBuilder line = new StringBuilder(128);
+        for (Entry entry : batch) {
+            line.setLength(0);
+            entry.format(line);
+            out.println(line);
+        }
+        long droppedNow = dropped.sumThenReset();
+        if (droppedNow > 0) {
+            out.println(LocalDateTime.now() + " WARN  log.dropped count=" + droppedNow);
+        }
+        out.flush();
+        batch.clear();
+    }
+
+    private static class Entry {
+        final Level level;
+        final String event;
+        final Object[] fields;
+        final LocalDateTime time;
+        final String thread;
+
+        Entry(Level level, String event, Object[] fields, LocalDateTime time, String thread) {
+            this.level = level;
+            this.event = event;
+            this.fields = fields;
+            this.time = time;
+            this.thread = thread;
+        }
+
+        void format(StringBuilder line) {
+            line.append(time).append(' ').append(String.format("%-5s", level)).append(" [").append(thread)
+                .append("] ").append(event);
+            for (int i = 0; i + 1 < fields.length; i += 2) {
+                line.append(' ').append(fields[i]).append('=');
+                String value = String.valueOf(fields[i + 1]);
+                // Quote values with spaces so each line stays one field per key
+                if (value.indexOf(' ') >= 0) {
+                    line.append('"').append(value.replace("\"", "\\\"")).append('"');
+                } else {
+                    line.append(value);
+                }
+            }
+        }
+    }
+}
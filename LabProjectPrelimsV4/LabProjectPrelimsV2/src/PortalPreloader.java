@@ -0,0 +1,35 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads everything the portal shows for a student in parallel.
+ * The loads are independent reads of different data files, so they run side
+ * by side on a small I/O pool and the session is ready as soon as the slowest
+ * one finishes instead of after all of them one by one. The loaded values stay
+ * memoized in the session (see PortalSession).
+ */
+public class PortalPreloader {
+
+    // One thread per independent load
+    private static final int LOADER_THREADS = 6;
+
+    private static final ExecutorService loader = Executors.newFixedThreadPool(LOADER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "portal-preload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PortalPreloader() {
+    }
+
+    /**
+     * Starts loading a student's portal data
+     * @param studentID The student ID
+     * @return Future completing with the loaded session
+     */
+    public static CompletableFuture<PortalSession> preload(String studentID) {
+        // The menu is built in memory; only the data files go to the pool
+        return new PortalSession(studentID, PortalUtils.createIntegratedMenuSystem()).preload(loader);
+    }
+}
@@ -0,0 +1,154 @@
+import java.awt.Color;
+import java.awt.Component;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.table.DefaultTableCellRenderer;
+
+/**
+ * Shared cell renderers for portal tables.
+ * A renderer is only a rubber stamp that is configured and painted one cell at
+ * a time on the event thread, so a single instance of each kind can serve every
+ * table. The renderers only use colors and fonts from PortalTheme and do not
+ * fire property change events for plain-text cells, so painting a cell
+ * allocates nothing.
+ */
+public final class PortalRenderers {
+
+    public static final DefaultTableCellRenderer LEFT_ALIGNED = aligned(SwingConstants.LEFT);
+    public static final DefaultTableCellRenderer CENTER_ALIGNED = aligned(SwingConstants.CENTER);
+    public static final DefaultTableCellRenderer RIGHT_ALIGNED = aligned(SwingConstants.RIGHT);
+
+    public static final DefaultTableCellRenderer ATTENDANCE_STATUS = new AttendanceStatusRenderer();
+    public static final DefaultTableCellRenderer SEMESTER_HEADER = new SemesterHeaderRenderer();
+    public static final DefaultTableCellRenderer WEEKLY_SCHEDULE = new WeeklyScheduleRenderer();
+    public static final DefaultTableCellRenderer CURRICULUM = new CurriculumRenderer();
+
+    private PortalRenderers() {
+    }
+
+    private static DefaultTableCellRenderer aligned(int alignment) {
+        DefaultTableCellRenderer renderer = new PortalCellRenderer();
+        renderer.setHorizontalAlignment(alignment);
+        return renderer;
+    }
+
+    /**
+     * Base renderer that extends DefaultTableCellRenderer's own event filtering.
+     * Changing the text or alignment of a JLabel fires a property change event
+     * (boxed values included) for every cell; nothing listens to a renderer
+     * except its UI delegate, which only needs text events to switch HTML
+     * rendering on or off.
+     */
+    private static class PortalCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+            if (propertyName == "text" && !isHTML(oldValue) && !isHTML(newValue)) {
+                return;
+            }
+            super.firePropertyChange(propertyName, oldValue, newValue);
+        }
+
+        @Override
+        public void firePropertyChange(String propertyName, int oldValue, int newValue) {
+            // Overridden for performance reasons (alignment changes per cell)
+        }
+
+        private static boolean isHTML(Object text) {
+            return text instanceof String && BasicHTML.isHTMLString((String) text);
+        }
+    }
+
+    /**
+     * Colors the status column (column 3) of the attendance table
+     */
+    private static class AttendanceStatusRenderer extends PortalCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            setForeground(column == 3 ? statusColor(value) : Color.BLACK);
+            return this;
+        }
+
+        private static Color statusColor(Object value) {
+            String status = value == null ? "" : value.toString();
+            if (status.equals("Present")) {
+                return PortalTheme.STATUS_GREEN;
+            } else if (status.equals("Absent")) {
+                return PortalTheme.STATUS_RED;
+            } else if (status.equals("Late")) {
+                return PortalTheme.STATUS_ORANGE;
+            }
+            return Color.BLACK;
+        }
+    }
+
+    /**
+     * Centers and bolds "... SEMESTER" rows of the grades table
+     */
+    private static class SemesterHeaderRenderer extends PortalCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (column == 0 && value != null && value.toString().contains("SEMESTER")) {
+                setFont(PortalTheme.BOLD_14);
+                setBackground(PortalTheme.HEADER_ROW);
+                setHorizontalAlignment(SwingConstants.CENTER);
+            } else {
+                setFont(PortalTheme.PLAIN_12);
+                setBackground(Color.WHITE);
+                setHorizontalAlignment(SwingConstants.LEFT);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Shades the time column and occupied course slots of the weekly schedule
+     */
+    private static class WeeklyScheduleRenderer extends PortalCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (column == 0) {
+                setBackground(PortalTheme.TIME_COLUMN);
+                setHorizontalAlignment(SwingConstants.CENTER);
+            } else if (value != null && !value.toString().trim().isEmpty()) {
+                setBackground(PortalTheme.COURSE_CELL);
+                setHorizontalAlignment(SwingConstants.CENTER);
+            } else {
+                setBackground(Color.WHITE);
+            }
+
+            if (isSelected) {
+                setBackground(PortalTheme.SELECTED_CELL);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Bolds semester header rows (rows without a course number) of the curriculum checklist
+     */
+    private static class CurriculumRenderer extends PortalCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            Object courseNum = table.getValueAt(row, 1);
+            if (courseNum == null || courseNum.toString().trim().isEmpty()) {
+                setFont(PortalTheme.BOLD_12);
+                setBackground(PortalTheme.HEADER_ROW);
+                setHorizontalAlignment(SwingConstants.LEFT);
+            } else {
+                setFont(PortalTheme.PLAIN_11);
+                setBackground(Color.WHITE);
+                setHorizontalAlignment(column == 3 ? SwingConstants.CENTER : SwingConstants.LEFT);
+            }
+            return this;
+        }
+    }
+}
@@ -1,54 +1,190 @@
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
- * Portal session class that integrates all components
+ * Portal session class that integrates all components.
+ * Holds a read-only snapshot of one student's data. Each view is computed on
+ * first use and memoized, so every data file is read at most once per session;
+ * after the portal writes to a table it invalidates that table and the views
+ * built from it are recomputed on next use. Lists handed out are unmodifiable.
  */
 public class PortalSession {
-    private StudentInfo studentInfo;
-    private MyDoublyLinkedList<MenuItem> menu;
-    private List<PaymentTransaction> transactions;
+    private final String studentID;
+    private final MyDoublyLinkedList<MenuItem> menu;
     private int currentMenuIndex;
-    
-    public PortalSession(StudentInfo studentInfo, MyDoublyLinkedList<MenuItem> menu, List<PaymentTransaction> transactions) {
-        this.studentInfo = studentInfo;
+
+    // Views read straight from the data files
+    private final View<StudentInfo> studentInfo;
+    private final View<ProfileData> profile;
+    private final View<List<PaymentTransaction>> transactions;
+    private final View<List<CourseSchedule>> schedule;
+    private final View<List<AttendanceRecord>> attendance;
+    private final View<List<GradeRecord>> grades;
+
+    // Views derived from the ones above
+    private final View<String> currentSemester;
+    private final View<List<GradeRecord>> currentSemesterGrades;
+    private final View<AttendanceSummary> attendanceSummary;
+
+    public PortalSession(String studentID, MyDoublyLinkedList<MenuItem> menu) {
+        this.studentID = studentID;
         this.menu = menu;
-        this.transactions = transactions;
         this.currentMenuIndex = 0;
+
+        studentInfo = new View<>(() -> DataManager.getStudentInfo(studentID));
+        profile = new View<>(() -> DataManager.getStudentProfile(studentID));
+        transactions = new View<>(() -> Collections.unmodifiableList(DataManager.getPaymentTransactions(studentID)));
+        schedule = new View<>(() -> Collections.unmodifiableList(DataManager.getStudentSchedule(studentID)));
+        attendance = new View<>(() -> Collections.unmodifiableList(DataManager.getStudentAttendance(studentID)));
+        grades = new View<>(() -> Collections.unmodifiableList(DataManager.loadGradeRecords(studentID)));
+
+        currentSemester = new View<>(() -> DataManager.getCurrentSemester(getSchedule()));
+        currentSemesterGrades = new View<>(() -> Collections.unmodifiableList(
+                DataManager.getSemesterGrades(getGrades(), getCurrentSemester())));
+        attendanceSummary = new View<>(() -> DataManager.summarizeAttendance(getAttendance()));
     }
-    
-    public StudentInfo getStudentInfo() { return studentInfo; }
+
+    public String getStudentID() { return studentID; }
     public MyDoublyLinkedList<MenuItem> getMenu() { return menu; }
-    public List<PaymentTransaction> getTransactions() { return transactions; }
+    public StudentInfo getStudentInfo() { return studentInfo.get(); }
+    public ProfileData getProfile() { return profile.get(); }
+    public List<PaymentTransaction> getTransactions() { return transactions.get(); }
+    public List<CourseSchedule> getSchedule() { return schedule.get(); }
+    public List<AttendanceRecord> getAttendance() { return attendance.get(); }
+    public List<GradeRecord> getGrades() { return grades.get(); }
+    public String getCurrentSemester() { return currentSemester.get(); }
+    public List<GradeRecord> getCurrentSemesterGrades() { return currentSemesterGrades.get(); }
+    public AttendanceSummary getAttendanceSummary() { return attendanceSummary.get(); }
+    // Cached across sessions by their builders, built from this session's grades on a miss
+    public Transcript getTranscript() {
+        return TranscriptBuilder.getInstance().getTranscript(studentID, this::getGrades);
+    }
+
+    public CurriculumProgress getCurriculumProgress() {
+        return CurriculumEngine.getInstance().getProgress(studentID, this::getGrades);
+    }
     public int getCurrentMenuIndex() { return currentMenuIndex; }
-    
+
+    /**
+     * Computes every file-backed view in parallel
+     * @param executor Executor to run the loads on
+     * @return Future completing with this session once all views are loaded
+     */
+    public CompletableFuture<PortalSession> preload(Executor executor) {
+        return CompletableFuture.allOf(
+                CompletableFuture.runAsync(studentInfo::get, executor),
+                CompletableFuture.runAsync(profile::get, executor),
+                CompletableFuture.runAsync(transactions::get, executor),
+                CompletableFuture.runAsync(schedule::get, executor),
+                CompletableFuture.runAsync(attendance::get, executor),
+                CompletableFuture.runAsync(grades::get, executor))
+            .thenApply(done -> this);
+    }
+
+    /**
+     * Drops the views built from a table after the portal has written to it,
+     * along with the student's cached rows in DataManager
+     * @param table The table that changed
+     */
+    public void invalidate(StorageTable table) {
+        DataManager.evictCached(table, studentID);
+        switch (table) {
+            case STUDENTS:
+                studentInfo.invalidate();
+                break;
+            case PROFILES:
+                profile.invalidate();
+                break;
+            case PAYMENTS:
+                transactions.invalidate();
+                break;
+            case SCHEDULES:
+                schedule.invalidate();
+                currentSemester.invalidate();
+                currentSemesterGrades.invalidate();
+                break;
+            case ATTENDANCE:
+                attendance.invalidate();
+                attendanceSummary.invalidate();
+                break;
+            case GRADES:
+                grades.invalidate();
+                currentSemesterGrades.invalidate();
+                TranscriptBuilder.getInstance().invalidate(studentID);
+                CurriculumEngine.getInstance().invalidate(studentID);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Drops every view so the next use reads the data files again
+     */
+    public void invalidateAll() {
+        for (StorageTable table : StorageTable.values()) {
+            invalidate(table);
+        }
+    }
+
     public void setCurrentMenuIndex(int index) {
         if (index >= 0 && index < menu.getSize()) {
             this.currentMenuIndex = index;
         }
     }
-    
+
     public MenuItem getCurrentMenuItem() {
         return menu.get(currentMenuIndex);
     }
-    
+
     public MenuItem navigateNext() {
         currentMenuIndex = (currentMenuIndex + 1) % menu.getSize();
         return getCurrentMenuItem();
     }
-    
+
     public MenuItem navigatePrevious() {
         currentMenuIndex = (currentMenuIndex - 1 + menu.getSize()) % menu.getSize();
         return getCurrentMenuItem();
     }
-    
+
     public String getSessionSummary() {
+        StudentInfo info = getStudentInfo();
         StringBuilder summary = new StringBuilder();
         summary.append("Portal Session Summary:\n");
-        summary.append("Student: ").append(studentInfo.getFullName()).append("\n");
-        summary.append("Student ID: ").append(studentInfo.getId()).append("\n");
+        summary.append("Student: ").append(info != null ? info.getFullName() : "Unknown").append("\n");
+        summary.append("Student ID: ").append(studentID).append("\n");
         summary.append("Available Menu Items: ").append(menu.getSize()).append("\n");
-        summary.append("Payment Transactions: ").append(transactions.size()).append("\n");
+        summary.append("Payment Transactions: ").append(getTransactions().size()).append("\n");
         summary.append("Current Menu: ").append(getCurrentMenuItem().getName()).append("\n");
         return summary.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Lazily computed, memoized value. Concurrent first calls compute it once.
+     */
+    private static class View<T> {
+        private final Supplier<T> loader;
+        private T value;
+        private boolean loaded;
+
+        View(Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        synchronized T get() {
+            if (!loaded) {
+                value = loader.get();
+                loaded = true;
+            }
+            return value;
+        }
+
+        synchronized void invalidate() {
+            loaded = false;
+            value = null;
+        }
+    }
+}
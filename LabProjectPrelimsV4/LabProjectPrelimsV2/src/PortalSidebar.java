@@ -0,0 +1,144 @@
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.Consumer;
+import javax.swing.*;
+
+/**
+ * Sidebar menu that mirrors the session's menu list.
+ * Buttons are kept in an array in menu order and the selection is tracked by
+ * index, so selecting an entry only repaints the previous and the new button.
+ * Up/Down move through the menu via PortalSession.navigateNext/navigatePrevious
+ * while the sidebar has focus.
+ */
+public class PortalSidebar extends JPanel {
+
+    private static final int NO_SELECTION = -1;
+
+    private final PortalSession session;
+    private final Consumer<MenuItem> onSelect;
+    private final JPanel[] buttons;
+    private final MenuItem[] items;
+    private int selectedIndex = NO_SELECTION;
+
+    /**
+     * Creates the sidebar buttons for every item of the session's menu
+     * @param session Session holding the menu and current menu index
+     * @param onSelect Called with the menu item whenever the selection changes
+     */
+    public PortalSidebar(PortalSession session, Consumer<MenuItem> onSelect) {
+        super(new GridLayout(0, 1, 0, 0));
+        this.session = session;
+        this.onSelect = onSelect;
+
+        setBackground(PortalTheme.NAVY);
+        setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
+        setFocusable(true);
+
+        MyDoublyLinkedList<MenuItem> menu = session.getMenu();
+        buttons = new JPanel[menu.getSize()];
+        items = new MenuItem[menu.getSize()];
+        int index = 0;
+        for (MenuItem option : menu) {
+            JPanel buttonPanel = createButtonPanel(option);
+            buttons[index] = buttonPanel;
+            items[index] = option;
+            add(buttonPanel);
+            addMouseHandling(buttonPanel, index);
+            index++;
+        }
+
+        bindKey(KeyEvent.VK_DOWN, "navigateNext", session::navigateNext);
+        bindKey(KeyEvent.VK_UP, "navigatePrevious", session::navigatePrevious);
+    }
+
+    /**
+     * Gets the index of the selected menu item
+     * @return The selected index, or -1 if nothing is selected yet
+     */
+    public int getSelectedIndex() {
+        return selectedIndex;
+    }
+
+    /**
+     * Selects a menu entry, repainting only the old and new buttons
+     * @param index Index of the entry in the menu
+     */
+    public void select(int index) {
+        if (index < 0 || index >= buttons.length) {
+            return;
+        }
+        session.setCurrentMenuIndex(index);
+        if (index != selectedIndex) {
+            if (selectedIndex != NO_SELECTION) {
+                paintButton(selectedIndex, PortalTheme.NAVY);
+            }
+            selectedIndex = index;
+            paintButton(index, PortalTheme.STEEL_BLUE);
+        }
+        onSelect.accept(items[index]);
+    }
+
+    private void paintButton(int index, Color background) {
+        buttons[index].setBackground(background);
+        buttons[index].repaint();
+    }
+
+    private void addMouseHandling(JPanel buttonPanel, int index) {
+        buttonPanel.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                select(index);
+                requestFocusInWindow(); // So the arrow keys work right after a click
+            }
+
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                paintButton(index, PortalTheme.NAVY_HOVER); // Lighter blue on hover
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                paintButton(index, index == selectedIndex ? PortalTheme.STEEL_BLUE : PortalTheme.NAVY);
+            }
+        });
+    }
+
+    private void bindKey(int keyCode, String actionName, Runnable navigation) {
+        getInputMap(WHEN_FOCUSED).put(KeyStroke.getKeyStroke(keyCode, 0), actionName);
+        getActionMap().put(actionName, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (selectedIndex == NO_SELECTION) {
+                    // Nothing highlighted yet, so the first key press lands on the current entry
+                    select(session.getCurrentMenuIndex());
+                } else {
+                    navigation.run();
+                    select(session.getCurrentMenuIndex());
+                }
+            }
+        });
+    }
+
+    private static JPanel createButtonPanel(MenuItem item) {
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.setLayout(new BorderLayout()); // Use BorderLayout to align the label
+        buttonPanel.setBackground(PortalTheme.NAVY);
+        buttonPanel.setOpaque(true);
+
+        // Top/bottom rule with padding, shared by every sidebar entry
+        buttonPanel.setBorder(PortalTheme.SIDEBAR_BUTTON_BORDER);
+
+        JLabel buttonLabel = new JLabel(item.getName());
+        buttonLabel.setForeground(Color.WHITE);
+        buttonLabel.setHorizontalAlignment(SwingConstants.LEFT);
+        buttonLabel.setOpaque(false); // Make the label transparent
+        buttonPanel.add(buttonLabel, BorderLayout.WEST);
+
+        return buttonPanel;
+    }
+}
@@ -0,0 +1,58 @@
+import java.awt.Color;
+import java.awt.Font;
+import javax.swing.BorderFactory;
+import javax.swing.border.Border;
+
+/**
+ * Shared colors, fonts and borders used across the portal.
+ * Color, Font and Border are immutable, so one instance of each can be reused
+ * by every component and cell renderer instead of being allocated per paint.
+ */
+public final class PortalTheme {
+
+    // Sidebar and header navy palette
+    public static final Color NAVY = new Color(13, 37, 73);
+    public static final Color NAVY_HOVER = new Color(25, 55, 95);
+    public static final Color STEEL_BLUE = new Color(70, 130, 180);
+
+    // Attendance and balance status colors
+    public static final Color STATUS_GREEN = new Color(0, 128, 0);
+    public static final Color STATUS_RED = new Color(255, 0, 0);
+    public static final Color STATUS_ORANGE = new Color(255, 140, 0);
+
+    // Table backgrounds
+    public static final Color HEADER_ROW = new Color(240, 240, 240);
+    public static final Color TIME_COLUMN = new Color(245, 245, 245);
+    public static final Color COURSE_CELL = new Color(230, 240, 255);
+    public static final Color SELECTED_CELL = new Color(184, 207, 229);
+
+    // Calendar widget
+    public static final Color CALENDAR_SELECTED = new Color(0, 120, 215);
+    public static final Color CALENDAR_BORDER = new Color(200, 200, 200);
+    public static final Color CALENDAR_OUT_OF_MONTH = new Color(245, 245, 245);
+    public static final Color CALENDAR_OUT_OF_MONTH_TEXT = new Color(150, 150, 150);
+    public static final Color CALENDAR_DAY_HEADER_TEXT = new Color(80, 80, 80);
+
+    public static final Font PLAIN_11 = new Font("Arial", Font.PLAIN, 11);
+    public static final Font PLAIN_12 = new Font("Arial", Font.PLAIN, 12);
+    public static final Font BOLD_11 = new Font("Arial", Font.BOLD, 11);
+    public static final Font BOLD_12 = new Font("Arial", Font.BOLD, 12);
+    public static final Font BOLD_14 = new Font("Arial", Font.BOLD, 14);
+
+    /** Black top/bottom rule with 10px padding around each sidebar entry */
+    public static final Border SIDEBAR_BUTTON_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createMatteBorder(1, 0, 1, 0, Color.black),
+            BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+    /** Thin gray outline used by calendar day headers and day buttons */
+    public static final Border CALENDAR_CELL_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(CALENDAR_BORDER, 1),
+            BorderFactory.createEmptyBorder(2, 2, 2, 2));
+
+    public static final Border CALENDAR_HEADER_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(CALENDAR_BORDER, 1),
+            BorderFactory.createEmptyBorder(3, 3, 3, 3));
+
+    private PortalTheme() {
+    }
+}
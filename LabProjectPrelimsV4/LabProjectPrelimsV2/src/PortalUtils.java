@@ -110,11 +110,7 @@ public class PortalUtils {
      * @return A portal session object containing all integrated data
      */
     public static PortalSession createPortalSession(String studentID) {
-        StudentInfo studentInfo = DataManager.getStudentInfo(studentID);
-        MyDoublyLinkedList<MenuItem> menu = createIntegratedMenuSystem();
-        List<PaymentTransaction> transactions = DataManager.getPaymentTransactions(studentID);
-        
-        return new PortalSession(studentInfo, menu, transactions);
+        return PortalPreloader.preload(studentID).join();
     }
     
     // =================================================================
@@ -0,0 +1,181 @@
+import java.util.Map;
+
+/**
+ * A student's profile: one value slot per ProfileField.
+ *
+ * Stored in studentProfiles.txt as one row per student:
+ *   StudentID|Gender|Citizenship|...|GuardianAddress
+ * Values are escaped (\\ for a backslash, \| for a bar, \n for a line break)
+ * so addresses may contain any character. Rows are decoded in a single pass
+ * straight into the slots.
+ */
+public class ProfileData {
+
+    private static final char SEPARATOR = '|';
+    private static final char ESCAPE = '\\';
+    private static final int SLOTS = ProfileField.values().length;
+
+    private final String[] values = new String[SLOTS];
+
+    /**
+     * Creates a profile with every field at its default value
+     */
+    public ProfileData() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            values[slot] = ProfileField.ofSlot(slot).getDefaultValue();
+        }
+    }
+
+    /**
+     * Copies a profile
+     * @param other The profile to copy
+     */
+    public ProfileData(ProfileData other) {
+        System.arraycopy(other.values, 0, values, 0, SLOTS);
+    }
+
+    public String get(ProfileField field) {
+        return values[field.ordinal()];
+    }
+
+    /**
+     * Sets a field (null or blank resets it to its default)
+     * @param field The field
+     * @param value The new value
+     */
+    public void set(ProfileField field, String value) {
+        values[field.ordinal()] = value == null || value.trim().isEmpty() ? field.getDefaultValue() : value;
+    }
+
+    // Getter methods
+    public String getGender() { return get(ProfileField.GENDER); }
+    public String getCitizenship() { return get(ProfileField.CITIZENSHIP); }
+    public String getReligion() { return get(ProfileField.RELIGION); }
+    public String getCivilStatus() { return get(ProfileField.CIVIL_STATUS); }
+    public String getBirthplace() { return get(ProfileField.BIRTHPLACE); }
+    public String getNationality() { return get(ProfileField.NATIONALITY); }
+    public String getHomeAddress() { return get(ProfileField.HOME_ADDRESS); }
+    public String getHomeTel() { return get(ProfileField.HOME_TEL); }
+    public String getBaguioAddress() { return get(ProfileField.BAGUIO_ADDRESS); }
+    public String getBaguioTel() { return get(ProfileField.BAGUIO_TEL); }
+    public String getCellphone() { return get(ProfileField.CELLPHONE); }
+    public String getFatherName() { return get(ProfileField.FATHER_NAME); }
+    public String getFatherOcc() { return get(ProfileField.FATHER_OCC); }
+    public String getMotherName() { return get(ProfileField.MOTHER_NAME); }
+    public String getMotherOcc() { return get(ProfileField.MOTHER_OCC); }
+    public String getGuardianName() { return get(ProfileField.GUARDIAN_NAME); }
+    public String getGuardianAddress() { return get(ProfileField.GUARDIAN_ADDRESS); }
+
+    /**
+     * Formats the profile as a studentProfiles.txt row
+     * @param studentID The owning student ID
+     * @return The row
+     */
+    public String toRow(String studentID) {
+        StringBuilder row = new StringBuilder(studentID.length() + SLOTS * 12);
+        row.append(studentID);
+        for (String value : values) {
+            row.append(SEPARATOR);
+            appendEscaped(row, value);
+        }
+        return row.toString();
+    }
+
+    /**
+     * Replaces some slots of a studentProfiles.txt row. Unchanged slots are
+     * copied over as stored, without decoding them.
+     * @param row The stored row
+     * @param changes New values by field (null or blank resets a field to its default)
+     * @return The patched row
+     */
+    public static String patchRow(String row, Map<ProfileField, String> changes) {
+        StringBuilder patched = new StringBuilder(row.length() + 32);
+        int start = row.indexOf(SEPARATOR);
+        patched.append(start < 0 ? row : row.substring(0, start));
+
+        int position = start < 0 ? row.length() : start + 1;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            // Find the end of this slot's stored text, stepping over escaped characters
+            int end = position;
+            while (end < row.length() && row.charAt(end) != SEPARATOR) {
+                end += row.charAt(end) == ESCAPE ? 2 : 1;
+            }
+            end = Math.min(end, row.length());
+
+            ProfileField field = ProfileField.ofSlot(slot);
+            patched.append(SEPARATOR);
+            if (changes.containsKey(field)) {
+                String value = changes.get(field);
+                appendEscaped(patched, value == null || value.trim().isEmpty() ? field.getDefaultValue() : value);
+            } else if (position < row.length()) {
+                patched.append(row, position, end);
+            } else {
+                appendEscaped(patched, field.getDefaultValue()); // Slot missing from a short row
+            }
+            position = end + 1;
+        }
+        return patched.toString();
+    }
+
+    private static void appendEscaped(StringBuilder row, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ESCAPE || c == SEPARATOR) {
+                row.append(ESCAPE).append(c);
+            } else if (c == '\n') {
+                row.append(ESCAPE).append('n');
+            } else if (c != '\r') {
+                row.append(c);
+            }
+        }
+    }
+
+    /**
+     * Reads a studentProfiles.txt row. Missing trailing slots keep their defaults.
+     * @param row The row
+     * @return The profile
+     */
+    public static ProfileData fromRow(String row) {
+        ProfileData profile = new ProfileData();
+        int start = row.indexOf(SEPARATOR);
+        if (start < 0) {
+            return profile;
+        }
+
+        StringBuilder value = new StringBuilder();
+        int slot = 0;
+        for (int i = start + 1; i <= row.length() && slot < SLOTS; i++) {
+            if (i == row.length() || row.charAt(i) == SEPARATOR) {
+                profile.set(ProfileField.ofSlot(slot++), value.toString());
+                value.setLength(0);
+            } else if (row.charAt(i) == ESCAPE && i + 1 < row.length()) {
+                char escaped = row.charAt(++i);
+                value.append(escaped == 'n' ? '\n' : escaped);
+            } else {
+                value.append(row.charAt(i));
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Reads the old "Gender=...;Citizenship=...;" text that used to follow the
+     * password on a Database.txt row. Unknown keys are ignored.
+     * @param legacy The key=value text
+     * @return The profile
+     */
+    public static ProfileData fromLegacy(String legacy) {
+        ProfileData profile = new ProfileData();
+        for (String pair : legacy.split(";")) {
+            int equals = pair.indexOf('=');
+            if (equals < 0) {
+                continue;
+            }
+            ProfileField field = ProfileField.ofKey(pair.substring(0, equals).trim());
+            if (field != null) {
+                profile.set(field, pair.substring(equals + 1).trim());
+            }
+        }
+        return profile;
+    }
+}
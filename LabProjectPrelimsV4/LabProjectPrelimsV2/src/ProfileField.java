@@ -0,0 +1,66 @@
+/**
+ * The fields of a student profile, in the order of their slots in a
+ * studentProfiles.txt row. Each field keeps its key from the old
+ * "Gender=...;Citizenship=...;" format and the value shown when it was
+ * never filled in.
+ */
+public enum ProfileField {
+    GENDER("Gender", "Male"),
+    CITIZENSHIP("Citizenship", "Filipino"),
+    RELIGION("Religion", "Roman Catholic"),
+    CIVIL_STATUS("CivilStatus", "Single"),
+    BIRTHPLACE("Birthplace", "None"),
+    NATIONALITY("Nationality", "Filipino"),
+    HOME_ADDRESS("HomeAddress", "None"),
+    HOME_TEL("HomeTel", "None"),
+    BAGUIO_ADDRESS("BaguioAddress", "None"),
+    BAGUIO_TEL("BaguioTel", "None"),
+    CELLPHONE("Cellphone", "None"),
+    FATHER_NAME("FatherName", "None"),
+    FATHER_OCC("FatherOcc", "None"),
+    MOTHER_NAME("MotherName", "None"),
+    MOTHER_OCC("MotherOcc", "None"),
+    GUARDIAN_NAME("GuardianName", "None"),
+    GUARDIAN_ADDRESS("GuardianAddress", "None");
+
+    private static final ProfileField[] FIELDS = values();
+
+    private final String key;
+    private final String defaultValue;
+
+    ProfileField(String key, String defaultValue) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Gets the field at a slot
+     * @param slot Slot index in a profile row
+     * @return The field
+     */
+    public static ProfileField ofSlot(int slot) {
+        return FIELDS[slot];
+    }
+
+    /**
+     * Finds a field by its key in the old key=value format
+     * @param key The key, e.g. "CivilStatus"
+     * @return The field, or null if the key is unknown
+     */
+    public static ProfileField ofKey(String key) {
+        for (ProfileField field : FIELDS) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Staged edits to a student's profile.
+ * Edits are kept in memory, one value per field, so rapid successive edits
+ * of the same field (e.g. one per keystroke from a DocumentListener) coalesce
+ * into the latest value. commit() then writes only the changed slots into the
+ * student's stored profile in a single row update; fields that were not
+ * touched keep whatever is stored, not a copy held by the form.
+ */
+public class ProfilePatch {
+
+    private final String studentID;
+    private final Map<ProfileField, String> changes = new EnumMap<>(ProfileField.class);
+
+    /**
+     * Creates an empty patch
+     * @param studentID The student whose profile is edited
+     */
+    public ProfilePatch(String studentID) {
+        this.studentID = studentID;
+    }
+
+    public String getStudentID() {
+        return studentID;
+    }
+
+    /**
+     * Stages a field edit, replacing any staged value for the same field
+     * @param field The field
+     * @param value The new value
+     * @return This patch
+     */
+    public synchronized ProfilePatch set(ProfileField field, String value) {
+        changes.put(field, value);
+        return this;
+    }
+
+    /**
+     * Checks if anything is staged
+     * @return true if there are no staged edits
+     */
+    public synchronized boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Writes the staged edits in one row update
+     * @return true if the edits were written (or nothing was staged), false on error
+     */
+    public boolean commit() {
+        Map<ProfileField, String> staged;
+        synchronized (this) {
+            if (changes.isEmpty()) {
+                return true;
+            }
+            staged = new EnumMap<>(changes);
+            changes.clear();
+        }
+
+        if (DataManager.applyProfilePatch(studentID, staged)) {
+            return true;
+        }
+
+        // Keep the edits for the next attempt unless they were edited again meanwhile
+        synchronized (this) {
+            for (Map.Entry<ProfileField, String> entry : staged.entrySet()) {
+                changes.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each startup phase takes, from JVM launch through the
+ * login window to the first paint of the portal.
+ * Marks are always recorded (a nanoTime and a class count each); the report
+ * is printed once the portal has painted when -Dislu.startup.report=true.
+ *
+ * Class loading is usually the largest cost, so the report also says whether
+ * the JVM was started with an AppCDS archive (see StartupTool).
+ */
+public class StartupProfiler {
+
+    public static final String REPORT_PROPERTY = "islu.startup.report";
+
+    private static final List<Mark> marks = new ArrayList<>();
+    private static final List<Runnable> firstPaintListeners = new ArrayList<>();
+    private static boolean portalPainted;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Records the end of a startup phase
+     * @param phase Name of the phase that just finished
+     */
+    public static synchronized void mark(String phase) {
+        marks.add(new Mark(phase, ManagementFactory.getRuntimeMXBean().getUptime(), System.nanoTime(),
+                ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount()));
+    }
+
+    /**
+     * Records the first paint of the portal window (later calls are ignored)
+     * and prints the report if it was requested
+     */
+    public static void portalPainted() {
+        List<Runnable> listeners;
+        synchronized (StartupProfiler.class) {
+            if (portalPainted) {
+                return;
+            }
+            portalPainted = true;
+            mark("portal first paint");
+            listeners = new ArrayList<>(firstPaintListeners);
+        }
+
+        if (Boolean.getBoolean(REPORT_PROPERTY)) {
+            System.out.print(getReport());
+        }
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Runs an action once the portal has painted for the first time
+     * @param listener The action
+     */
+    public static void onPortalPainted(Runnable listener) {
+        boolean runNow;
+        synchronized (StartupProfiler.class) {
+            runNow = portalPainted;
+            if (!runNow) {
+                firstPaintListeners.add(listener);
+            }
+        }
+        if (runNow) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Formats the recorded phases. Time before the first mark is JVM startup
+     * and class loading up to main().
+     * @return The report text
+     */
+    public static synchronized String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("Startup report (").append(usesSharedArchive() ? "AppCDS archive" : "no AppCDS archive")
+              .append(")\n");
+        report.append(String.format("%-28s %10s %10s %10s%n", "Phase", "At (ms)", "Took (ms)", "Classes"));
+
+        if (marks.isEmpty()) {
+            return report.append("No phases recorded\n").toString();
+        }
+
+        // The first mark is timed from JVM launch; later ones from the previous mark
+        Mark first = marks.get(0);
+        report.append(String.format("%-28s %10d %10d %10d%n", "jvm start -> " + first.phase,
+                first.uptimeMillis, first.uptimeMillis, first.loadedClasses));
+        for (int i = 1; i < marks.size(); i++) {
+            Mark previous = marks.get(i - 1);
+            Mark mark = marks.get(i);
+            report.append(String.format("%-28s %10d %10d %10d%n", mark.phase,
+                    first.uptimeMillis + (mark.nanos - first.nanos) / 1_000_000,
+                    (mark.nanos - previous.nanos) / 1_000_000,
+                    mark.loadedClasses - previous.loadedClasses));
+        }
+        return report.toString();
+    }
+
+    private static boolean usesSharedArchive() {
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-XX:SharedArchiveFile")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Mark {
+        final String phase;
+        final long uptimeMillis;
+        final long nanos;
+        final long loadedClasses;
+
+        Mark(String phase, long uptimeMillis, long nanos, long loadedClasses) {
+            this.phase = phase;
+            this.uptimeMillis = uptimeMillis;
+            this.nanos = nanos;
+            this.loadedClasses = loadedClasses;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+import javax.swing.SwingUtilities;
+
+/**
+ * Command line tool for startup tuning.
+ *
+ *   java -XX:ArchiveClassesAtExit=portal.jsa StartupTool train &lt;studentID&gt; [password]
+ *       Opens the login window, signs in (when a password is given), preloads
+ *       the student's session and opens the portal from it the way Login does,
+ *       then exits once the portal has painted.
+ *       The JVM writes every class loaded on the way into portal.jsa.
+ *
+ *   java -XX:SharedArchiveFile=portal.jsa -Dislu.startup.report=true Login
+ *       Starts the portal from the archive and prints the phase timings
+ *       after the portal's first paint (drop the archive flag to compare).
+ *
+ * AppCDS only archives application classes loaded from JAR files, so run both
+ * commands with the portal packaged as a jar on -cp (e.g. -cp portal.jar). The
+ * archive is tied to the exact JDK and jar it was created with, so regenerate
+ * it after rebuilding.
+ */
+public class StartupTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || !"train".equals(args[0])) {
+            System.out.println("Usage: StartupTool train <studentID> [password]");
+            return;
+        }
+
+        String studentID = args[1];
+        String password = args.length > 2 ? args[2] : null;
+        StartupProfiler.mark("main");
+        ImageCache.preloadStartupAssets();
+
+        SwingUtilities.invokeAndWait(() -> {
+            Login login = new Login();
+            login.setVisible(true);
+            StartupProfiler.mark("login window shown");
+            login.dispose();
+        });
+
+        if (password != null) {
+            AuthenticationService.Result result = AuthenticationService.getInstance().authenticate(
+                    studentID, password, AuthenticationService.LOCAL_SOURCE);
+            if (result != AuthenticationService.Result.SUCCESS) {
+                System.out.println("Training login failed: " + result);
+                System.exit(1);
+            }
+            StartupProfiler.mark("credentials verified");
+        }
+
+        StartupProfiler.onPortalPainted(() -> SwingUtilities.invokeLater(() -> {
+            System.out.print(StartupProfiler.getReport());
+            System.out.print(DataManager.getCacheReport());
+            System.exit(0); // Triggers the archive dump
+        }));
+        // Same path as Login: preload the session in parallel, then open the portal from it
+        PortalPreloader.preload(studentID).whenComplete((session, error) -> SwingUtilities.invokeLater(() -> {
+            StartupProfiler.mark("portal data preloaded");
+            if (session != null) {
+                new ISLUStudentPortal(session).setVisible(true);
+            } else {
+                new ISLUStudentPortal(studentID).setVisible(true); // Retry the loads on the way in
+            }
+        }));
+    }
+}
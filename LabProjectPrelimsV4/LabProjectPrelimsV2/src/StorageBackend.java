@@ -0,0 +1,68 @@
+import java.io.IOException;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage SPI used by DataManager for all persistence.
+ * Rows are kept in the same text format as the original data files so that
+ * parsing stays in DataManager and backends only deal with raw rows.
+ */
+public interface StorageBackend {
+
+    /**
+     * Gets a short name for this backend (used in logs and benchmarks)
+     * @return The backend name
+     */
+    String getName();
+
+    /**
+     * Checks if the given table has been created
+     * @param table The table to check
+     * @return true if the table exists, false otherwise
+     */
+    boolean exists(StorageTable table);
+
+    /**
+     * Reads every data row of a table (header lines excluded)
+     * @param table The table to scan
+     * @return List of raw rows
+     * @throws IOException if the table cannot be read
+     */
+    List<String> scan(StorageTable table) throws IOException;
+
+    /**
+     * Reads the data rows of a table that belong to one student, in insertion order
+     * @param table The table to scan
+     * @param studentID The owning student ID
+     * @return List of raw rows
+     * @throws IOException if the table cannot be read
+     */
+    List<String> scan(StorageTable table, String studentID) throws IOException;
+
+    /**
+     * Appends a single row to a table
+     * @param table The table to append to
+     * @param row The raw row
+     * @throws IOException if the row cannot be written
+     */
+    void append(StorageTable table, String row) throws IOException;
+
+    /**
+     * Appends several rows to a table in one write
+     * @param table The table to append to
+     * @param rows The raw rows
+     * @throws IOException if the rows cannot be written
+     */
+    void appendAll(StorageTable table, List<String> rows) throws IOException;
+
+    /**
+     * Rewrites the rows of one student. The updater receives each row and returns
+     * the replacement row, the same row to leave it unchanged, or null to delete it.
+     * @param table The table to update
+     * @param studentID The owning student ID
+     * @param updater Function producing the replacement row
+     * @return Number of rows that were changed or deleted
+     * @throws IOException if the table cannot be rewritten
+     */
+    int update(StorageTable table, String studentID, UnaryOperator<String> updater) throws IOException;
+}
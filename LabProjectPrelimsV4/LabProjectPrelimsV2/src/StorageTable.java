@@ -0,0 +1,68 @@
+/**
+ * Logical tables of the Student Portal data store.
+ * Each table knows the flat file it lives in and where the owning student ID
+ * sits on one of its rows, so storage backends can range-scan by student.
+ */
+public enum StorageTable {
+    STUDENTS("Database.txt"),
+    CREDENTIALS("UserPasswordID.txt"),
+    PAYMENTS("paymentLogs.txt"),
+    ATTENDANCE("attendanceRecords.txt"),
+    SCHEDULES("courseSchedules.txt"),
+    GRADES("gradeRecords.txt"),
+    PROFILES("studentProfiles.txt"),
+    PASSWORD_HASHES("credentialStore.txt");
+
+    private final String fileName;
+
+    StorageTable(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Checks if a line is a header/format line rather than a data row
+     * @param line The raw line
+     * @return true if the line should be skipped by readers
+     */
+    public static boolean isHeaderLine(String line) {
+        return line.trim().isEmpty() || line.startsWith("===") || line.startsWith("Format:")
+                || line.startsWith("ProfileData Format:");
+    }
+
+    /**
+     * Extracts the owning student ID from a data row of this table
+     * @param row The raw data row
+     * @return The student ID, or an empty string if the row has none
+     */
+    public String studentIdOf(String row) {
+        switch (this) {
+            case CREDENTIALS: {
+                // ID: 2250493 | Password: secret
+                int start = row.indexOf("ID: ");
+                int end = row.indexOf(" |");
+                if (start < 0 || end < start) {
+                    return "";
+                }
+                return row.substring(start + 4, end).trim();
+            }
+            case PROFILES: {
+                // 2250493|Female|Filipino|...
+                int bar = row.indexOf('|');
+                return bar < 0 ? row.trim() : row.substring(0, bar).trim();
+            }
+            case PAYMENTS: {
+                // The amount column may contain thousands separators, so the ID is the last field
+                int lastComma = row.lastIndexOf(',');
+                return lastComma < 0 ? "" : row.substring(lastComma + 1).trim();
+            }
+            default: {
+                int comma = row.indexOf(',');
+                return comma < 0 ? row.trim() : row.substring(0, comma).trim();
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk import of student accounts from a registrar CSV, applying the same rules
+ * as the reqAcc registration form.
+ *
+ *   java StudentImporter <registrar.csv> [--dry-run]
+ *
+ * CSV columns: LastName,FirstName,MiddleName,DateOfBirth(MM/dd/yyyy),Password
+ * (a header row starting with "LastName" is skipped).
+ *
+ * Rows are validated in parallel, IDs are allocated for the whole file with a
+ * single database scan, and accounts are written in batches with one grouped
+ * append per file. With --dry-run nothing is written; the report shows what
+ * would be imported.
+ */
+public class StudentImporter {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 50;
+    private static final DateTimeFormatter DOB_FORMAT =
+            DateTimeFormatter.ofPattern("MM/dd/uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    /**
+     * One CSV row after validation
+     */
+    private static class ImportRow {
+        final int lineNumber;
+        final String[] fields;
+        final String error;
+
+        ImportRow(int lineNumber, String[] fields, String error) {
+            this.lineNumber = lineNumber;
+            this.fields = fields;
+            this.error = error;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: StudentImporter <registrar.csv> [--dry-run]");
+            return;
+        }
+        boolean dryRun = Arrays.asList(args).contains("--dry-run");
+        importFile(new File(args[0]), dryRun);
+    }
+
+    /**
+     * Imports a registrar CSV and prints a report
+     * @param csvFile The CSV file
+     * @param dryRun true to validate and report without saving anything
+     * @return Number of accounts imported (or that would be imported on a dry run)
+     * @throws IOException if the CSV cannot be read
+     */
+    public static int importFile(File csvFile, boolean dryRun) throws IOException {
+        long start = System.nanoTime();
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        int firstRow = !lines.isEmpty() && lines.get(0).toLowerCase().startsWith("lastname") ? 1 : 0;
+
+        // Validate in parallel; line numbers keep the report in file order
+        List<ImportRow> rows = IntStream.range(firstRow, lines.size())
+                .parallel()
+                .filter(i -> !lines.get(i).trim().isEmpty())
+                .mapToObj(i -> validate(i + 1, lines.get(i)))
+                .collect(Collectors.toList());
+
+        List<ImportRow> valid = new ArrayList<>();
+        List<ImportRow> invalid = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.error != null) {
+                invalid.add(row);
+            } else if (!seen.add(String.join(",", row.fields[0], row.fields[1], row.fields[2], row.fields[3]).toLowerCase())) {
+                invalid.add(new ImportRow(row.lineNumber, row.fields, "duplicate of an earlier row"));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        // One scan of the database for the whole file
+        List<String> ids = DataManager.allocateStudentIDs(valid.size());
+        List<StudentInfo> students = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String[] f = valid.get(i).fields;
+            students.add(new StudentInfo(ids.get(i), f[0], f[1], f[2], f[3], f[4]));
+        }
+        for (int i = ids.size(); i < valid.size(); i++) {
+            invalid.add(new ImportRow(valid.get(i).lineNumber, valid.get(i).fields, "no unused student ID left"));
+        }
+
+        int saved = 0;
+        if (!dryRun) {
+            for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+                List<StudentInfo> batch = students.subList(from, Math.min(from + BATCH_SIZE, students.size()));
+                if (!DataManager.saveStudentAccounts(batch)) {
+                    System.err.println("Import stopped: batch starting at " + batch.get(0).getId() + " could not be saved");
+                    break;
+                }
+                saved += batch.size();
+            }
+        }
+
+        printReport(csvFile, dryRun, rows.size(), students, saved, invalid, System.nanoTime() - start);
+        return dryRun ? students.size() : saved;
+    }
+
+    /**
+     * Validates one CSV row with the reqAcc rules
+     * @param lineNumber 1-based line number for the report
+     * @param line The raw CSV line
+     * @return The row, with error set if it is invalid
+     */
+    private static ImportRow validate(int lineNumber, String line) {
+        String[] raw = line.split(",", -1);
+        if (raw.length != 5) {
+            return new ImportRow(lineNumber, raw, "expected 5 columns, found " + raw.length);
+        }
+
+        String[] fields = new String[5];
+        for (int i = 0; i < 5; i++) {
+            fields[i] = raw[i].trim();
+            if (fields[i].contains("|")) {
+                return new ImportRow(lineNumber, fields, "'|' is not allowed");
+            }
+        }
+
+        if (fields[0].isEmpty() || fields[1].isEmpty() || fields[4].isEmpty()) {
+            return new ImportRow(lineNumber, fields, "last name, first name and password are required");
+        }
+
+        try {
+            LocalDate dob = LocalDate.parse(fields[3], DOB_FORMAT);
+            if (dob.getYear() > LocalDate.now().getYear()) {
+                return new ImportRow(lineNumber, fields, "birth year cannot be in the future");
+            }
+        } catch (DateTimeParseException e) {
+            return new ImportRow(lineNumber, fields, "invalid birth date '" + fields[3] + "' (expected MM/dd/yyyy)");
+        }
+
+        return new ImportRow(lineNumber, fields, null);
+    }
+
+    private static void printReport(File csvFile, boolean dryRun, int totalRows, List<StudentInfo> students,
+            int saved, List<ImportRow> invalid, long elapsedNanos) {
+        System.out.println("=== STUDENT IMPORT " + (dryRun ? "(DRY RUN) " : "") + "===");
+        System.out.println("File:      " + csvFile.getPath());
+        System.out.println("Rows:      " + totalRows);
+        System.out.println("Valid:     " + students.size());
+        System.out.println("Rejected:  " + invalid.size());
+        if (dryRun) {
+            if (!students.isEmpty()) {
+                System.out.println("IDs:       " + students.get(0).getId() + " - " + students.get(students.size() - 1).getId());
+            }
+        } else {
+            System.out.println("Imported:  " + saved);
+        }
+        System.out.println(String.format("Time:      %.2f s", elapsedNanos / 1_000_000_000.0));
+
+        if (!invalid.isEmpty()) {
+            invalid.sort(Comparator.comparingInt(row -> row.lineNumber));
+            System.out.println();
+            System.out.println("Rejected rows:");
+            for (ImportRow row : invalid.subList(0, Math.min(MAX_REPORTED_ERRORS, invalid.size()))) {
+                System.out.println("  line " + row.lineNumber + ": " + row.error);
+            }
+            if (invalid.size() > MAX_REPORTED_ERRORS) {
+                System.out.println("  ... and " + (invalid.size() - MAX_REPORTED_ERRORS) + " more");
+            }
+        }
+    }
+}
@@ -0,0 +1,401 @@
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index for finding students by partial name or ID.
+ *
+ * Every student is one document whose terms are the words of their ID, last,
+ * first and middle names and the searchable profile fields (birthplace and
+ * addresses), lowercased with accents removed. Terms are kept in a sorted
+ * dictionary, so a query word matches by prefix with a range walk, and each
+ * term is also filed under its three-letter substrings (trigrams), so a query
+ * word of three or more letters also matches inside a term ("ntos" finds
+ * "Santos"). Trigrams index the dictionary rather than the students, which
+ * keeps the lists short and the lookups cheap however many students share a
+ * name.
+ *
+ * A query returns students matching every word. Matches for the longest word
+ * are walked in order of relevance (exact word, then prefix, then substring)
+ * and the other words are checked against the candidate's own terms, so the
+ * walk stops as soon as enough results are found.
+ *
+ * The shared index (getInstance) is built from storage on the first search
+ * and then kept current by DataManager as accounts and profiles are saved.
+ * Replaced terms are not removed from the posting lists; candidates are
+ * checked against their current terms instead.
+ */
+public class StudentSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 50;
+
+    private static final ProfileField[] INDEXED_FIELDS = {
+        ProfileField.BIRTHPLACE, ProfileField.HOME_ADDRESS, ProfileField.BAGUIO_ADDRESS, ProfileField.GUARDIAN_ADDRESS
+    };
+    private static final int MIN_INFIX_LENGTH = 3;
+
+    private static StudentSearchIndex instance;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Term dictionary: sorted for prefix walks, by id for reading documents' terms
+    private final TreeMap<String, Term> terms = new TreeMap<>();
+    private final List<Term> termsById = new ArrayList<>();
+    private final Map<String, IntList> trigrams = new HashMap<>();
+
+    // Documents: one per student
+    private final Map<String, Integer> docByStudentID = new HashMap<>();
+    private final List<StudentInfo> students = new ArrayList<>();
+    private final List<int[]> docTerms = new ArrayList<>();
+
+    /**
+     * Gets the shared index, building it from storage on first use
+     * @return The index over every stored student
+     */
+    public static synchronized StudentSearchIndex getInstance() {
+        if (instance == null) {
+            long start = System.nanoTime();
+            StudentSearchIndex index = new StudentSearchIndex();
+            Map<String, ProfileData> profiles = DataManager.getAllProfiles();
+            for (StudentInfo student : DataManager.getAllStudents()) {
+                index.addStudent(student, profiles.get(student.getId()));
+            }
+            PortalLog.info("search.index.built", "students", index.size());
+            PortalLog.debug("search.index.built", "terms", index.terms.size(),
+                    "ms", (System.nanoTime() - start) / 1_000_000);
+            instance = index;
+        }
+        return instance;
+    }
+
+    /**
+     * Adds a newly saved account to the shared index, if it has been built
+     * @param student The account
+     */
+    static void onStudentSaved(StudentInfo student) {
+        StudentSearchIndex index = builtInstance();
+        if (index != null) {
+            index.addStudent(student, null);
+        }
+    }
+
+    /**
+     * Reindexes a student's saved profile in the shared index, if it has been built
+     * @param studentID The student ID
+     * @param row The saved studentProfiles.txt row
+     */
+    static void onProfileSaved(String studentID, String row) {
+        StudentSearchIndex index = builtInstance();
+        if (index != null) {
+            index.updateProfile(studentID, ProfileData.fromRow(row));
+        }
+    }
+
+    private static synchronized StudentSearchIndex builtInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the number of indexed students
+     * @return The student count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return students.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a student, or replaces their name fields if already indexed
+     * @param student The student
+     * @param profile The student's profile, or null if they have none
+     */
+    public void addStudent(StudentInfo student, ProfileData profile) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByStudentID.get(student.getId());
+            if (doc == null) {
+                doc = students.size();
+                docByStudentID.put(student.getId(), doc);
+                students.add(student);
+                docTerms.add(new int[0]);
+            } else {
+                students.set(doc, student);
+            }
+            setTerms(doc, collectWords(student, profile));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the profile fields of an indexed student
+     * @param studentID The student ID
+     * @param profile The new profile
+     */
+    public void updateProfile(String studentID, ProfileData profile) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByStudentID.get(studentID);
+            if (doc != null) {
+                setTerms(doc, collectWords(students.get(doc), profile));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds students matching every word of a query by ID or name prefix,
+     * or by a substring of three or more letters
+     * @param query Words to look for, e.g. "dela cru" or "22504"
+     * @param limit Maximum number of results
+     * @return Matching students, best matches first
+     */
+    public List<StudentInfo> search(String query, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        List<StudentInfo> results = new ArrayList<>();
+        if (words.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        // Walk the longest word's matches; check the others per candidate
+        String lead = words.get(0);
+        for (String word : words) {
+            if (word.length() > lead.length()) {
+                lead = word;
+            }
+        }
+        words.remove(lead);
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> found = new HashSet<>();
+
+            // Exact word, then longer words starting with it
+            for (Term term : terms.tailMap(lead, true).values()) {
+                if (!term.text.startsWith(lead)) {
+                    break;
+                }
+                if (collect(term, words, found, results, limit)) {
+                    return results;
+                }
+            }
+
+            // Words containing it (prefix matches were walked above)
+            if (lead.length() >= MIN_INFIX_LENGTH) {
+                for (int termId : infixCandidates(lead)) {
+                    Term term = termsById.get(termId);
+                    if (!term.text.startsWith(lead) && term.text.contains(lead)
+                            && collect(term, words, found, results, limit)) {
+                        return results;
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a term's students that still have the term and match the other words
+     * @return true once the limit is reached
+     */
+    private boolean collect(Term term, List<String> otherWords, Set<Integer> found,
+                            List<StudentInfo> results, int limit) {
+        for (int i = 0; i < term.docs.size; i++) {
+            int doc = term.docs.items[i];
+            int[] current = docTerms.get(doc);
+            if (found.contains(doc) || Arrays.binarySearch(current, term.id) < 0) {
+                continue; // Already listed, or a stale posting for a replaced term
+            }
+            if (matchesAll(current, otherWords)) {
+                found.add(doc);
+                results.add(students.get(doc));
+                if (results.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesAll(int[] docTermIds, List<String> words) {
+        for (String word : words) {
+            boolean matched = false;
+            for (int termId : docTermIds) {
+                String text = termsById.get(termId).text;
+                if (text.startsWith(word) || (word.length() >= MIN_INFIX_LENGTH && text.contains(word))) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Intersects the term lists of a word's trigrams, smallest list first
+     * @return Ids of terms containing every trigram of the word (in term id order)
+     */
+    private int[] infixCandidates(String word) {
+        List<IntList> lists = new ArrayList<>();
+        for (int i = 0; i + MIN_INFIX_LENGTH <= word.length(); i++) {
+            IntList list = trigrams.get(word.substring(i, i + MIN_INFIX_LENGTH));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).items, lists.get(0).size);
+        int count = candidates.length;
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            IntList list = lists.get(l);
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count; i++) {
+                while (j < list.size && list.items[j] < candidates[i]) {
+                    j++;
+                }
+                if (j < list.size && list.items[j] == candidates[i]) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * Sets a document's terms, adding postings only for terms it did not have
+     */
+    private void setTerms(int doc, Set<String> words) {
+        int[] previous = docTerms.get(doc);
+        int[] current = new int[words.size()];
+        int n = 0;
+        for (String word : words) {
+            Term term = termFor(word);
+            if (Arrays.binarySearch(previous, term.id) < 0) {
+                term.docs.add(doc);
+            }
+            current[n++] = term.id;
+        }
+        Arrays.sort(current);
+        docTerms.set(doc, current);
+    }
+
+    private Term termFor(String word) {
+        Term term = terms.get(word);
+        if (term == null) {
+            term = new Term(termsById.size(), word);
+            terms.put(word, term);
+            termsById.add(term);
+            // Term ids only grow, so every trigram list stays sorted
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i + MIN_INFIX_LENGTH <= word.length(); i++) {
+                String trigram = word.substring(i, i + MIN_INFIX_LENGTH);
+                if (seen.add(trigram)) {
+                    trigrams.computeIfAbsent(trigram, key -> new IntList()).add(term.id);
+                }
+            }
+        }
+        return term;
+    }
+
+    private static Set<String> collectWords(StudentInfo student, ProfileData profile) {
+        Set<String> words = new LinkedHashSet<>();
+        words.addAll(tokenize(student.getId()));
+        words.addAll(tokenize(student.getLastName()));
+        words.addAll(tokenize(student.getFirstName()));
+        words.addAll(tokenize(student.getMiddleName()));
+        if (profile != null) {
+            for (ProfileField field : INDEXED_FIELDS) {
+                String value = profile.get(field);
+                if (!value.equals(field.getDefaultValue())) {
+                    words.addAll(tokenize(value));
+                }
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Splits text into lowercase words of letters and digits, without accents
+     * @param text The text
+     * @return The words (empty for null or blank text)
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String folded = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue; // Accent split off by NFD, e.g. the tilde of ñ
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Term {
+        final int id;
+        final String text;
+        final IntList docs = new IntList();
+
+        Term(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Growable int array (avoids boxing in the posting lists)
+     */
+    private static class IntList {
+        int[] items = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Command line tool for the student search index.
+ *
+ *   java StudentSearchTool search &lt;words...&gt;
+ *       Prints the students matching the words (partial ID, name, birthplace
+ *       or address) from the database.
+ *
+ *   java StudentSearchTool benchmark [students]
+ *       Indexes generated students (default 1,000,000) and prints build time
+ *       and query latency for ID, name prefix, substring and two-word queries.
+ */
+public class StudentSearchTool {
+
+    private static final String[] LAST_NAMES = {"Santos", "Reyes", "Cruz", "Bautista", "Ocampo", "Garcia",
+        "Mendoza", "Torres", "Dela Cruz", "Villanueva", "Ramos", "Aquino", "Castillo", "Flores", "Peña"};
+    private static final String[] FIRST_NAMES = {"Juan", "Maria", "Jose", "Ana", "Mark", "Angel", "John",
+        "Kristine", "Paolo", "Carla", "Miguel", "Andrea", "Rafael", "Bea", "Carlo"};
+    private static final String[] PLACES = {"Baguio City", "La Trinidad", "Tuba", "Itogon", "Dagupan",
+        "San Fernando", "Bontoc", "Tabuk", "Vigan", "Laoag"};
+    private static final String[] QUERIES = {"2250493", "22504", "sant", "ntos", "maria cru", "dela cruz",
+        "villa", "trinidad", "xyz"};
+    private static final int QUERY_ROUNDS = 2_000;
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: StudentSearchTool search <words...> | benchmark [students]");
+            return;
+        }
+
+        if ("search".equals(args[0])) {
+            String query = String.join(" ", java.util.Arrays.copyOfRange(args, 1, args.length));
+            List<StudentInfo> results = DataManager.searchStudents(query, StudentSearchIndex.DEFAULT_LIMIT);
+            for (StudentInfo student : results) {
+                System.out.println(student.getId() + "  " + student.getLastName() + ", " + student.getFirstName()
+                        + " " + student.getMiddleName());
+            }
+            System.out.println(results.size() + " match(es)");
+        } else if ("benchmark".equals(args[0])) {
+            benchmark(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000);
+        } else {
+            System.out.println("Unknown command: " + args[0]);
+        }
+    }
+
+    private static void benchmark(int count) {
+        Random random = new Random(42);
+        StudentSearchIndex index = new StudentSearchIndex();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String id = String.valueOf(2_000_000 + i);
+            StudentInfo student = new StudentInfo(id, pick(random, LAST_NAMES) + (i % 97 == 0 ? "" : i % 1000),
+                    pick(random, FIRST_NAMES), pick(random, LAST_NAMES), "01/01/2004", "");
+            ProfileData profile = new ProfileData();
+            profile.set(ProfileField.BIRTHPLACE, pick(random, PLACES));
+            profile.set(ProfileField.HOME_ADDRESS, (i % 500) + " Session Road, " + pick(random, PLACES));
+            index.addStudent(student, profile);
+        }
+        System.out.println(String.format("Indexed %,d students in %d ms", count,
+                (System.nanoTime() - start) / 1_000_000));
+
+        // Warm up the JIT before timing
+        for (int i = 0; i < QUERY_ROUNDS; i++) {
+            index.search(QUERIES[i % QUERIES.length], StudentSearchIndex.DEFAULT_LIMIT);
+        }
+
+        System.out.println(String.format("%-12s %8s %10s", "Query", "Results", "us/query"));
+        for (String query : QUERIES) {
+            int results = 0;
+            long queryStart = System.nanoTime();
+            for (int i = 0; i < QUERY_ROUNDS; i++) {
+                results = index.search(query, StudentSearchIndex.DEFAULT_LIMIT).size();
+            }
+            long micros = (System.nanoTime() - queryStart) / 1_000 / QUERY_ROUNDS;
+            System.out.println(String.format("%-12s %8d %10d", query, results, micros));
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,168 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A student's transcript of records: completed courses grouped by term, each
+ * with the units taken from the course catalog, and unit totals and weighted
+ * averages per term and overall.
+ *
+ * The weighted average is the sum of grade x units divided by the units of
+ * the graded courses. A course missing from the catalog is listed without
+ * units and left out of the totals rather than given made-up units.
+ */
+public class Transcript {
+
+    private final List<Term> terms;
+    private final double attemptedUnits;
+    private final double earnedUnits;
+    private final double gradePoints;
+
+    private Transcript(List<Term> terms) {
+        this.terms = Collections.unmodifiableList(terms);
+        double attempted = 0;
+        double earned = 0;
+        double points = 0;
+        for (Term term : terms) {
+            attempted += term.attemptedUnits;
+            earned += term.earnedUnits;
+            points += term.gradePoints;
+        }
+        this.attemptedUnits = attempted;
+        this.earnedUnits = earned;
+        this.gradePoints = points;
+    }
+
+    /**
+     * Builds a transcript by hash-joining the grade records with the catalog
+     * in one pass: each completed record is looked up by subject code and
+     * added to its term's running totals.
+     * @param grades The student's grade records (any order; terms keep first-seen order)
+     * @param catalog Courses by course number
+     * @return The transcript
+     */
+    public static Transcript build(List<GradeRecord> grades, Map<String, Curriculum.Course> catalog) {
+        Map<String, Term> terms = new LinkedHashMap<>();
+        for (GradeRecord grade : grades) {
+            if (!"Completed".equals(grade.getStatus()) || grade.getFinalGrade() == null) {
+                continue;
+            }
+            Curriculum.Course course = catalog.get(grade.getSubjectCode());
+            terms.computeIfAbsent(grade.getSemester(), Term::new).add(new Line(grade.getSubjectCode(),
+                    grade.getSubjectName(), grade.getFinalGrade(), course == null ? null : course.getUnits()));
+        }
+        return new Transcript(new ArrayList<>(terms.values()));
+    }
+
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    public double getAttemptedUnits() {
+        return attemptedUnits;
+    }
+
+    public double getEarnedUnits() {
+        return earnedUnits;
+    }
+
+    /**
+     * Gets the cumulative weighted average
+     * @return The average, or NaN if no graded course has units
+     */
+    public double getWeightedAverage() {
+        return attemptedUnits == 0 ? Double.NaN : gradePoints / attemptedUnits;
+    }
+
+    /**
+     * Formats a unit count the way the checklist shows it (3, 1.5)
+     * @param units The units, or null if unknown
+     * @return The text ("-" when unknown)
+     */
+    public static String formatUnits(Double units) {
+        if (units == null) {
+            return "-";
+        }
+        return units == Math.rint(units) ? String.valueOf(units.intValue()) : String.valueOf(units);
+    }
+
+    /**
+     * Formats a weighted average
+     * @param average The average (NaN when there is none)
+     * @return The text with two decimals, or "-"
+     */
+    public static String formatAverage(double average) {
+        return Double.isNaN(average) ? "-" : String.format("%.2f", average);
+    }
+
+    /**
+     * The completed courses of one term and their totals
+     */
+    public static class Term {
+        private final String name;
+        private final List<Line> lines = new ArrayList<>();
+        private double attemptedUnits;
+        private double earnedUnits;
+        private double gradePoints;
+
+        Term(String name) {
+            this.name = name;
+        }
+
+        void add(Line line) {
+            lines.add(line);
+            if (line.units != null) {
+                attemptedUnits += line.units;
+                gradePoints += line.finalGrade * line.units;
+                if (line.isPassed()) {
+                    earnedUnits += line.units;
+                }
+            }
+        }
+
+        public String getName() { return name; }
+        public List<Line> getLines() { return Collections.unmodifiableList(lines); }
+        public double getAttemptedUnits() { return attemptedUnits; }
+        public double getEarnedUnits() { return earnedUnits; }
+
+        public double getWeightedAverage() {
+            return attemptedUnits == 0 ? Double.NaN : gradePoints / attemptedUnits;
+        }
+    }
+
+    /**
+     * One completed course on the transcript
+     */
+    public static class Line {
+        private final String subjectCode;
+        private final String subjectName;
+        private final double finalGrade;
+        private final Double units;
+
+        Line(String subjectCode, String subjectName, double finalGrade, Double units) {
+            this.subjectCode = subjectCode;
+            this.subjectName = subjectName;
+            this.finalGrade = finalGrade;
+            this.units = units;
+        }
+
+        public String getSubjectCode() { return subjectCode; }
+        public String getSubjectName() { return subjectName; }
+        public double getFinalGrade() { return finalGrade; }
+        public Double getUnits() { return units; }
+
+        public boolean isPassed() {
+            return finalGrade >= CurriculumProgress.PASSING_GRADE;
+        }
+
+        public Object[] toTableRow() {
+            return new Object[]{subjectCode, subjectName, String.format("%.2f", finalGrade), formatUnits(units)};
+        }
+    }
+}
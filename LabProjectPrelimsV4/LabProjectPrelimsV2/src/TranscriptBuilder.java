@@ -0,0 +1,73 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Builds and caches students' transcripts.
+ *
+ * Units come from the course catalog (every program's curriculum, see
+ * CurriculumEngine.getCatalog). Assembled transcripts are kept per student in
+ * an LruCache with the storage cache's time to live and dropped as soon as
+ * one of the student's grades changes (PortalSession.invalidate(GRADES)).
+ */
+public class TranscriptBuilder {
+
+    private static final int CACHED_STUDENTS = 1000;
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    private static final TranscriptBuilder instance = new TranscriptBuilder();
+
+    private final LruCache<String, Transcript> cache;
+    // Bumped on every invalidation so a build that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private TranscriptBuilder() {
+        long ttlSeconds = Long.getLong(CachingStorage.TTL_PROPERTY, DEFAULT_TTL_SECONDS);
+        cache = new LruCache<>(CACHED_STUDENTS, CACHED_STUDENTS, Math.max(0, ttlSeconds) * 1000, transcript -> 1);
+    }
+
+    public static TranscriptBuilder getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets a student's transcript, reading their grades on a cache miss
+     * @param studentID The student ID
+     * @return The transcript
+     */
+    public Transcript getTranscript(String studentID) {
+        return getTranscript(studentID, () -> DataManager.loadGradeRecords(studentID));
+    }
+
+    /**
+     * Gets a student's transcript, taking their grades from the caller on a cache miss
+     * (e.g. the grades a PortalSession already loaded)
+     * @param studentID The student ID
+     * @param grades Supplies the student's grade records
+     * @return The transcript
+     */
+    public Transcript getTranscript(String studentID, Supplier<List<GradeRecord>> grades) {
+        Transcript transcript = cache.get(studentID);
+        if (transcript != null) {
+            return transcript;
+        }
+        long invalidationsBefore = invalidations.get();
+        transcript = Transcript.build(grades.get(), CurriculumEngine.getInstance().getCatalog());
+        // Checked and stored under the cache lock, so an invalidation cannot land in between
+        synchronized (cache) {
+            if (invalidations.get() == invalidationsBefore) {
+                cache.put(studentID, transcript);
+            }
+        }
+        return transcript;
+    }
+
+    /**
+     * Drops a student's cached transcript after their grades changed
+     * @param studentID The student ID
+     */
+    public void invalidate(String studentID) {
+        invalidations.incrementAndGet();
+        cache.invalidate(studentID);
+    }
+}
@@ -3,7 +3,6 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
 import java.util.*;
-import java.net.URL;
 import java.text.SimpleDateFormat;
 
 public class reqAcc extends JFrame {
@@ -25,11 +24,9 @@ public class reqAcc extends JFrame {
         headerPanel.setPreferredSize(new Dimension(getWidth(), 100));
 
         JLabel logoLabel = new JLabel();
-        URL logoUrl = getClass().getResource("/photos/SLULoginLogo.png");
-        if (logoUrl != null) {
-            ImageIcon icon = new ImageIcon(logoUrl);
-            Image scaled = icon.getImage().getScaledInstance(180, 90, Image.SCALE_SMOOTH);
-            logoLabel.setIcon(new ImageIcon(scaled));
+        ImageIcon logoIcon = ImageCache.getInstance().getIcon(ImageCache.LOGIN_LOGO, 180, 90);
+        if (logoIcon != null) {
+            logoLabel.setIcon(logoIcon);
         } else {
             logoLabel.setText("SLU portal");
             logoLabel.setForeground(Color.WHITE);
@@ -251,6 +248,7 @@ public class reqAcc extends JFrame {
     }
     
     private void openUserProfile(String studentID, String studentName, String studentPassword) {
+        profilePatch = new ProfilePatch(studentID);
         JFrame profileFrame = new JFrame("User Profile");
         profileFrame.setSize(800, 700);
         profileFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -355,7 +353,7 @@ public class reqAcc extends JFrame {
         String[] genderOptions = {"Male", "Female"};
         JComboBox<String> genderCombo = new JComboBox<>(genderOptions);
         genderCombo.setPreferredSize(new Dimension(150, 25));
-        genderCombo.addActionListener(e -> userGender = (String) genderCombo.getSelectedItem());
+        genderCombo.addActionListener(e -> profilePatch.set(ProfileField.GENDER, (String) genderCombo.getSelectedItem()));
         
         genderPanel.add(genderLabel);
         genderPanel.add(genderCombo);
@@ -372,7 +370,7 @@ public class reqAcc extends JFrame {
         JTextField citizenshipField = new JTextField(15);
         citizenshipField.setText("Filipino");
         citizenshipField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(citizenshipField, text -> userCitizenship = text);
+        addDocumentListener(citizenshipField, ProfileField.CITIZENSHIP);
         
         citizenshipPanel.add(citizenshipLabel);
         citizenshipPanel.add(citizenshipField);
@@ -388,7 +386,7 @@ public class reqAcc extends JFrame {
         JTextField religionField = new JTextField(15);
         religionField.setText("Roman Catholic");
         religionField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(religionField, text -> userReligion = text);
+        addDocumentListener(religionField, ProfileField.RELIGION);
         
         religionPanel.add(religionLabel);
         religionPanel.add(religionField);
@@ -404,7 +402,7 @@ public class reqAcc extends JFrame {
         String[] civilStatusOptions = {"Single", "Married"};
         JComboBox<String> civilStatusCombo = new JComboBox<>(civilStatusOptions);
         civilStatusCombo.setPreferredSize(new Dimension(150, 25));
-        civilStatusCombo.addActionListener(e -> userCivilStatus = (String) civilStatusCombo.getSelectedItem());
+        civilStatusCombo.addActionListener(e -> profilePatch.set(ProfileField.CIVIL_STATUS, (String) civilStatusCombo.getSelectedItem()));
         
         civilStatusPanel.add(civilStatusLabel);
         civilStatusPanel.add(civilStatusCombo);
@@ -420,7 +418,7 @@ public class reqAcc extends JFrame {
         JTextField birthplaceField = new JTextField(15);
         birthplaceField.setText("None");
         birthplaceField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(birthplaceField, text -> userBirthplace = text);
+        addDocumentListener(birthplaceField, ProfileField.BIRTHPLACE);
         
         birthplacePanel.add(birthplaceLabel);
         birthplacePanel.add(birthplaceField);
@@ -436,7 +434,7 @@ public class reqAcc extends JFrame {
         JTextField nationalityField = new JTextField(15);
         nationalityField.setText("Filipino");
         nationalityField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(nationalityField, text -> userNationality = text);
+        addDocumentListener(nationalityField, ProfileField.NATIONALITY);
         
         nationalityPanel.add(nationalityLabel);
         nationalityPanel.add(nationalityField);
@@ -461,7 +459,7 @@ public class reqAcc extends JFrame {
         JTextField homeAddressField = new JTextField(15);
         homeAddressField.setText("None");
         homeAddressField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(homeAddressField, text -> userHomeAddress = text);
+        addDocumentListener(homeAddressField, ProfileField.HOME_ADDRESS);
         
         homeAddressPanel.add(homeAddressLabel);
         homeAddressPanel.add(homeAddressField);
@@ -477,7 +475,7 @@ public class reqAcc extends JFrame {
         JTextField homeTelField = new JTextField(15);
         homeTelField.setText("None");
         homeTelField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(homeTelField, text -> userHomeTel = text);
+        addDocumentListener(homeTelField, ProfileField.HOME_TEL);
         
         homeTelPanel.add(homeTelLabel);
         homeTelPanel.add(homeTelField);
@@ -493,7 +491,7 @@ public class reqAcc extends JFrame {
         JTextField baguioAddressField = new JTextField(15);
         baguioAddressField.setText("None");
         baguioAddressField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(baguioAddressField, text -> userBaguioAddress = text);
+        addDocumentListener(baguioAddressField, ProfileField.BAGUIO_ADDRESS);
         
         baguioAddressPanel.add(baguioAddressLabel);
         baguioAddressPanel.add(baguioAddressField);
@@ -509,7 +507,7 @@ public class reqAcc extends JFrame {
         JTextField baguioTelField = new JTextField(15);
         baguioTelField.setText("None");
         baguioTelField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(baguioTelField, text -> userBaguioTel = text);
+        addDocumentListener(baguioTelField, ProfileField.BAGUIO_TEL);
         
         baguioTelPanel.add(baguioTelLabel);
         baguioTelPanel.add(baguioTelField);
@@ -525,7 +523,7 @@ public class reqAcc extends JFrame {
         JTextField cellphoneField = new JTextField(15);
         cellphoneField.setText("None");
         cellphoneField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(cellphoneField, text -> userCellphone = text);
+        addDocumentListener(cellphoneField, ProfileField.CELLPHONE);
         
         cellphonePanel.add(cellphoneLabel);
         cellphonePanel.add(cellphoneField);
@@ -550,7 +548,7 @@ public class reqAcc extends JFrame {
         JTextField fatherNameField = new JTextField(15);
         fatherNameField.setText("None");
         fatherNameField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(fatherNameField, text -> userFatherName = text);
+        addDocumentListener(fatherNameField, ProfileField.FATHER_NAME);
         
         fatherNamePanel.add(fatherNameLabel);
         fatherNamePanel.add(fatherNameField);
@@ -566,7 +564,7 @@ public class reqAcc extends JFrame {
         JTextField fatherOccField = new JTextField(15);
         fatherOccField.setText("None");
         fatherOccField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(fatherOccField, text -> userFatherOcc = text);
+        addDocumentListener(fatherOccField, ProfileField.FATHER_OCC);
         
         fatherOccPanel.add(fatherOccLabel);
         fatherOccPanel.add(fatherOccField);
@@ -582,7 +580,7 @@ public class reqAcc extends JFrame {
         JTextField motherNameField = new JTextField(15);
         motherNameField.setText("None");
         motherNameField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(motherNameField, text -> userMotherName = text);
+        addDocumentListener(motherNameField, ProfileField.MOTHER_NAME);
         
         motherNamePanel.add(motherNameLabel);
         motherNamePanel.add(motherNameField);
@@ -598,7 +596,7 @@ public class reqAcc extends JFrame {
         JTextField motherOccField = new JTextField(15);
         motherOccField.setText("None");
         motherOccField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(motherOccField, text -> userMotherOcc = text);
+        addDocumentListener(motherOccField, ProfileField.MOTHER_OCC);
         
         motherOccPanel.add(motherOccLabel);
         motherOccPanel.add(motherOccField);
@@ -614,7 +612,7 @@ public class reqAcc extends JFrame {
         JTextField guardianNameField = new JTextField(15);
         guardianNameField.setText("None");
         guardianNameField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(guardianNameField, text -> userGuardianName = text);
+        addDocumentListener(guardianNameField, ProfileField.GUARDIAN_NAME);
         
         guardianNamePanel.add(guardianNameLabel);
         guardianNamePanel.add(guardianNameField);
@@ -630,7 +628,7 @@ public class reqAcc extends JFrame {
         JTextField guardianAddressField = new JTextField(15);
         guardianAddressField.setText("None");
         guardianAddressField.setPreferredSize(new Dimension(150, 25));
-        addDocumentListener(guardianAddressField, text -> userGuardianAddress = text);
+        addDocumentListener(guardianAddressField, ProfileField.GUARDIAN_ADDRESS);
         
         guardianAddressPanel.add(guardianAddressLabel);
         guardianAddressPanel.add(guardianAddressField);
@@ -640,11 +638,8 @@ public class reqAcc extends JFrame {
     }
     
     private void saveProfile(JFrame profileFrame, String studentID, String studentName) {
-        // Get all profile information from the form
-        String profileData = collectProfileData(profileFrame);
-        
-        // Save profile data to Database.txt
-        if (DataManager.updateStudentProfile(studentID, profileData)) {
+        // Save the fields edited on the form to studentProfiles.txt in one write
+        if (profilePatch.commit()) {
             JOptionPane.showMessageDialog(profileFrame, 
                 "Profile saved successfully!\nStudent ID: " + studentID + "\nStudent Name: " + studentName + "\nYou can now login with your credentials.",
                 "Profile Saved", 
@@ -658,59 +653,18 @@ public class reqAcc extends JFrame {
         }
     }
     
-    // Instance variables to store user input from profile form
-    private String userGender = "Male";
-    private String userCitizenship = "Filipino";
-    private String userReligion = "Roman Catholic";
-    private String userCivilStatus = "Single";
-    private String userBirthplace = "None";
-    private String userNationality = "Filipino";
-    private String userHomeAddress = "None";
-    private String userHomeTel = "None";
-    private String userBaguioAddress = "None";
-    private String userBaguioTel = "None";
-    private String userCellphone = "None";
-    private String userFatherName = "None";
-    private String userFatherOcc = "None";
-    private String userMotherName = "None";
-    private String userMotherOcc = "None";
-    private String userGuardianName = "None";
-    private String userGuardianAddress = "None";
+    // Edits made on the profile form, written when the profile is saved
+    private ProfilePatch profilePatch;
 
-    // Helper method to add document listener to text fields
-    private void addDocumentListener(JTextField field, java.util.function.Consumer<String> setter) {
+    // Helper method to stage a text field's edits (each keystroke replaces the staged value)
+    private void addDocumentListener(JTextField field, ProfileField profileField) {
         field.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void changedUpdate(javax.swing.event.DocumentEvent e) { setter.accept(field.getText()); }
-            public void removeUpdate(javax.swing.event.DocumentEvent e) { setter.accept(field.getText()); }
-            public void insertUpdate(javax.swing.event.DocumentEvent e) { setter.accept(field.getText()); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { profilePatch.set(profileField, field.getText()); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { profilePatch.set(profileField, field.getText()); }
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { profilePatch.set(profileField, field.getText()); }
         });
     }
 
-    private String collectProfileData(JFrame profileFrame) {
-        // Return the stored user input data
-        StringBuilder profileData = new StringBuilder();
-        
-        profileData.append("Gender=").append(userGender).append(";");
-        profileData.append("Citizenship=").append(userCitizenship).append(";");
-        profileData.append("Religion=").append(userReligion).append(";");
-        profileData.append("CivilStatus=").append(userCivilStatus).append(";");
-        profileData.append("Birthplace=").append(userBirthplace).append(";");
-        profileData.append("Nationality=").append(userNationality).append(";");
-        profileData.append("HomeAddress=").append(userHomeAddress).append(";");
-        profileData.append("HomeTel=").append(userHomeTel).append(";");
-        profileData.append("BaguioAddress=").append(userBaguioAddress).append(";");
-        profileData.append("BaguioTel=").append(userBaguioTel).append(";");
-        profileData.append("Cellphone=").append(userCellphone).append(";");
-        profileData.append("FatherName=").append(userFatherName).append(";");
-        profileData.append("FatherOcc=").append(userFatherOcc).append(";");
-        profileData.append("MotherName=").append(userMotherName).append(";");
-        profileData.append("MotherOcc=").append(userMotherOcc).append(";");
-        profileData.append("GuardianName=").append(userGuardianName).append(";");
-        profileData.append("GuardianAddress=").append(userGuardianAddress).append(";");
-        
-        return profileData.toString();
-    }
-
 }
 
 // Custom Calendar Widget Class
@@ -815,14 +769,11 @@ class CalendarWidget extends JPanel {
         String[] dayHeaders = {"Su", "Mo", "Tu", "We", "Th", "Fr", "Sa"};
         for (String day : dayHeaders) {
             JLabel dayLabel = new JLabel(day, SwingConstants.CENTER);
-            dayLabel.setBackground(new Color(240, 240, 240));
+            dayLabel.setBackground(PortalTheme.HEADER_ROW);
             dayLabel.setOpaque(true);
-            dayLabel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-                BorderFactory.createEmptyBorder(3, 3, 3, 3)
-            ));
-            dayLabel.setFont(new Font("Arial", Font.BOLD, 11));
-            dayLabel.setForeground(new Color(80, 80, 80));
+            dayLabel.setBorder(PortalTheme.CALENDAR_HEADER_BORDER);
+            dayLabel.setFont(PortalTheme.BOLD_11);
+            dayLabel.setForeground(PortalTheme.CALENDAR_DAY_HEADER_TEXT);
             calendarPanel.add(dayLabel);
         }
         
@@ -833,13 +784,10 @@ class CalendarWidget extends JPanel {
                 JButton dayButton = new JButton();
                 dayButton.setPreferredSize(new Dimension(35, 25));
                 dayButton.setMargin(new Insets(2, 2, 2, 2));
-                dayButton.setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-                    BorderFactory.createEmptyBorder(2, 2, 2, 2)
-                ));
+                dayButton.setBorder(PortalTheme.CALENDAR_CELL_BORDER);
                 dayButton.setBackground(Color.WHITE);
                 dayButton.setForeground(Color.BLACK);
-                dayButton.setFont(new Font("Arial", Font.PLAIN, 11));
+                dayButton.setFont(PortalTheme.PLAIN_11);
                 dayButton.setFocusPainted(false);
                 dayButton.setContentAreaFilled(true);
                 dayButton.addActionListener(e -> {
@@ -886,7 +834,7 @@ class CalendarWidget extends JPanel {
                             dayButtons[row][col].setBackground(Color.WHITE);
                             dayButtons[row][col].setForeground(Color.BLACK);
                             dayButtons[row][col].setEnabled(true);
-                            dayButtons[row][col].setFont(new Font("Arial", Font.PLAIN, 11));
+                            dayButtons[row][col].setFont(PortalTheme.PLAIN_11);
                         }
                     }
                 }
@@ -907,8 +855,8 @@ class CalendarWidget extends JPanel {
                             if (row == 0 && col < firstDayOfWeek - 1) {
                                 // Previous month days - grayed out
                                 dayButtons[row][col].setText("");
-                                dayButtons[row][col].setBackground(new Color(245, 245, 245));
-                                dayButtons[row][col].setForeground(new Color(150, 150, 150));
+                                dayButtons[row][col].setBackground(PortalTheme.CALENDAR_OUT_OF_MONTH);
+                                dayButtons[row][col].setForeground(PortalTheme.CALENDAR_OUT_OF_MONTH_TEXT);
                                 dayButtons[row][col].setEnabled(false);
                             } else if (day <= daysInMonth) {
                                 // Current month days - normal styling
@@ -916,13 +864,13 @@ class CalendarWidget extends JPanel {
                                 dayButtons[row][col].setBackground(Color.WHITE);
                                 dayButtons[row][col].setForeground(Color.BLACK);
                                 dayButtons[row][col].setEnabled(true);
-                                dayButtons[row][col].setFont(new Font("Arial", Font.PLAIN, 11));
+                                dayButtons[row][col].setFont(PortalTheme.PLAIN_11);
                                 day++;
                             } else {
                                 // Next month days - grayed out
                                 dayButtons[row][col].setText("");
-                                dayButtons[row][col].setBackground(new Color(245, 245, 245));
-                                dayButtons[row][col].setForeground(new Color(150, 150, 150));
+                                dayButtons[row][col].setBackground(PortalTheme.CALENDAR_OUT_OF_MONTH);
+                                dayButtons[row][col].setForeground(PortalTheme.CALENDAR_OUT_OF_MONTH_TEXT);
                                 dayButtons[row][col].setEnabled(false);
                             }
                         }
@@ -949,9 +897,9 @@ class CalendarWidget extends JPanel {
         }
         
         // Highlight selected button with realistic selection styling
-        button.setBackground(new Color(0, 120, 215)); // Modern blue selection
+        button.setBackground(PortalTheme.CALENDAR_SELECTED); // Modern blue selection
         button.setForeground(Color.WHITE);
-        button.setFont(new Font("Arial", Font.BOLD, 11));
+        button.setFont(PortalTheme.BOLD_11);
         
         // Create selected date
         String dayText = button.getText();